@@ -65,6 +65,16 @@ public class PrincipalAttributesProperties implements Serializable {
      */
     private String merger = "REPLACE";
 
+    /**
+     * Control how attribute repository sources are queried and aggregated together.
+     */
+    private Aggregation aggregation = new Aggregation();
+
+    /**
+     * Control the cache shared by attribute release policies that cache principal attributes.
+     */
+    private SharedCache sharedCache = new SharedCache();
+
     /**
      * CAS provides the ability to release a bundle of principal attributes to all services by default.
      * This bundle is not defined on a per-service basis and is always combined with attributes
@@ -128,4 +138,68 @@ public class PrincipalAttributesProperties implements Serializable {
      * </pre>
      */
     private GrouperPrincipalAttributesProperties grouper = new GrouperPrincipalAttributesProperties();
+
+    /**
+     * Aggregation of attribute repository sources.
+     */
+    @Getter
+    @Setter
+    public static class Aggregation implements Serializable {
+
+        private static final long serialVersionUID = 2937591236140542387L;
+
+        /**
+         * Query attribute repository sources concurrently. When disabled,
+         * sources are queried one after the other, without timeouts, and the time it takes to resolve
+         * attributes is the sum of the time taken by every source. When enabled, attributes of sources
+         * that do not respond within the source timeout or the deadline are left out.
+         */
+        private boolean parallel;
+
+        /**
+         * Maximum number of threads used to query attribute repository sources concurrently.
+         */
+        private int maximumThreads = 16;
+
+        /**
+         * Maximum number of queries waiting for a thread. Once the queue is full, queries
+         * are rejected and the source is skipped as failed.
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * Maximum amount of time to wait for any single attribute repository source.
+         * Results from sources that do not respond in time are skipped.
+         */
+        private String sourceTimeout = "PT5S";
+
+        /**
+         * Maximum amount of time to wait for all attribute repository sources together.
+         * Once passed, results from sources that have not yet responded are skipped.
+         */
+        private String deadline = "PT10S";
+    }
+
+    /**
+     * Principal attributes cache shared by attribute release policies.
+     */
+    @Getter
+    @Setter
+    public static class SharedCache implements Serializable {
+
+        private static final long serialVersionUID = -2741805470375416391L;
+
+        /**
+         * Cache attributes fetched on behalf of attribute release policies in a single cache
+         * that is shared by all services, instead of a separate cache for each service.
+         * Each policy still controls how long attributes remain cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum weight of the cache, where each cached principal weighs as much as
+         * the number of attribute values cached for it.
+         */
+        private long maximumWeight = 1_000_000;
+    }
 }
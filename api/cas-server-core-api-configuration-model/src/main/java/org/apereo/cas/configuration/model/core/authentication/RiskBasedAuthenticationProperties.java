@@ -59,6 +59,20 @@ public class RiskBasedAuthenticationProperties implements Serializable {
      */
     private long daysInRecentHistory = 30;
 
+    /**
+     * Maximum number of authentication risk profiles kept in memory.
+     * A profile summarizes the recent authentication history of a principal
+     * and is built from the authentication events of the principal when needed.
+     */
+    private long maximumProfiles = 10_000;
+
+    /**
+     * Duration after which an authentication risk profile is built again from the
+     * authentication events of the principal, regardless of how often it is used.
+     * This bounds how long events recorded by other CAS nodes go unnoticed.
+     */
+    private String profileExpiration = "PT1H";
+
     @Getter
     @Setter
     public static class IpAddress implements Serializable {
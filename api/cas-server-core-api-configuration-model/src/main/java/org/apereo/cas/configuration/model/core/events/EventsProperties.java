@@ -35,6 +35,11 @@ public class EventsProperties implements Serializable {
      */
     private boolean trackConfigurationModifications = true;
 
+    /**
+     * Control how collected authentication events are handed over to the events repository.
+     */
+    private Writer writer = new Writer();
+
     /**
      * Track authentication events inside a database.
      */
@@ -50,6 +55,69 @@ public class EventsProperties implements Serializable {
      */
     private MongoDb mongo = new MongoDb();
     
+    @Getter
+    @Setter
+    public static class Writer implements Serializable {
+
+        private static final long serialVersionUID = 4396734912861273957L;
+
+        /**
+         * Policies that decide what happens to events once the writer buffer is full.
+         */
+        public enum OverflowPolicies {
+            /**
+             * Block the caller until there is room in the buffer.
+             */
+            BLOCK,
+            /**
+             * Discard the oldest buffered event to make room for the new event.
+             */
+            DROP_OLDEST,
+            /**
+             * Admit only a sample of new events once the buffer is half full,
+             * and discard new events once the buffer is full.
+             */
+            SAMPLE
+        }
+
+        /**
+         * Whether events should be buffered and written to the events repository
+         * in batches by background writers, rather than by the thread that produced the event.
+         */
+        private boolean asynchronous = true;
+
+        /**
+         * Maximum number of events buffered for writing.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Maximum number of events written to the events repository at once.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Number of background writers.
+         */
+        private int writers = 1;
+
+        /**
+         * Decide what happens to events once the buffer is full.
+         * Accepted values are {@code BLOCK}, {@code DROP_OLDEST} and {@code SAMPLE}.
+         */
+        private OverflowPolicies overflowPolicy = OverflowPolicies.BLOCK;
+
+        /**
+         * Fraction of events admitted once the buffer is half full, when the overflow policy is {@code SAMPLE}.
+         */
+        private double samplingRate = 0.1;
+
+        /**
+         * Maximum time to wait for buffered events to be written when CAS shuts down.
+         */
+        private String shutdownTimeout = "PT30S";
+    }
+
     @RequiresModule(name = "cas-server-support-events-jpa")
     @Getter
     @Setter
@@ -44,6 +44,9 @@ public class ServiceRegistryProperties implements Serializable {
          * Group service definitions by their domain.
          */
         DOMAIN, /**
+         * Compile definitions into an index for quicker lookup.
+         */
+        COMPILED, /**
          * Default option to keep definitions in a map as they arrive.
          */
         DEFAULT
@@ -151,6 +154,12 @@ public class ServiceRegistryProperties implements Serializable {
      */
     private boolean watcherEnabled = true;
 
+    /**
+     * Number of threads that parse service definition files in parallel
+     * when resource-based registries, such as JSON or YAML, are loaded.
+     */
+    private int loadParallelism = 4;
+
     /**
      * Determine how services are internally managed, queried, cached and reloaded by CAS.
      * Accepted values are the following:
@@ -158,7 +167,16 @@ public class ServiceRegistryProperties implements Serializable {
      * <ul>
      *     <li>DEFAULT: Keep all services inside a concurrent map.</li>
      *     <li>DOMAIN: Group registered services by their domain having been explicitly defined.</li>
+     *     <li>COMPILED: Compile registered services into an index of exact matches and literal prefixes,
+     *     falling back to combined regular expressions.</li>
      * </ul>
      */
     private ServiceManagementTypes managementType = ServiceManagementTypes.DEFAULT;
+
+    /**
+     * Maximum number of service identifiers whose matching service definitions
+     * are remembered by the services manager. Remembered results are discarded
+     * whenever service definitions are saved, deleted or reloaded.
+     */
+    private long lookupCacheSize = 10_000;
 }
@@ -28,4 +28,70 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Control how asynchronous back-channel logout requests are dispatched to services.
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
+    @Getter
+    @Setter
+    public static class Dispatcher implements Serializable {
+
+        private static final long serialVersionUID = -2165092717409587224L;
+
+        /**
+         * Whether asynchronous logout requests should be queued and delivered
+         * by a dedicated non-blocking dispatcher, rather than by the shared http client.
+         * The queue is held in memory and is not persisted: requests that are queued or waiting
+         * to be retried are lost when the server stops.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of threads used by the http client to send logout requests and process responses.
+         */
+        private int threads = 4;
+
+        /**
+         * Maximum number of logout requests that may be queued for delivery, including those waiting to be retried.
+         * Requests beyond this limit are rejected.
+         */
+        private int maximumQueueSize = 50_000;
+
+        /**
+         * Maximum number of logout requests sent concurrently to the same host.
+         */
+        private int maximumConcurrencyPerHost = 4;
+
+        /**
+         * Maximum number of session indexes carried by a single logout message.
+         * When greater than one, logout requests queued for the same logout url are coalesced
+         * into a single message with multiple session indexes. Services must be able to
+         * process such messages, which is not the case for most CAS clients.
+         */
+        private int maximumSessionIndexesPerMessage = 1;
+
+        /**
+         * Maximum number of attempts made to deliver a logout request.
+         * Set to {@code 1} to send every request at most once; with more attempts, a request
+         * that timed out after reaching the service may be delivered again.
+         */
+        private int maximumAttempts = 3;
+
+        /**
+         * Delay before a failed logout request is retried, doubled on every attempt.
+         */
+        private String retryDelay = "PT5S";
+
+        /**
+         * Timeout for establishing the connection to the logout endpoint.
+         */
+        private String connectTimeout = "PT5S";
+
+        /**
+         * Timeout for receiving the response of the logout endpoint.
+         */
+        private String requestTimeout = "PT10S";
+    }
 }
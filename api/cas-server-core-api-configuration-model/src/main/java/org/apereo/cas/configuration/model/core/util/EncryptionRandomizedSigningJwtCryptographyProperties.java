@@ -37,6 +37,9 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
 
     /**
      * The signing/encryption algorithm to use.
+     * Components that encrypt binary values (i.e. tickets, webflow state) also accept {@code AES/GCM/NoPadding},
+     * which encrypts and authenticates values in a single pass without a separate signature.
+     * Values produced with one algorithm cannot be decoded with another.
      */
     private String alg = "AES";
 }
@@ -35,6 +35,13 @@ public class Cas20ViewProperties implements Serializable {
      */
     private boolean v3ForwardCompatible;
 
+    /**
+     * Whether the validation success response should be written directly
+     * to the response output stream instead of being rendered via the success view template.
+     * The response produced matches that of the default template; customized templates are ignored.
+     */
+    private boolean streaming;
+
     /**
      * Proxy views and settings.
      */
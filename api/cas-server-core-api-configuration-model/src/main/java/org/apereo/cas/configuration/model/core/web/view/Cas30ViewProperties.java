@@ -52,4 +52,11 @@ public class Cas30ViewProperties implements Serializable {
      */
     private ValidationAttributesRendererTypes attributeRendererType = ValidationAttributesRendererTypes.DEFAULT;
 
+    /**
+     * Whether the validation success response, in XML or JSON, should be written directly
+     * to the response output stream instead of being rendered via the success view template.
+     * The response produced matches that of the default template; customized templates are ignored.
+     */
+    private boolean streaming;
+
 }
@@ -43,6 +43,19 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * Number of threads that refresh expired metadata in the background.
+     * Expired metadata continues to be served until its refresh completes.
+     */
+    private int cacheRefreshThreads = 4;
+
+    /**
+     * Whether metadata aggregates should be shared between all services that point to the same
+     * metadata location. Aggregates are then downloaded, verified and indexed by entity id once,
+     * and each service is only given the entities that match its service id.
+     */
+    private boolean indexAggregates;
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
@@ -42,6 +42,11 @@ public class ThrottleProperties implements Serializable {
      */
     private Jdbc jdbc = new Jdbc();
 
+    /**
+     * Settings that control how failed attempts are tracked in memory.
+     */
+    private InMemory inMemory = new InMemory();
+
     /**
      * Username parameter to use in order to extract the username from the request.
      */
@@ -93,6 +98,44 @@ public class ThrottleProperties implements Serializable {
         private int rangeSeconds = -1;
     }
 
+    /**
+     * In-memory throttling.
+     */
+    @RequiresModule(name = "cas-server-support-throttle", automated = true)
+    @Getter
+    @Setter
+    public static class InMemory implements Serializable {
+
+        private static final long serialVersionUID = 4583416256713474129L;
+
+        /**
+         * Count failed attempts within a sliding window that spans the failure range,
+         * and throttle once the number of failures reaches the threshold. When disabled,
+         * only the last failure is remembered and attempts are throttled based on the
+         * instantaneous failure rate.
+         */
+        private boolean slidingWindow;
+
+        /**
+         * Maximum number of keys (i.e. IP addresses, or IP addresses and usernames)
+         * whose failures are counted exactly within a window. Failures for additional keys
+         * are counted approximately, such that memory remains bounded.
+         */
+        private int maximumKeys = 100_000;
+
+        /**
+         * Number of counters in each row of the sketch used to count
+         * failures approximately once the maximum number of keys is reached.
+         * Larger values reduce overestimation at the cost of memory.
+         */
+        private int sketchWidth = 65_536;
+
+        /**
+         * Number of rows in the sketch used to count failures approximately.
+         */
+        private int sketchDepth = 4;
+    }
+
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
     @Getter
     @Setter
@@ -49,6 +49,17 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Whether client-side state should be encoded in a compact binary format
+     * that is smaller and faster to produce than plain java serialization.
+     * State produced before this setting was turned on can still be read, but state in the compact format
+     * cannot be read once the setting is turned off or by nodes that run a version of CAS without it.
+     * During a rolling upgrade, state written by nodes whose classes have different fields is rejected
+     * and the flow starts over.
+     * Only relevant if session storage is done on the client.
+     */
+    private boolean compactClientState;
+
     /**
      * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
      * file that defines how state should be replicated.
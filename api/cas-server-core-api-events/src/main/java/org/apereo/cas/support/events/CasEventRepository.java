@@ -19,6 +19,16 @@ public interface CasEventRepository {
      */
     void save(CasEvent event);
 
+    /**
+     * Save all given events at once.
+     * Repositories that are able to write multiple events in a single operation should override this.
+     *
+     * @param events the events
+     */
+    default void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
     /**
      * Load collection.
      *
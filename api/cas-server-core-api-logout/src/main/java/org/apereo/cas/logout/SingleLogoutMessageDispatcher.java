@@ -0,0 +1,21 @@
+package org.apereo.cas.logout;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher} which defines how back-channel logout
+ * requests are delivered to the logout endpoints of services, independently of the
+ * processing of the logout itself.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@FunctionalInterface
+public interface SingleLogoutMessageDispatcher {
+
+    /**
+     * Dispatch the logout request to its logout endpoint.
+     *
+     * @param request the logout request
+     * @return true if the request was accepted for delivery
+     */
+    boolean dispatch(LogoutRequest request);
+}
@@ -0,0 +1,40 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * This is {@link RegisteredServiceChanges} that describes the set of changes
+ * a {@link ServiceRegistry} has observed since a given version. The version itself
+ * is opaque to callers and is simply handed back to the registry on the next request.
+ * <p>
+ * Deletions are not tracked explicitly; instead, the identifiers of all definitions that
+ * are present in the registry are reported so callers may remove everything else.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = "registeredServiceIds")
+public class RegisteredServiceChanges {
+
+    /**
+     * The version at which these changes were observed, to be used when asking for the next set of changes.
+     */
+    private final long version;
+
+    /**
+     * Definitions that were created or modified since the requested version.
+     */
+    private final Collection<RegisteredService> changedServices;
+
+    /**
+     * Identifiers of all definitions currently held by the registry.
+     */
+    private final Set<Long> registeredServiceIds;
+}
@@ -0,0 +1,53 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceLookupKey} that describes a key, other than the service identifier,
+ * by which definitions of a given type may be looked up via {@link ServicesManager#findServiceBy(RegisteredServiceLookupKey, String)},
+ * such as the client id of an OAuth relying party.
+ * <p>
+ * Keys are compared by identity, as managers may maintain an index per key; they are expected to be declared
+ * as constants, and the key function should only depend on the definition itself.
+ *
+ * @param <T> the type of registered service
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(of = {"name", "type"})
+public class RegisteredServiceLookupKey<T extends RegisteredService> {
+
+    /**
+     * Name of this key, used for logging.
+     */
+    private final String name;
+
+    /**
+     * Type of definitions that carry this key.
+     */
+    private final Class<T> type;
+
+    /**
+     * Function that produces the key value for a definition; may return null.
+     */
+    private final Function<T, String> keyFunction;
+
+    /**
+     * Produce the key value for the given definition, if it is of the expected type.
+     *
+     * @param registeredService the registered service
+     * @return the key value, or null
+     */
+    public String getKey(final RegisteredService registeredService) {
+        if (this.type.isInstance(registeredService)) {
+            return this.keyFunction.apply(this.type.cast(registeredService));
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.services;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Registry of all RegisteredServices.
@@ -89,6 +90,20 @@ public interface ServiceRegistry {
         return load().size();
     }
 
+    /**
+     * Load the changes to service definitions since the given version, allowing callers
+     * to apply modified definitions only rather than reloading the entire registry.
+     * Implementations that are unable to track changes return an empty result,
+     * in which case callers are expected to fall back onto {@link #load()}.
+     *
+     * @param sinceVersion the version returned from a previous set of changes.
+     * @return the changes, or empty if changes cannot be determined.
+     * @since 6.0.0
+     */
+    default Optional<RegisteredServiceChanges> loadChanges(final long sinceVersion) {
+        return Optional.empty();
+    }
+
     /**
      * Returns the friendly name of this registry.
      *
@@ -0,0 +1,59 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apereo.cas.authentication.principal.Service;
+
+/**
+ * This is {@link ServiceResolutionContext} that records how a service was resolved while processing a request:
+ * the service that was requested, the service selected for it by the authentication request service selection strategies,
+ * and the registered service that matched the selected service. Attributes released to the service are not
+ * recorded, since they are carried by the principal of the validated assertion.
+ * <p>
+ * It allows components that take part in the same request, i.e. ticket validation and the views that render
+ * the validation response, to reuse the same resolution instead of resolving the service again.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(of = {"service", "selectedService", "registeredService"})
+public class ServiceResolutionContext {
+
+    /**
+     * The service that was requested.
+     */
+    private final Service service;
+
+    /**
+     * The service selected for the requested service.
+     */
+    private final Service selectedService;
+
+    /**
+     * The registered service that matched the selected service.
+     */
+    private final RegisteredService registeredService;
+
+    /**
+     * Whether the given service was resolved into the selected service.
+     *
+     * @param service the service
+     * @return true, if the selected service applies to the given service
+     */
+    public boolean isSelectedServiceFor(final Service service) {
+        return service != null && service.equals(this.service);
+    }
+
+    /**
+     * Whether the registered service was found for the given service.
+     *
+     * @param service the service
+     * @return true, if the registered service applies to the given service
+     */
+    public boolean isRegisteredServiceFor(final Service service) {
+        return service != null && service.equals(this.selectedService);
+    }
+}
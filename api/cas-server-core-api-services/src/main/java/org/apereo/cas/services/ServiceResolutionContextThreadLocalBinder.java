@@ -0,0 +1,84 @@
+package org.apereo.cas.services;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.authentication.principal.Service;
+
+import java.util.function.Function;
+
+/**
+ * ThreadLocal based holder for the {@link ServiceResolutionContext} of the current request.
+ * <p>
+ * The context is bound by the component that first resolves the service, typically the
+ * {@code CentralAuthenticationService} when validating a service ticket, and is consulted by the
+ * components that need the same resolution later on in the same request.
+ * <p>
+ * The clearing of this state at the end of a thread execution path is the responsibility
+ * of {@code AuthenticationCredentialsThreadLocalBinderClearingFilter}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+@NoArgsConstructor
+public class ServiceResolutionContextThreadLocalBinder {
+
+    private static final ThreadLocal<ServiceResolutionContext> CURRENT_CONTEXT = new ThreadLocal<>();
+
+    /**
+     * Bind the resolution context to ThreadLocal.
+     *
+     * @param context the context
+     */
+    public static void bindCurrent(final ServiceResolutionContext context) {
+        CURRENT_CONTEXT.set(context);
+    }
+
+    /**
+     * Get the resolution context from ThreadLocal.
+     *
+     * @return the context, or null
+     */
+    public static ServiceResolutionContext getCurrent() {
+        return CURRENT_CONTEXT.get();
+    }
+
+    /**
+     * Resolve the selected service for the given service, reusing the current context if it applies.
+     *
+     * @param service  the service
+     * @param resolver the resolver used when the current context does not apply
+     * @return the selected service
+     */
+    public static Service resolveService(final Service service, final Function<Service, Service> resolver) {
+        final var context = getCurrent();
+        if (context != null && context.isSelectedServiceFor(service)) {
+            LOGGER.trace("Reusing selected service [{}] resolved for [{}]", context.getSelectedService(), service);
+            return context.getSelectedService();
+        }
+        return resolver.apply(service);
+    }
+
+    /**
+     * Find the registered service for the given service, reusing the current context if it applies.
+     *
+     * @param service the service
+     * @param finder  the finder used when the current context does not apply
+     * @return the registered service
+     */
+    public static RegisteredService findRegisteredService(final Service service, final Function<Service, RegisteredService> finder) {
+        final var context = getCurrent();
+        if (context != null && context.isRegisteredServiceFor(service)) {
+            LOGGER.trace("Reusing registered service [{}] found for [{}]", context.getRegisteredService(), service);
+            return context.getRegisteredService();
+        }
+        return finder.apply(service);
+    }
+
+    /**
+     * Clear ThreadLocal state.
+     */
+    public static void clear() {
+        CURRENT_CONTEXT.remove();
+    }
+}
@@ -3,6 +3,8 @@ package org.apereo.cas.services;
 import org.apereo.cas.authentication.principal.Service;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,11 +35,33 @@ public interface ServicesManager {
      */
     RegisteredService save(RegisteredService registeredService, boolean publishEvent);
 
+    /**
+     * Register or update a batch of services with CAS.
+     * Implementations may choose to apply the batch as a single change.
+     *
+     * @param registeredServices the registered services to update or add.
+     * @return newly persisted RegisteredService instances
+     */
+    default Collection<RegisteredService> saveAll(final Collection<RegisteredService> registeredServices) {
+        return registeredServices.stream().map(this::save).collect(Collectors.toList());
+    }
+
     /**
      * Delete all entries in the underlying storage service.
      */
     void deleteAll();
 
+    /**
+     * Delete a batch of entries from the underlying storage service.
+     * Implementations may choose to apply the batch as a single change.
+     *
+     * @param registeredServices the registered services to delete.
+     * @return the registered services that were deleted.
+     */
+    default Collection<RegisteredService> deleteAll(final Collection<RegisteredService> registeredServices) {
+        return registeredServices.stream().map(this::delete).collect(Collectors.toList());
+    }
+
     /**
      * Delete the entry for this RegisteredService.
      *
@@ -99,6 +123,48 @@ public interface ServicesManager {
      */
     <T extends RegisteredService> T findServiceBy(String serviceId, Class<T> clazz);
 
+    /**
+     * Find the first service, in evaluation order, whose value for the given lookup key
+     * equals the supplied value. Implementations may index services by key, such that this
+     * is preferable to filtering the collection of all services.
+     *
+     * @param <T>   the type parameter
+     * @param key   the lookup key
+     * @param value the value of the key
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findServiceBy(final RegisteredServiceLookupKey<T> key, final String value) {
+        if (value == null) {
+            return null;
+        }
+        return getAllServices()
+            .stream()
+            .filter(r -> value.equals(key.getKey(r)))
+            .map(key.getType()::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * Find the first service of the given type, in evaluation order, that matches the supplied service id,
+     * disregarding services of other types. Implementations may index services by type, such that this
+     * is preferable to filtering the collection of all services.
+     *
+     * @param <T>       the type parameter
+     * @param serviceId the service id
+     * @param clazz     the type of service to match
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findMatchingServiceOfType(final String serviceId, final Class<T> clazz) {
+        return getAllServices()
+            .stream()
+            .filter(clazz::isInstance)
+            .filter(r -> r.matches(serviceId))
+            .map(clazz::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
     /**
      * Find a RegisteredService by matching with the supplied id.
      *
@@ -140,6 +206,17 @@ public interface ServicesManager {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Inform the ServicesManager to bring its list of services up to date with the registry,
+     * applying only those definitions that have changed where possible. By default, this
+     * is the same as {@link #load()}.
+     *
+     * @return the collection
+     */
+    default Collection<RegisteredService> synchronize() {
+        return load();
+    }
+
     /**
      * Return a count of loaded services by this manager.
      *
@@ -168,4 +245,14 @@ public interface ServicesManager {
         return Stream.of("default").collect(Collectors.toList());
     }
 
+    /**
+     * Return statistics on how service lookups are served by the manager,
+     * such as cache hits and misses.
+     *
+     * @return map of statistics, keyed by name
+     */
+    default Map<String, Object> getLookupStatistics() {
+        return new LinkedHashMap<>(0);
+    }
+
 }
@@ -2,9 +2,11 @@ package org.apereo.cas.ticket.registry;
 
 import java.util.Collection;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 /**
  * Interface for a registry that stores tickets. The underlying registry can be
@@ -99,6 +101,52 @@ public interface TicketRegistry {
      */
     long serviceTicketCount();
 
+    /**
+     * Gets ticket-granting tickets that belong to the given principal. Principal ids are compared ignoring case.
+     * The default implementation scans all tickets; implementations are encouraged to answer this query natively.
+     *
+     * @param principalId the principal id
+     * @return the tickets, which might or might not be valid i.e. expired.
+     * @since 6.0.0
+     */
+    default Stream<TicketGrantingTicket> getTicketGrantingTicketsForPrincipal(final String principalId) {
+        return getTickets(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .filter(t -> t.getAuthentication() != null && t.getAuthentication().getPrincipal() != null)
+            .filter(t -> t.getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId));
+    }
+
+    /**
+     * Gets tickets that have expired, up to the given number of tickets. The default implementation
+     * takes them from {@link #getExpiredTicketsStream(int)}. Implementations that keep track of expiration times
+     * should override both methods, so that the cost of this query is proportional to the number of expired tickets.
+     *
+     * @param limit the maximum number of tickets to return
+     * @return the expired tickets
+     * @since 6.0.0
+     */
+    default Collection<Ticket> getExpiredTickets(final int limit) {
+        try (var tickets = getExpiredTicketsStream(limit)) {
+            return tickets
+                .limit(limit)
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Gets a stream of expired tickets. The default implementation filters {@link #getTicketsStream()},
+     * so that consuming the stream examines every ticket once. Implementations that keep track of expiration
+     * times may instead locate expired tickets a page at a time, requesting a page once the previous page is consumed.
+     * Callers that do not consume the stream entirely should close it.
+     *
+     * @param pageSize the number of expired tickets located at a time, if applicable
+     * @return the expired tickets
+     * @since 6.0.0
+     */
+    default Stream<Ticket> getExpiredTicketsStream(final int pageSize) {
+        return getTicketsStream().filter(Ticket::isExpired);
+    }
+
     /**
      * Gets tickets stream.
      *
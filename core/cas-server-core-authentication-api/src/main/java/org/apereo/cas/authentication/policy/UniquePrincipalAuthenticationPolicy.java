@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.AuthenticationPolicy;
-import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 
 import java.security.GeneralSecurityException;
@@ -14,7 +13,8 @@ import java.security.GeneralSecurityException;
  * that prevents authentication if the same principal id
  * is found more than one in the registry. This effectively forces
  * each user to have a single and unique SSO session, disallowing
- * multiple logins.
+ * multiple logins. Sessions are located via
+ * {@link TicketRegistry#getTicketGrantingTicketsForPrincipal(String)}, which compares principal ids ignoring case.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -28,14 +28,9 @@ public class UniquePrincipalAuthenticationPolicy implements AuthenticationPolicy
     public boolean isSatisfiedBy(final Authentication authentication) throws Exception {
         try {
             final var authPrincipal = authentication.getPrincipal();
-            final var count = this.ticketRegistry.getTickets(t -> {
-                var pass = TicketGrantingTicket.class.isInstance(t) && !t.isExpired();
-                if (pass) {
-                    final var principal = TicketGrantingTicket.class.cast(t).getAuthentication().getPrincipal();
-                    pass = principal.getId().equalsIgnoreCase(authPrincipal.getId());
-                }
-                return pass;
-            }).count();
+            final var count = this.ticketRegistry.getTicketGrantingTicketsForPrincipal(authPrincipal.getId())
+                .filter(t -> !t.isExpired())
+                .count();
             if (count == 0) {
                 LOGGER.debug("Authentication policy is satisfied with [{}]", authPrincipal.getId());
                 return true;
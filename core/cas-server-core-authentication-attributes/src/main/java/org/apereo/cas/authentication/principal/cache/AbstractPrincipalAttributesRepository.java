@@ -245,6 +245,16 @@ public abstract class AbstractPrincipalAttributesRepository implements Principal
      */
     protected abstract Map<String, Object> getPrincipalAttributes(Principal p);
 
+    /**
+     * Whether attributes are fetched from the global attribute repository found in the application context,
+     * rather than from an attribute repository that is set explicitly.
+     *
+     * @return true, if the global attribute repository is used
+     */
+    protected boolean isGlobalAttributeRepository() {
+        return this.attributeRepository == null;
+    }
+
     private IPersonAttributeDao getAttributeRepository() {
         try {
             if (this.attributeRepository == null) {
@@ -2,12 +2,13 @@ package org.apereo.cas.authentication.principal.cache;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
 import org.springframework.data.annotation.Transient;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -16,6 +17,10 @@ import java.util.concurrent.TimeUnit;
 /**
  * Wrapper around an attribute repository where attributes cached for a configurable period
  * based on google guava's caching library.
+ * <p>
+ * Attributes fetched from the global attribute repository are cached in the application-wide
+ * {@link PrincipalAttributesRepositoryCache}, if one is defined, such that all repositories share the same cache
+ * regardless of the services that own them. Otherwise, each repository holds attributes in a cache of its own.
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -27,11 +32,11 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
 
     @JsonIgnore
     @Transient
-    private final transient Cache<String, Map<String, Object>> cache;
+    private transient volatile Cache<String, Map<String, Object>> cache;
 
     @JsonIgnore
     @Transient
-    private final transient PrincipalAttributesCacheLoader cacheLoader = new PrincipalAttributesCacheLoader();
+    private transient PrincipalAttributesRepositoryCache sharedCache;
 
     private long maxCacheSize = DEFAULT_MAXIMUM_CACHE_SIZE;
 
@@ -39,10 +44,6 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
      * Used for serialization only.
      */
     private CachingPrincipalAttributesRepository() {
-        this.cache = Caffeine.newBuilder()
-            .maximumSize(this.maxCacheSize)
-            .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
-            .build(this.cacheLoader);
     }
 
     /**
@@ -68,25 +69,41 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
                                                 final long expiryDuration) {
         super(expiryDuration, timeUnit);
         this.maxCacheSize = maxCacheSize;
-        this.cache = Caffeine.newBuilder()
-            .maximumSize(maxCacheSize)
-            .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
-            .build(this.cacheLoader);
+    }
+
+    /**
+     * Sets the cache shared by all repositories, which otherwise is
+     * looked up from the application context.
+     *
+     * @param sharedCache the shared cache
+     */
+    public void setSharedCache(final PrincipalAttributesRepositoryCache sharedCache) {
+        this.sharedCache = sharedCache;
     }
 
     @Override
     protected void addPrincipalAttributes(final String id, final Map<String, Object> attributes) {
-        this.cache.put(id, attributes);
+        final var shared = getSharedCache();
+        if (shared != null) {
+            shared.put(getSharedCacheKey(id), attributes, getExpirationDuration());
+        } else {
+            getCache().put(id, attributes);
+        }
         LOGGER.debug("Cached attributes for [{}]", id);
     }
 
     @Override
     protected Map<String, Object> getPrincipalAttributes(final Principal p) {
         try {
-            return this.cache.get(p.getId(), s -> {
-                LOGGER.debug("No cached attributes could be found for [{}]", p.getId());
-                return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-            });
+            final var shared = getSharedCache();
+            final var attributes = shared != null
+                ? shared.get(getSharedCacheKey(p.getId()), getExpirationDuration())
+                : getCache().getIfPresent(p.getId());
+            if (attributes != null) {
+                return attributes;
+            }
+            LOGGER.debug("No cached attributes could be found for [{}]", p.getId());
+            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -95,13 +112,47 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
 
     @Override
     public void close() {
-        this.cache.cleanUp();
+        if (this.cache != null) {
+            this.cache.cleanUp();
+        }
     }
 
-    private static class PrincipalAttributesCacheLoader implements CacheLoader<String, Map<String, Object>> {
-        @Override
-        public Map<String, Object> load(final String key) {
-            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    /**
+     * Key under which attributes are kept in the shared cache. Attributes
+     * for the same principal differ by the merging strategy that produced them.
+     *
+     * @param id the principal id
+     * @return the key
+     */
+    protected String getSharedCacheKey(final String id) {
+        return String.valueOf(this.mergingStrategy) + ':' + id;
+    }
+
+    private Duration getExpirationDuration() {
+        return Duration.ofNanos(TimeUnit.valueOf(getTimeUnit()).toNanos(getExpiration()));
+    }
+
+    private PrincipalAttributesRepositoryCache getSharedCache() {
+        if (this.sharedCache == null && isGlobalAttributeRepository()) {
+            final var context = ApplicationContextProvider.getApplicationContext();
+            if (context != null && context.containsBean(PrincipalAttributesRepositoryCache.BEAN_NAME)) {
+                this.sharedCache = context.getBean(PrincipalAttributesRepositoryCache.BEAN_NAME, PrincipalAttributesRepositoryCache.class);
+            }
+        }
+        return this.sharedCache;
+    }
+
+    private Cache<String, Map<String, Object>> getCache() {
+        if (this.cache == null) {
+            synchronized (this) {
+                if (this.cache == null) {
+                    this.cache = Caffeine.newBuilder()
+                        .maximumSize(this.maxCacheSize)
+                        .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
+                        .build();
+                }
+            }
         }
+        return this.cache;
     }
 }
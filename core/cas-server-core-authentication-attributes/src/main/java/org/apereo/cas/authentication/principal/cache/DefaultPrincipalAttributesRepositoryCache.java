@@ -0,0 +1,106 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link DefaultPrincipalAttributesRepositoryCache} that holds principal attributes in memory.
+ * The cache is bounded by weight, where each entry weighs as much as the number of attribute values it holds,
+ * so that principals with many or large multi-valued attributes take up a proportional share of the cache.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class DefaultPrincipalAttributesRepositoryCache implements PrincipalAttributesRepositoryCache {
+
+    private final Cache<String, CachedAttributes> cache;
+
+    public DefaultPrincipalAttributesRepositoryCache(final long maximumWeight) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((String key, CachedAttributes value) -> value.getWeight())
+            .expireAfter(new CachedAttributesExpiry())
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public Map<String, Object> get(final String key, final Duration maximumAge) {
+        final var cached = this.cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.nanoTime() - cached.creationTimeInNanos > maximumAge.toNanos()) {
+            LOGGER.trace("Attributes cached under [{}] are older than [{}] and are ignored", key, maximumAge);
+            return null;
+        }
+        return cached.attributes;
+    }
+
+    @Override
+    public void put(final String key, final Map<String, Object> attributes, final Duration expiration) {
+        this.cache.put(key, new CachedAttributes(attributes, expiration.toNanos(), System.nanoTime()));
+        LOGGER.trace("Cached [{}] attribute(s) under [{}] for [{}]", attributes.size(), key, expiration);
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        final var stats = this.cache.stats();
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("size", this.cache.estimatedSize());
+        results.put("hitCount", stats.hitCount());
+        results.put("missCount", stats.missCount());
+        results.put("hitRate", stats.hitRate());
+        results.put("evictionCount", stats.evictionCount());
+        return results;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedAttributes {
+        private final Map<String, Object> attributes;
+
+        private final long expirationInNanos;
+
+        private final long creationTimeInNanos;
+
+        int getWeight() {
+            return 1 + this.attributes.values()
+                .stream()
+                .mapToInt(value -> value instanceof Collection ? ((Collection) value).size() : 1)
+                .sum();
+        }
+    }
+
+    private static class CachedAttributesExpiry implements Expiry<String, CachedAttributes> {
+        @Override
+        public long expireAfterCreate(final String key, final CachedAttributes value, final long currentTime) {
+            return value.expirationInNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CachedAttributes value,
+                                      final long currentTime, final long currentDuration) {
+            return value.expirationInNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CachedAttributes value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
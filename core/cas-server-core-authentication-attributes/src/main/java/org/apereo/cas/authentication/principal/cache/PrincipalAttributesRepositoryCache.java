@@ -0,0 +1,55 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * This is {@link PrincipalAttributesRepositoryCache} that holds principal attributes
+ * on behalf of all caching principal attribute repositories, so that attributes fetched
+ * for a principal are shared by all services whose attribute release policies ask for them,
+ * and survive the service registry reloading service definitions.
+ * <p>
+ * Attributes are keyed by the principal id and by the way they are produced, i.e. the merging strategy;
+ * each entry is kept for as long as the repository that cached it asks for, while every repository
+ * reading an entry only accepts it if it is no older than its own expiration policy allows.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public interface PrincipalAttributesRepositoryCache {
+
+    /**
+     * Bean name under which the application-wide cache is registered.
+     */
+    String BEAN_NAME = "principalAttributesRepositoryCache";
+
+    /**
+     * Gets cached attributes, provided they were cached no longer ago than the given maximum age.
+     *
+     * @param key        the key
+     * @param maximumAge how long ago the attributes may have been cached
+     * @return the attributes, or null if none are cached or they are older than the maximum age
+     */
+    Map<String, Object> get(String key, Duration maximumAge);
+
+    /**
+     * Cache attributes.
+     *
+     * @param key        the key
+     * @param attributes the attributes
+     * @param expiration how long the attributes should remain cached
+     */
+    void put(String key, Map<String, Object> attributes, Duration expiration);
+
+    /**
+     * Remove all cached attributes.
+     */
+    void invalidateAll();
+
+    /**
+     * Gets statistics such as the hit, miss and eviction counts of the cache.
+     *
+     * @return the statistics
+     */
+    Map<String, Object> getStatistics();
+}
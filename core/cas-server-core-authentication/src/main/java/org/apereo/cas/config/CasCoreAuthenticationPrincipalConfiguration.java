@@ -1,5 +1,8 @@
 package org.apereo.cas.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.DefaultPrincipalElectionStrategy;
 import org.apereo.cas.authentication.PrincipalElectionStrategy;
@@ -9,6 +12,8 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepository;
+import org.apereo.cas.authentication.principal.cache.DefaultPrincipalAttributesRepositoryCache;
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesRepositoryCache;
 import org.apereo.cas.authentication.principal.resolvers.ChainingPrincipalResolver;
 import org.apereo.cas.authentication.principal.resolvers.EchoingPrincipalResolver;
 import org.apereo.cas.authentication.principal.resolvers.PersonDirectoryPrincipalResolver;
@@ -18,6 +23,7 @@ import org.apereo.services.persondir.IPersonAttributeDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -99,4 +105,39 @@ public class CasCoreAuthenticationPrincipalConfiguration {
         }
         return new CachingPrincipalAttributesRepository(props.getExpirationTimeUnit().toUpperCase(), cacheTime);
     }
+
+    @Bean
+    @ConditionalOnMissingBean(name = PrincipalAttributesRepositoryCache.BEAN_NAME)
+    @ConditionalOnProperty(prefix = "cas.authn.attributeRepository.sharedCache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PrincipalAttributesRepositoryCache principalAttributesRepositoryCache() {
+        final var cache = casProperties.getAuthn().getAttributeRepository().getSharedCache();
+        return new DefaultPrincipalAttributesRepositoryCache(cache.getMaximumWeight());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.attributeRepository.sharedCache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder principalAttributesRepositoryCacheMetrics() {
+        return registry -> {
+            final var cache = principalAttributesRepositoryCache();
+            FunctionCounter.builder("cas.principal.attributes.cache.lookups", cache, c -> getCacheStatistic(c, "hitCount"))
+                .tag("result", "hit")
+                .description("Number of principal attribute lookups served from the shared cache")
+                .register(registry);
+            FunctionCounter.builder("cas.principal.attributes.cache.lookups", cache, c -> getCacheStatistic(c, "missCount"))
+                .tag("result", "miss")
+                .description("Number of principal attribute lookups not found in the shared cache")
+                .register(registry);
+            FunctionCounter.builder("cas.principal.attributes.cache.evictions", cache, c -> getCacheStatistic(c, "evictionCount"))
+                .description("Number of principals evicted from the shared cache")
+                .register(registry);
+            Gauge.builder("cas.principal.attributes.cache.size", cache, c -> getCacheStatistic(c, "size"))
+                .description("Approximate number of principals held in the shared cache")
+                .register(registry);
+        };
+    }
+
+    private static double getCacheStatistic(final PrincipalAttributesRepositoryCache cache, final String name) {
+        final var value = cache.getStatistics().get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
 }
@@ -0,0 +1,76 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultPrincipalAttributesRepositoryCacheTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class DefaultPrincipalAttributesRepositoryCacheTests {
+
+    @Test
+    public void verifyAttributesSharedByRepositories() throws Exception {
+        final Map<String, List<Object>> attributes = new HashMap<>();
+        attributes.put("mail", CollectionUtils.wrapList("casuser@example.org"));
+        final var dao = mock(IPersonAttributeDao.class);
+        final var person = mock(IPersonAttributes.class);
+        when(person.getAttributes()).thenReturn(attributes);
+        when(dao.getPerson(any(String.class))).thenReturn(person);
+
+        final var cache = new DefaultPrincipalAttributesRepositoryCache(1000);
+        final var principal = new DefaultPrincipalFactory().createPrincipal("casuser");
+
+        try (var first = newRepository(dao, cache); var second = newRepository(dao, cache)) {
+            assertTrue(first.getAttributes(principal).containsKey("mail"));
+            attributes.clear();
+            assertTrue(second.getAttributes(principal).containsKey("mail"));
+            verify(dao, times(1)).getPerson("casuser");
+
+            second.setMergingStrategy(AbstractPrincipalAttributesRepository.MergingStrategy.ADD);
+            assertFalse(second.getAttributes(principal).containsKey("mail"));
+        }
+        assertEquals(1L, cache.getStatistics().get("hitCount"));
+    }
+
+    @Test
+    public void verifyEntriesExpireIndividually() throws Exception {
+        final var cache = new DefaultPrincipalAttributesRepositoryCache(1000);
+        cache.put("short", CollectionUtils.wrap("name", "value"), Duration.ofMillis(100));
+        cache.put("long", CollectionUtils.wrap("name", "value"), Duration.ofMinutes(5));
+        Thread.sleep(200);
+        assertNull(cache.get("short", Duration.ofMinutes(5)));
+        assertNotNull(cache.get("long", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    public void verifyReaderEnforcesItsOwnExpiration() throws Exception {
+        final var cache = new DefaultPrincipalAttributesRepositoryCache(1000);
+        cache.put("key", CollectionUtils.wrap("name", "value"), Duration.ofMinutes(5));
+        Thread.sleep(200);
+        assertNull(cache.get("key", Duration.ofMillis(100)));
+        assertNotNull(cache.get("key", Duration.ofMinutes(5)));
+    }
+
+    private static CachingPrincipalAttributesRepository newRepository(final IPersonAttributeDao dao,
+                                                                      final PrincipalAttributesRepositoryCache cache) {
+        final var repository = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+        repository.setAttributeRepository(dao);
+        repository.setSharedCache(cache);
+        return repository;
+    }
+}
@@ -3,9 +3,11 @@ package org.apereo.cas.support.events.config;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.AsynchronousCasEventSink;
 import org.apereo.cas.support.events.dao.NoOpCasEventRepository;
 import org.apereo.cas.support.events.listener.DefaultCasEventListener;
 import org.apereo.cas.support.events.web.CasEventsReportEndpoint;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -23,8 +25,15 @@ import org.springframework.context.annotation.Configuration;
 @Slf4j
 public class CasCoreEventsConfiguration {
 
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Bean
     public DefaultCasEventListener defaultCasEventListener() {
+        final var writer = casProperties.getEvents().getWriter();
+        if (writer.isAsynchronous()) {
+            return new DefaultCasEventListener(casEventRepository(), new AsynchronousCasEventSink(casEventRepository(), writer));
+        }
         return new DefaultCasEventListener(casEventRepository());
     }
 
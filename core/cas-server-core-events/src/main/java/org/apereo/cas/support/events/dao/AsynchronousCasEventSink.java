@@ -0,0 +1,202 @@
+package org.apereo.cas.support.events.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.configuration.model.core.events.EventsProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.events.CasEventRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link AsynchronousCasEventSink} that buffers events in a bounded queue
+ * and writes them to the {@link CasEventRepository} in batches, using background writers.
+ * <p>
+ * Once the buffer is full, events are handled according to the configured
+ * {@link EventsProperties.Writer.OverflowPolicies overflow policy}. When the sink is closed,
+ * it stops accepting events and waits for buffered events to be written.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class AsynchronousCasEventSink implements AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final CasEventRepository casEventRepository;
+
+    private final BlockingQueue<CasEvent> buffer;
+
+    private final int batchSize;
+
+    private final EventsProperties.Writer.OverflowPolicies overflowPolicy;
+
+    private final double samplingRate;
+
+    private final Duration shutdownTimeout;
+
+    private final ExecutorService executor;
+
+    private final AtomicLong discardedEvents = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AsynchronousCasEventSink(final CasEventRepository casEventRepository, final EventsProperties.Writer properties) {
+        this.casEventRepository = casEventRepository;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.samplingRate = properties.getSamplingRate();
+        this.shutdownTimeout = Beans.newDuration(properties.getShutdownTimeout());
+
+        final var writers = Math.max(1, properties.getWriters());
+        final var count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(writers, r -> {
+            final var thread = new Thread(r, "cas-event-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (var i = 0; i < writers; i++) {
+            this.executor.execute(this::write);
+        }
+    }
+
+    /**
+     * Accept an event to be written to the repository.
+     * Events that are not buffered because of the overflow policy are discarded.
+     *
+     * @param event the event
+     * @return true if the event is buffered for writing
+     */
+    public boolean accept(final CasEvent event) {
+        if (!this.running) {
+            LOGGER.debug("Event sink is closed; writing event [{}] directly to the repository", event.getType());
+            this.casEventRepository.save(event);
+            return true;
+        }
+        final var accepted = offer(event);
+        if (!this.running) {
+            drain();
+        }
+        if (!accepted) {
+            final var discarded = this.discardedEvents.incrementAndGet();
+            LOGGER.warn("Event buffer is full; discarded event [{}] for [{}]. Total number of discarded events is [{}]",
+                event.getType(), event.getPrincipalId(), discarded);
+        }
+        return accepted;
+    }
+
+    /**
+     * Stop accepting events and wait for buffered events to be written.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(this.shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Event writers did not complete within [{}]", this.shutdownTimeout);
+                this.executor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.executor.shutdownNow();
+        }
+        drain();
+    }
+
+    /**
+     * Gets the number of events discarded because the buffer was full.
+     *
+     * @return the discarded event count
+     */
+    public long getDiscardedEventCount() {
+        return this.discardedEvents.get();
+    }
+
+    private synchronized void drain() {
+        final List<CasEvent> remaining = new ArrayList<>();
+        this.buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOGGER.info("Writing [{}] buffered events to the repository", remaining.size());
+            saveAll(remaining);
+        }
+    }
+
+    private boolean offer(final CasEvent event) {
+        switch (this.overflowPolicy) {
+            case DROP_OLDEST:
+                while (!this.buffer.offer(event)) {
+                    if (this.buffer.poll() != null) {
+                        this.discardedEvents.incrementAndGet();
+                        LOGGER.debug("Event buffer is full; discarded the oldest buffered event");
+                    }
+                }
+                return true;
+            case SAMPLE:
+                if (this.buffer.size() >= this.buffer.remainingCapacity()
+                    && ThreadLocalRandom.current().nextDouble() >= this.samplingRate) {
+                    return false;
+                }
+                return this.buffer.offer(event);
+            case BLOCK:
+            default:
+                try {
+                    while (!this.buffer.offer(event, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (!this.running) {
+                            this.casEventRepository.save(event);
+                            return true;
+                        }
+                    }
+                    return true;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+        }
+    }
+
+    private void write() {
+        while (this.running || !this.buffer.isEmpty()) {
+            try {
+                final var event = this.buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    final List<CasEvent> batch = new ArrayList<>(this.batchSize);
+                    batch.add(event);
+                    this.buffer.drainTo(batch, this.batchSize - 1);
+                    saveAll(batch);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void saveAll(final List<CasEvent> events) {
+        try {
+            this.casEventRepository.saveAll(events);
+            LOGGER.trace("Wrote [{}] events to the repository", events.size());
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to write [{}] events at once to the repository: [{}]. Writing events one at a time",
+                events.size(), e.getMessage());
+            events.forEach(event -> {
+                try {
+                    this.casEventRepository.save(event);
+                } catch (final Exception ex) {
+                    LOGGER.error("Unable to write event [{}] for [{}] to the repository", event.getType(), event.getPrincipalId(), ex);
+                }
+            });
+        }
+    }
+}
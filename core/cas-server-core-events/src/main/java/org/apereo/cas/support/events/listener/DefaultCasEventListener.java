@@ -9,6 +9,7 @@ import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.authentication.CasAuthenticationPolicyFailureEvent;
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionFailureEvent;
 import org.apereo.cas.support.events.authentication.adaptive.CasRiskyAuthenticationDetectedEvent;
+import org.apereo.cas.support.events.dao.AsynchronousCasEventSink;
 import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 import org.apereo.cas.util.AsciiArtUtils;
@@ -16,13 +17,14 @@ import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.serialization.TicketIdSanitizationUtils;
 import org.apereo.cas.web.support.WebUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 
 /**
  * This is {@link DefaultCasEventListener} that attempts to consume CAS events
  * upon various authentication events. Event data is persisted into a repository
- * via {@link CasEventRepository}.
+ * via {@link CasEventRepository}, either directly or in batches through an {@link AsynchronousCasEventSink}.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -30,10 +32,16 @@ import org.springframework.context.event.EventListener;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class DefaultCasEventListener {
+public class DefaultCasEventListener implements DisposableBean {
 
     private final CasEventRepository casEventRepository;
 
+    private final AsynchronousCasEventSink casEventSink;
+
+    public DefaultCasEventListener(final CasEventRepository casEventRepository) {
+        this(casEventRepository, null);
+    }
+
     /**
      * Handle application ready event.
      *
@@ -57,7 +65,7 @@ public class DefaultCasEventListener {
             dto.setCreationTime(event.getTicketGrantingTicket().getCreationTime().toString());
             dto.putId(TicketIdSanitizationUtils.sanitize(event.getTicketGrantingTicket().getId()));
             dto.setPrincipalId(event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId());
-            this.casEventRepository.save(dto);
+            saveCasEvent(dto);
         }
     }
 
@@ -72,7 +80,7 @@ public class DefaultCasEventListener {
             final var dto = prepareCasEvent(event);
             dto.setPrincipalId(event.getCredential().getId());
             dto.putId(CasAuthenticationPolicyFailureEvent.class.getSimpleName());
-            this.casEventRepository.save(dto);
+            saveCasEvent(dto);
         }
     }
 
@@ -87,7 +95,7 @@ public class DefaultCasEventListener {
             final var dto = prepareCasEvent(event);
             dto.setPrincipalId(event.getAuthentication().getPrincipal().getId());
             dto.putId(CasAuthenticationPolicyFailureEvent.class.getSimpleName());
-            this.casEventRepository.save(dto);
+            saveCasEvent(dto);
         }
     }
 
@@ -102,6 +110,21 @@ public class DefaultCasEventListener {
             final var dto = prepareCasEvent(event);
             dto.putId(event.getService().getName());
             dto.setPrincipalId(event.getAuthentication().getPrincipal().getId());
+            saveCasEvent(dto);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.casEventSink != null) {
+            this.casEventSink.close();
+        }
+    }
+
+    private void saveCasEvent(final CasEvent dto) {
+        if (this.casEventSink != null) {
+            this.casEventSink.accept(dto);
+        } else {
             this.casEventRepository.save(dto);
         }
     }
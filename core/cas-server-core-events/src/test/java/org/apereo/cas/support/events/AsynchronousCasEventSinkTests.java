@@ -0,0 +1,151 @@
+package org.apereo.cas.support.events;
+
+import org.apereo.cas.configuration.model.core.events.EventsProperties;
+import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
+import org.apereo.cas.support.events.dao.AsynchronousCasEventSink;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousCasEventSinkTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class AsynchronousCasEventSinkTests {
+
+    @Test
+    public void verifyEventsAreWrittenInBatchesAndFlushedOnClose() {
+        final var repository = new BatchRecordingCasEventRepository(false);
+        final var properties = new EventsProperties.Writer();
+        properties.setBatchSize(10);
+        final var sink = new AsynchronousCasEventSink(repository, properties);
+        IntStream.range(0, 100).forEach(i -> assertTrue(sink.accept(newEvent(i))));
+        sink.close();
+
+        assertEquals(100, repository.load().size());
+        assertTrue(repository.getBatches().stream().allMatch(size -> size <= 10));
+        assertEquals(0, sink.getDiscardedEventCount());
+    }
+
+    @Test
+    public void verifyOldestEventsAreDropped() throws Exception {
+        final var repository = new BatchRecordingCasEventRepository(true);
+        final var properties = new EventsProperties.Writer();
+        properties.setCapacity(5);
+        properties.setBatchSize(1);
+        properties.setOverflowPolicy(EventsProperties.Writer.OverflowPolicies.DROP_OLDEST);
+        final var sink = new AsynchronousCasEventSink(repository, properties);
+
+        assertTrue(sink.accept(newEvent(0)));
+        assertTrue(repository.awaitBlockedWriter());
+        IntStream.range(1, 11).forEach(i -> assertTrue(sink.accept(newEvent(i))));
+        assertEquals(5, sink.getDiscardedEventCount());
+        repository.release();
+        sink.close();
+
+        assertEquals(6, repository.load().size());
+        assertTrue(repository.load().stream().anyMatch(e -> "principal-10".equals(e.getPrincipalId())));
+        assertFalse(repository.load().stream().anyMatch(e -> "principal-1".equals(e.getPrincipalId())));
+    }
+
+    @Test
+    public void verifyEventsAreSampledWhenBufferIsFull() throws Exception {
+        final var repository = new BatchRecordingCasEventRepository(true);
+        final var properties = new EventsProperties.Writer();
+        properties.setCapacity(4);
+        properties.setBatchSize(1);
+        properties.setSamplingRate(0);
+        properties.setOverflowPolicy(EventsProperties.Writer.OverflowPolicies.SAMPLE);
+        final var sink = new AsynchronousCasEventSink(repository, properties);
+
+        assertTrue(sink.accept(newEvent(0)));
+        assertTrue(repository.awaitBlockedWriter());
+        IntStream.range(1, 3).forEach(i -> assertTrue(sink.accept(newEvent(i))));
+        assertFalse(sink.accept(newEvent(3)));
+        assertEquals(1, sink.getDiscardedEventCount());
+        repository.release();
+        sink.close();
+        assertEquals(3, repository.load().size());
+    }
+
+    @Test
+    public void verifyEventsAreWrittenDirectlyAfterClose() {
+        final var repository = new BatchRecordingCasEventRepository(false);
+        final var sink = new AsynchronousCasEventSink(repository, new EventsProperties.Writer());
+        sink.close();
+        assertTrue(sink.accept(newEvent(1)));
+        assertEquals(1, repository.load().size());
+    }
+
+    private static CasEvent newEvent(final int index) {
+        final var event = new CasEvent();
+        event.setType("type");
+        event.setPrincipalId("principal-" + index);
+        event.setCreationTime(String.valueOf(index));
+        return event;
+    }
+
+    private static class BatchRecordingCasEventRepository extends AbstractCasEventRepository {
+        private final List<CasEvent> events = new CopyOnWriteArrayList<>();
+
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private volatile boolean blocking;
+
+        BatchRecordingCasEventRepository(final boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void save(final CasEvent event) {
+            this.events.add(event);
+        }
+
+        @Override
+        public void saveAll(final Collection<CasEvent> events) {
+            if (this.blocking) {
+                this.blocking = false;
+                this.blocked.countDown();
+                try {
+                    this.released.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.batches.add(events.size());
+            this.events.addAll(events);
+        }
+
+        @Override
+        public Collection<? extends CasEvent> load() {
+            return new ArrayList<>(this.events);
+        }
+
+        boolean awaitBlockedWriter() throws InterruptedException {
+            return this.blocked.await(10, TimeUnit.SECONDS);
+        }
+
+        void release() {
+            this.released.countDown();
+        }
+
+        List<Integer> getBatches() {
+            return this.batches;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import javax.security.auth.login.FailedLoginException;
@@ -45,6 +46,7 @@ import static org.junit.Assert.*;
     CasCoreEventsConfiguration.class,
     RefreshAutoConfiguration.class
 })
+@TestPropertySource(properties = "cas.events.writer.asynchronous=false")
 public class DefaultCasEventListenerTests {
 
     @Autowired
@@ -0,0 +1,292 @@
+package org.apereo.cas.logout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link AsynchronousSingleLogoutMessageDispatcher} that delivers back-channel logout requests
+ * using a non-blocking http client.
+ * <p>
+ * Logout requests are queued per endpoint host, and each host is allowed a limited number of concurrent
+ * requests, so that slow endpoints cannot hold up delivery to others. The total number of queued requests
+ * is bounded; requests that do not fit are rejected right away. Requests that fail are retried with
+ * an exponential backoff, up to a maximum number of attempts.
+ * <p>
+ * Delivery is best-effort: queued requests and requests waiting to be retried are only held in memory,
+ * and are lost when the server stops. A request that timed out may have been received by the service
+ * and is then delivered again on retry, so services must tolerate repeated logout requests.
+ * <p>
+ * When the logout message creator supports it and more than one session index is allowed per message,
+ * requests to the same logout url that are queued while their host is busy are coalesced into a single message.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class AsynchronousSingleLogoutMessageDispatcher implements SingleLogoutMessageDispatcher, DisposableBean {
+
+    /**
+     * Status codes that mark a logout request as delivered. These are the codes that
+     * {@code SimpleHttpClientFactoryBean} accepts by default, and redirects are not followed.
+     */
+    private static final Set<Integer> ACCEPTABLE_CODES = Set.of(HttpURLConnection.HTTP_OK,
+        HttpURLConnection.HTTP_NOT_MODIFIED, HttpURLConnection.HTTP_MOVED_TEMP,
+        HttpURLConnection.HTTP_MOVED_PERM, HttpURLConnection.HTTP_ACCEPTED,
+        HttpURLConnection.HTTP_NO_CONTENT);
+
+    private static final int MAXIMUM_BACKOFF_SHIFT = 10;
+
+    private final LogoutMessageCreator logoutMessageBuilder;
+
+    private final HttpClient httpClient;
+
+    private final ExecutorService executorService;
+
+    private final ScheduledExecutorService retryExecutorService;
+
+    private final int maximumQueueSize;
+
+    private final int maximumConcurrencyPerHost;
+
+    private final int maximumSessionIndexesPerMessage;
+
+    private final int maximumAttempts;
+
+    private final Duration retryDelay;
+
+    private final Duration requestTimeout;
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder dispatched = new LongAdder();
+
+    private final LongAdder sent = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder retried = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public AsynchronousSingleLogoutMessageDispatcher(final LogoutMessageCreator logoutMessageBuilder,
+                                                     final HttpClient httpClient,
+                                                     final ExecutorService executorService,
+                                                     final ScheduledExecutorService retryExecutorService,
+                                                     final int maximumQueueSize,
+                                                     final int maximumConcurrencyPerHost,
+                                                     final int maximumSessionIndexesPerMessage,
+                                                     final int maximumAttempts,
+                                                     final Duration retryDelay,
+                                                     final Duration requestTimeout) {
+        this.logoutMessageBuilder = logoutMessageBuilder;
+        this.httpClient = httpClient;
+        this.executorService = executorService;
+        this.retryExecutorService = retryExecutorService;
+        this.maximumQueueSize = maximumQueueSize;
+        this.maximumConcurrencyPerHost = Math.max(1, maximumConcurrencyPerHost);
+        this.maximumSessionIndexesPerMessage = logoutMessageBuilder instanceof SamlCompliantLogoutMessageCreator
+            ? Math.max(1, maximumSessionIndexesPerMessage) : 1;
+        this.maximumAttempts = Math.max(1, maximumAttempts);
+        this.retryDelay = retryDelay;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public boolean dispatch(final LogoutRequest request) {
+        if (!reserve(1)) {
+            LOGGER.warn("Logout request for [{}] to [{}] is rejected since [{}] requests are already queued",
+                request.getService(), request.getLogoutUrl(), this.maximumQueueSize);
+            this.rejected.increment();
+            return false;
+        }
+        this.dispatched.increment();
+        enqueue(new PendingRequest(request, 0));
+        return true;
+    }
+
+    /**
+     * Gets statistics on the dispatch of logout requests.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", this.queued.get());
+        stats.put("inFlight", this.hosts.values().stream().mapToInt(Host::getInFlight).sum());
+        stats.put("dispatched", this.dispatched.sum());
+        stats.put("sent", this.sent.sum());
+        stats.put("failed", this.failed.sum());
+        stats.put("retried", this.retried.sum());
+        stats.put("rejected", this.rejected.sum());
+        stats.put("coalesced", this.coalesced.sum());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        this.retryExecutorService.shutdownNow();
+        this.executorService.shutdownNow();
+        final var remaining = this.queued.get();
+        if (remaining > 0) {
+            LOGGER.warn("Stopped dispatching logout requests; [{}] queued request(s) are discarded and will not be delivered", remaining);
+        }
+    }
+
+    private boolean reserve(final int count) {
+        while (true) {
+            final var current = this.queued.get();
+            if (current + count > this.maximumQueueSize) {
+                return false;
+            }
+            if (this.queued.compareAndSet(current, current + count)) {
+                return true;
+            }
+        }
+    }
+
+    private void enqueue(final PendingRequest pending) {
+        final var url = pending.request.getLogoutUrl();
+        final var key = url.getProtocol() + "://" + url.getAuthority();
+        final var host = this.hosts.computeIfAbsent(key, k -> new Host());
+        synchronized (host) {
+            host.queue.add(pending);
+        }
+        drain(host);
+    }
+
+    private void drain(final Host host) {
+        while (true) {
+            final List<PendingRequest> batch = new ArrayList<>(1);
+            synchronized (host) {
+                if (host.inFlight >= this.maximumConcurrencyPerHost || host.queue.isEmpty()) {
+                    return;
+                }
+                final var first = host.queue.poll();
+                batch.add(first);
+                if (this.maximumSessionIndexesPerMessage > 1) {
+                    final var it = host.queue.iterator();
+                    while (it.hasNext() && batch.size() < this.maximumSessionIndexesPerMessage) {
+                        final var next = it.next();
+                        if (next.request.getLogoutUrl().toExternalForm().equals(first.request.getLogoutUrl().toExternalForm())) {
+                            batch.add(next);
+                            it.remove();
+                        }
+                    }
+                }
+                host.inFlight++;
+            }
+            this.queued.addAndGet(-batch.size());
+            if (batch.size() > 1) {
+                this.coalesced.add(batch.size() - 1);
+            }
+            send(host, batch);
+        }
+    }
+
+    private void send(final Host host, final List<PendingRequest> batch) {
+        final var first = batch.get(0).request;
+        try {
+            final var message = batch.size() == 1
+                ? this.logoutMessageBuilder.create(first)
+                : ((SamlCompliantLogoutMessageCreator) this.logoutMessageBuilder).create(
+                batch.stream().map(pending -> pending.request).collect(Collectors.toList()));
+            final var msg = new LogoutHttpMessage(first.getLogoutUrl(), message, true);
+            final var httpRequest = HttpRequest.newBuilder(first.getLogoutUrl().toURI())
+                .timeout(this.requestTimeout)
+                .header("Content-Type", MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(msg.getMessage()))
+                .build();
+            LOGGER.debug("Sending logout message for [{}] session(s) to [{}]", batch.size(), first.getLogoutUrl());
+            this.httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    synchronized (host) {
+                        host.inFlight--;
+                    }
+                    if (error == null && ACCEPTABLE_CODES.contains(response.statusCode())) {
+                        LOGGER.trace("Logout message for [{}] session(s) is delivered to [{}]", batch.size(), first.getLogoutUrl());
+                        this.sent.add(batch.size());
+                    } else {
+                        LOGGER.debug("Unable to deliver logout message to [{}]: [{}]", first.getLogoutUrl(),
+                            error != null ? error.getMessage() : response.statusCode());
+                        retry(batch);
+                    }
+                    drain(host);
+                });
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to send logout message to [{}]: [{}]", first.getLogoutUrl(), e.getMessage());
+            synchronized (host) {
+                host.inFlight--;
+            }
+            this.failed.add(batch.size());
+        }
+    }
+
+    private void retry(final List<PendingRequest> batch) {
+        for (final var pending : batch) {
+            final var attempts = pending.attempts + 1;
+            if (attempts >= this.maximumAttempts || !reserve(1)) {
+                LOGGER.warn("Logout request for [{}] to [{}] has failed after [{}] attempt(s)",
+                    pending.request.getService(), pending.request.getLogoutUrl(), attempts);
+                this.failed.increment();
+                continue;
+            }
+            this.retried.increment();
+            final var delay = this.retryDelay.toMillis() << Math.min(attempts - 1, MAXIMUM_BACKOFF_SHIFT);
+            try {
+                this.retryExecutorService.schedule(() -> enqueue(new PendingRequest(pending.request, attempts)),
+                    delay, TimeUnit.MILLISECONDS);
+            } catch (final Exception e) {
+                LOGGER.debug("Unable to schedule logout request retry: [{}]", e.getMessage());
+                this.queued.decrementAndGet();
+                this.failed.increment();
+            }
+        }
+    }
+
+    private static class PendingRequest {
+        private final LogoutRequest request;
+
+        private final int attempts;
+
+        PendingRequest(final LogoutRequest request, final int attempts) {
+            this.request = request;
+            this.attempts = attempts;
+        }
+    }
+
+    private static class Host {
+        private final Deque<PendingRequest> queue = new ArrayDeque<>();
+
+        private int inFlight;
+
+        synchronized int getInFlight() {
+            return this.inFlight;
+        }
+    }
+}
@@ -32,6 +32,17 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder;
     private boolean asynchronous = true;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
+    private final SingleLogoutMessageDispatcher singleLogoutMessageDispatcher;
+
+    public DefaultSingleLogoutServiceMessageHandler(final HttpClient httpClient,
+                                                    final LogoutMessageCreator logoutMessageBuilder,
+                                                    final ServicesManager servicesManager,
+                                                    final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder,
+                                                    final boolean asynchronous,
+                                                    final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies) {
+        this(httpClient, logoutMessageBuilder, servicesManager, singleLogoutServiceLogoutUrlBuilder,
+            asynchronous, authenticationRequestServiceSelectionStrategies, null);
+    }
 
     /**
      * Handle logout for slo service.
@@ -113,6 +124,11 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      */
     public boolean performBackChannelLogout(final LogoutRequest request) {
         try {
+            if (this.asynchronous && this.singleLogoutMessageDispatcher != null) {
+                request.getService().setLoggedOutAlready(true);
+                LOGGER.debug("Dispatching back-channel logout request [{}]", request);
+                return this.singleLogoutMessageDispatcher.dispatch(request);
+            }
             LOGGER.debug("Creating back-channel logout request based on [{}]", request);
             final var logoutRequest = this.logoutMessageBuilder.create(request);
             final var logoutService = request.getService();
@@ -5,6 +5,9 @@ import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 /**
  * A builder that uses the saml standard's {@code LogoutRequest} template in order
  * to build the logout request.
@@ -32,5 +35,23 @@ public class SamlCompliantLogoutMessageCreator implements LogoutMessageCreator {
         LOGGER.debug("Generated logout message: [{}]", logoutRequest);
         return logoutRequest;
     }
+
+    /**
+     * Create a single logout message for several logout requests,
+     * carrying one session index for each request.
+     *
+     * @param requests the logout requests
+     * @return the logout message
+     */
+    public String create(final Collection<LogoutRequest> requests) {
+        final var sessionIndexes = requests.stream()
+            .map(LogoutRequest::getTicketId)
+            .collect(Collectors.joining("</samlp:SessionIndex><samlp:SessionIndex>"));
+        final var logoutRequest = String.format(LOGOUT_REQUEST_TEMPLATE, GENERATOR.getNewTicketId("LR"),
+                new ISOStandardDateFormat().getCurrentDateAndTime(), sessionIndexes);
+
+        LOGGER.debug("Generated logout message for [{}] session(s): [{}]", requests.size(), logoutRequest);
+        return logoutRequest;
+    }
     
 }
@@ -1,9 +1,15 @@
 package org.apereo.cas.logout.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.AsynchronousSingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
@@ -13,6 +19,7 @@ import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.LogoutMessageCreator;
 import org.apereo.cas.logout.SamlCompliantLogoutMessageCreator;
+import org.apereo.cas.logout.SingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
@@ -23,12 +30,16 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.net.ssl.SSLContext;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link CasCoreLogoutConfiguration}.
@@ -64,6 +75,10 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Qualifier("authenticationServiceSelectionPlan")
     private ObjectProvider<AuthenticationServiceSelectionPlan> authenticationServiceSelectionPlan;
 
+    @Autowired
+    @Qualifier("sslContext")
+    private ObjectProvider<SSLContext> sslContext;
+
     @ConditionalOnMissingBean(name = "singleLogoutServiceLogoutUrlBuilder")
     @Bean
     public SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder() {
@@ -73,12 +88,66 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
+        final var slo = casProperties.getSlo();
+        final var dispatcher = slo.isAsynchronous() && slo.getDispatcher().isEnabled()
+            ? singleLogoutMessageDispatcher()
+            : null;
         return new DefaultSingleLogoutServiceMessageHandler(httpClient,
             logoutBuilder(),
             servicesManager,
             singleLogoutServiceLogoutUrlBuilder(),
-            casProperties.getSlo().isAsynchronous(),
-            authenticationServiceSelectionPlan.getIfAvailable());
+            slo.isAsynchronous(),
+            authenticationServiceSelectionPlan.getIfAvailable(),
+            dispatcher);
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @ConditionalOnProperty(prefix = "cas.slo.dispatcher", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public SingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        final var dispatcher = casProperties.getSlo().getDispatcher();
+        final var executor = Executors.newFixedThreadPool(Math.max(1, dispatcher.getThreads()),
+            new BasicThreadFactory.Builder().namingPattern("cas-slo-dispatcher-%d").daemon(true).build());
+        final var retryExecutor = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("cas-slo-dispatcher-retry-%d").daemon(true).build());
+
+        final var builder = java.net.http.HttpClient.newBuilder()
+            .executor(executor)
+            .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+            .connectTimeout(Beans.newDuration(dispatcher.getConnectTimeout()));
+        final var context = sslContext.getIfAvailable();
+        if (context != null) {
+            builder.sslContext(context);
+        }
+        return new AsynchronousSingleLogoutMessageDispatcher(logoutBuilder(), builder.build(), executor, retryExecutor,
+            dispatcher.getMaximumQueueSize(),
+            dispatcher.getMaximumConcurrencyPerHost(),
+            dispatcher.getMaximumSessionIndexesPerMessage(),
+            dispatcher.getMaximumAttempts(),
+            Beans.newDuration(dispatcher.getRetryDelay()),
+            Beans.newDuration(dispatcher.getRequestTimeout()));
+    }
+
+    @ConditionalOnProperty(prefix = "cas.slo.dispatcher", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public MeterBinder singleLogoutMessageDispatcherMetrics() {
+        return registry -> {
+            final var dispatcher = singleLogoutMessageDispatcher();
+            if (dispatcher instanceof AsynchronousSingleLogoutMessageDispatcher) {
+                final var asyncDispatcher = (AsynchronousSingleLogoutMessageDispatcher) dispatcher;
+                Gauge.builder("cas.slo.dispatcher.queued", asyncDispatcher, d -> getStatistic(d, "queued"))
+                    .description("Logout requests queued for delivery, including those waiting to be retried")
+                    .register(registry);
+                Gauge.builder("cas.slo.dispatcher.inflight", asyncDispatcher, d -> getStatistic(d, "inFlight"))
+                    .description("Logout requests being delivered")
+                    .register(registry);
+                Stream.of("dispatched", "sent", "failed", "retried", "rejected", "coalesced").forEach(outcome ->
+                    FunctionCounter.builder("cas.slo.dispatcher.requests", asyncDispatcher, d -> getStatistic(d, outcome))
+                        .tag("outcome", outcome)
+                        .description("Logout requests handled by the dispatcher")
+                        .register(registry));
+            }
+        };
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
@@ -109,6 +178,10 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
         return plan;
     }
 
+    private static double getStatistic(final AsynchronousSingleLogoutMessageDispatcher dispatcher, final String name) {
+        return ((Number) dispatcher.getStatistics().get(name)).doubleValue();
+    }
+
     @Override
     public void configureLogoutExecutionPlan(final LogoutExecutionPlan plan) {
         if (casProperties.getLogout().isRemoveDescendantTickets()) {
@@ -0,0 +1,164 @@
+package org.apereo.cas.logout;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link AsynchronousSingleLogoutMessageDispatcherTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class AsynchronousSingleLogoutMessageDispatcherTests {
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    private final AtomicInteger responseCode = new AtomicInteger(200);
+
+    private HttpServer server;
+
+    private ExecutorService executorService;
+
+    private AsynchronousSingleLogoutMessageDispatcher dispatcher;
+
+    @Before
+    public void initialize() throws Exception {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/logout", exchange -> {
+            try {
+                this.messages.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                this.latch.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(this.responseCode.get(), -1);
+            exchange.close();
+        });
+        this.server.start();
+        this.executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void shutdown() {
+        this.latch.countDown();
+        if (this.dispatcher != null) {
+            this.dispatcher.destroy();
+        }
+        this.server.stop(0);
+    }
+
+    @Test
+    public void verifyRequestsAreDelivered() throws Exception {
+        this.latch.countDown();
+        this.dispatcher = newDispatcher(100, 4, 1, 1);
+        for (var i = 0; i < 5; i++) {
+            assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-" + i)));
+        }
+        waitFor(() -> getStatistic("sent") == 5);
+        assertEquals(5, this.messages.size());
+        assertEquals(0, getStatistic("queued"));
+    }
+
+    @Test
+    public void verifyRequestsToBusyHostAreCoalesced() throws Exception {
+        this.dispatcher = newDispatcher(100, 1, 10, 1);
+        for (var i = 0; i < 5; i++) {
+            assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-" + i)));
+        }
+        waitFor(() -> this.messages.size() == 1);
+        assertEquals(4, getStatistic("queued"));
+        this.latch.countDown();
+
+        waitFor(() -> getStatistic("sent") == 5);
+        assertEquals(2, this.messages.size());
+        assertEquals(3, getStatistic("coalesced"));
+        assertEquals(4, StringUtils.countMatches(this.messages.get(1), "%3C%2Fsamlp%3ASessionIndex%3E"));
+    }
+
+    @Test
+    public void verifyQueueIsBounded() throws Exception {
+        this.dispatcher = newDispatcher(1, 1, 1, 1);
+        assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-1")));
+        waitFor(() -> this.messages.size() == 1);
+        assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-2")));
+        assertFalse(this.dispatcher.dispatch(newLogoutRequest("ST-3")));
+        assertEquals(1, getStatistic("rejected"));
+    }
+
+    @Test
+    public void verifyFailedRequestsAreRetried() throws Exception {
+        this.latch.countDown();
+        this.responseCode.set(500);
+        this.dispatcher = newDispatcher(100, 4, 1, 3);
+        assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-1")));
+        waitFor(() -> getStatistic("failed") == 1);
+        assertEquals(3, this.messages.size());
+        assertEquals(2, getStatistic("retried"));
+        assertEquals(0, getStatistic("sent"));
+    }
+
+    @Test
+    public void verifyNoContentAndRedirectResponsesAreDelivered() throws Exception {
+        this.latch.countDown();
+        this.dispatcher = newDispatcher(100, 4, 1, 3);
+        this.responseCode.set(204);
+        assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-1")));
+        waitFor(() -> getStatistic("sent") == 1);
+        this.responseCode.set(302);
+        assertTrue(this.dispatcher.dispatch(newLogoutRequest("ST-2")));
+        waitFor(() -> getStatistic("sent") == 2);
+        assertEquals(2, this.messages.size());
+        assertEquals(0, getStatistic("retried"));
+        assertEquals(0, getStatistic("failed"));
+    }
+
+    private AsynchronousSingleLogoutMessageDispatcher newDispatcher(final int maximumQueueSize, final int maximumConcurrencyPerHost,
+                                                                    final int maximumSessionIndexesPerMessage, final int maximumAttempts) {
+        final var httpClient = HttpClient.newBuilder().executor(this.executorService).build();
+        return new AsynchronousSingleLogoutMessageDispatcher(new SamlCompliantLogoutMessageCreator(), httpClient,
+            this.executorService, Executors.newSingleThreadScheduledExecutor(),
+            maximumQueueSize, maximumConcurrencyPerHost, maximumSessionIndexesPerMessage, maximumAttempts,
+            Duration.ofMillis(10), Duration.ofSeconds(30));
+    }
+
+    private LogoutRequest newLogoutRequest(final String ticketId) throws Exception {
+        final var url = new URL("http://localhost:" + this.server.getAddress().getPort() + "/logout");
+        return new DefaultLogoutRequest(ticketId, mock(WebApplicationService.class), url);
+    }
+
+    private long getStatistic(final String name) {
+        return ((Number) this.dispatcher.getStatistics().get(name)).longValue();
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws Exception {
+        final var deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition was not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
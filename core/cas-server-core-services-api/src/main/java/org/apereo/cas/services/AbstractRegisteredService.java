@@ -1,5 +1,6 @@
 package org.apereo.cas.services;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -51,7 +52,7 @@ import java.util.Map;
 @ToString
 @Getter
 @Setter
-@EqualsAndHashCode(exclude = {"id"})
+@EqualsAndHashCode(exclude = {"id", "lastModified"})
 public abstract class AbstractRegisteredService implements RegisteredService {
 
     private static final long serialVersionUID = 7645279151115635245L;
@@ -139,6 +140,14 @@ public abstract class AbstractRegisteredService implements RegisteredService {
     @OrderColumn
     private List<DefaultRegisteredServiceContact> contacts = new ArrayList<>();
 
+    /**
+     * Time, in milliseconds since the epoch, at which this definition was last saved
+     * by a registry that is able to track changes.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Long lastModified;
+
     /**
      * Initializes the registered service with default values
      * for fields that are unspecified. Only triggered by JPA.
@@ -17,6 +17,12 @@ import lombok.Setter;
 @Setter
 public abstract class AbstractServiceRegistry implements ServiceRegistry {
 
+    /**
+     * Amount of time, in milliseconds, by which consecutive sets of changes overlap
+     * so that clock drift and in-flight transactions do not cause changes to be missed.
+     */
+    public static final long CHANGES_OVERLAP_MILLIS = 5_000;
+
     @Autowired
     private transient ApplicationEventPublisher eventPublisher;
 
@@ -32,6 +38,28 @@ public abstract class AbstractServiceRegistry implements ServiceRegistry {
         }
     }
 
+    /**
+     * Gets the version to report with the next set of changes,
+     * which is the current time minus {@link #CHANGES_OVERLAP_MILLIS}.
+     *
+     * @return the version
+     */
+    protected long getNextChangesVersion() {
+        return System.currentTimeMillis() - CHANGES_OVERLAP_MILLIS;
+    }
+
+    /**
+     * Record the time at which the registered service is modified,
+     * for registries that are able to report changes by time.
+     *
+     * @param registeredService the registered service
+     */
+    protected void markRegisteredServiceModified(final RegisteredService registeredService) {
+        if (registeredService instanceof AbstractRegisteredService) {
+            AbstractRegisteredService.class.cast(registeredService).setLastModified(System.currentTimeMillis());
+        }
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName();
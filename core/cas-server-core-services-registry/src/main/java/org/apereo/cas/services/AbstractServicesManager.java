@@ -1,5 +1,7 @@
 package org.apereo.cas.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.Service;
@@ -15,16 +17,23 @@ import org.apereo.inspektr.audit.annotation.Audit;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,27 +47,62 @@ import java.util.stream.Stream;
 @Slf4j
 public abstract class AbstractServicesManager implements ServicesManager, InitializingBean {
 
+    /**
+     * Default number of service identifiers whose lookup results are remembered.
+     */
+    public static final long DEFAULT_LOOKUP_CACHE_SIZE = 10_000;
+
     private static final long serialVersionUID = -8581398063126547772L;
 
     private final ServiceRegistry serviceRegistry;
 
     private final transient ApplicationEventPublisher eventPublisher;
 
-    private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+    /**
+     * Remembers the registered service (or lack thereof) that matched a given service id.
+     * Entries are not validated for expiration, which is checked on every lookup.
+     */
+    private final transient Cache<String, Optional<RegisteredService>> serviceLookupCache;
+
+    private final AtomicLong serviceLookupCacheVersion = new AtomicLong();
+
+    private final Map<String, Optional<LocalDateTime>> expirationDates = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes changes to the service catalog; readers never acquire this lock
+     * and instead work off of the current snapshot.
+     */
+    private final transient Lock mutationLock = new ReentrantLock();
+
+    private volatile RegisteredServicesSnapshot snapshot = RegisteredServicesSnapshot.empty();
+
+    /**
+     * Version of the registry that the current snapshot reflects, used to ask for subsequent changes.
+     * A negative value indicates that services must be loaded in full.
+     */
+    private volatile long registryVersion = -1;
 
     public AbstractServicesManager(final ServiceRegistry serviceRegistry,
                                    final ApplicationEventPublisher eventPublisher) {
+        this(serviceRegistry, eventPublisher, DEFAULT_LOOKUP_CACHE_SIZE);
+    }
+
+    public AbstractServicesManager(final ServiceRegistry serviceRegistry,
+                                   final ApplicationEventPublisher eventPublisher,
+                                   final long lookupCacheSize) {
         this.serviceRegistry = serviceRegistry;
         this.eventPublisher = eventPublisher;
+        this.serviceLookupCache = Caffeine.newBuilder()
+            .maximumSize(lookupCacheSize)
+            .recordStats()
+            .build();
     }
 
     @Override
     public Collection<RegisteredService> getAllServices() {
-        return this.services.values()
+        return this.snapshot.getOrderedServices()
             .stream()
             .filter(getRegisteredServicesFilteringPredicate())
-            .sorted()
-            .peek(RegisteredService::initialize)
             .collect(Collectors.toList());
     }
 
@@ -68,11 +112,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             return new ArrayList<>(0);
         }
 
-        return getAllServices()
+        return this.snapshot.getOrderedServices()
             .stream()
             .filter(getRegisteredServicesFilteringPredicate(predicate))
-            .sorted()
-            .peek(RegisteredService::initialize)
             .collect(Collectors.toList());
 
     }
@@ -83,6 +125,20 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             return null;
         }
 
+        final var version = this.serviceLookupCacheVersion.get();
+        var result = this.serviceLookupCache.getIfPresent(serviceId);
+        if (result == null) {
+            result = Optional.ofNullable(locateServiceBy(serviceId));
+            this.serviceLookupCache.put(serviceId, result);
+            if (version != this.serviceLookupCacheVersion.get()) {
+                LOGGER.trace("Services have changed while looking up [{}]; discarding lookup result", serviceId);
+                this.serviceLookupCache.invalidate(serviceId);
+            }
+        }
+        return validateRegisteredService(result.orElse(null));
+    }
+
+    private RegisteredService locateServiceBy(final String serviceId) {
         final var service = getCandidateServicesToMatch(serviceId)
             .stream()
             .filter(r -> r.matches(serviceId))
@@ -92,7 +148,35 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         if (service != null) {
             service.initialize();
         }
-        return validateRegisteredService(service);
+        return service;
+    }
+
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceLookupKey<T> key, final String value) {
+        if (value == null) {
+            return null;
+        }
+        return this.snapshot.getOrderedServicesByKey(key, value)
+            .stream()
+            .filter(getRegisteredServicesFilteringPredicate())
+            .map(key.getType()::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Override
+    public <T extends RegisteredService> T findMatchingServiceOfType(final String serviceId, final Class<T> clazz) {
+        if (StringUtils.isBlank(serviceId)) {
+            return null;
+        }
+        return this.snapshot.getOrderedServicesIndexOfType(clazz)
+            .getCandidates(serviceId)
+            .stream()
+            .filter(getRegisteredServicesFilteringPredicate())
+            .filter(r -> r.matches(serviceId))
+            .map(clazz::cast)
+            .findFirst()
+            .orElse(null);
     }
 
     @Override
@@ -119,12 +203,12 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
 
     @Override
     public RegisteredService findServiceBy(final long id) {
-        return this.services.get(id);
+        return this.snapshot.getServices().get(id);
     }
 
     @Override
     public int count() {
-        return services.size();
+        return this.snapshot.size();
     }
 
     @Override
@@ -141,7 +225,7 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         actionResolverName = "DELETE_SERVICE_ACTION_RESOLVER",
         resourceResolverName = "DELETE_SERVICE_RESOURCE_RESOLVER")
     @Override
-    public synchronized RegisteredService delete(final long id) {
+    public RegisteredService delete(final long id) {
         final var service = findServiceBy(id);
         return delete(service);
     }
@@ -150,17 +234,38 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         actionResolverName = "DELETE_SERVICE_ACTION_RESOLVER",
         resourceResolverName = "DELETE_SERVICE_RESOURCE_RESOLVER")
     @Override
-    public synchronized RegisteredService delete(final RegisteredService service) {
+    public RegisteredService delete(final RegisteredService service) {
         if (service != null) {
-            publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
-            this.serviceRegistry.delete(service);
-            this.services.remove(service.getId());
-            deleteInternal(service);
-            publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
+            deleteAll(Collections.singletonList(service));
         }
         return service;
     }
 
+    @Audit(action = "DELETE_SERVICE",
+        actionResolverName = "DELETE_SERVICE_ACTION_RESOLVER",
+        resourceResolverName = "DELETE_SERVICE_RESOURCE_RESOLVER")
+    @Override
+    public Collection<RegisteredService> deleteAll(final Collection<RegisteredService> registeredServices) {
+        if (registeredServices.isEmpty()) {
+            return registeredServices;
+        }
+        this.mutationLock.lock();
+        try {
+            registeredServices.forEach(service -> {
+                publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
+                this.serviceRegistry.delete(service);
+            });
+            this.snapshot = this.snapshot.withDeleted(registeredServices);
+            registeredServices.forEach(this::deleteInternal);
+            updateInternal(this.snapshot);
+            invalidateServiceLookupCache();
+        } finally {
+            this.mutationLock.unlock();
+        }
+        registeredServices.forEach(service -> publishEvent(new CasRegisteredServiceDeletedEvent(this, service)));
+        return registeredServices;
+    }
+
     @Audit(action = "SAVE_SERVICE",
         actionResolverName = "SAVE_SERVICE_ACTION_RESOLVER",
         resourceResolverName = "SAVE_SERVICE_RESOURCE_RESOLVER")
@@ -173,16 +278,45 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         actionResolverName = "SAVE_SERVICE_ACTION_RESOLVER",
         resourceResolverName = "SAVE_SERVICE_RESOURCE_RESOLVER")
     @Override
-    public synchronized RegisteredService save(final RegisteredService registeredService, final boolean publishEvent) {
-        publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
-        final var r = this.serviceRegistry.save(registeredService);
-        this.services.put(r.getId(), r);
-        saveInternal(registeredService);
+    public RegisteredService save(final RegisteredService registeredService, final boolean publishEvent) {
+        return saveAll(Collections.singletonList(registeredService), publishEvent).iterator().next();
+    }
+
+    @Audit(action = "SAVE_SERVICE",
+        actionResolverName = "SAVE_SERVICE_ACTION_RESOLVER",
+        resourceResolverName = "SAVE_SERVICE_RESOURCE_RESOLVER")
+    @Override
+    public Collection<RegisteredService> saveAll(final Collection<RegisteredService> registeredServices) {
+        return saveAll(registeredServices, true);
+    }
 
+    private Collection<RegisteredService> saveAll(final Collection<RegisteredService> registeredServices, final boolean publishEvent) {
+        if (registeredServices.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        final List<RegisteredService> saved = new ArrayList<>(registeredServices.size());
+        this.mutationLock.lock();
+        try {
+            registeredServices.forEach(registeredService -> {
+                publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
+                saved.add(this.serviceRegistry.save(registeredService));
+            });
+            final var previous = this.snapshot;
+            saved.stream()
+                .map(r -> previous.getServices().get(r.getId()))
+                .filter(Objects::nonNull)
+                .forEach(this::deleteInternal);
+            this.snapshot = previous.withSaved(saved, getRegisteredServicesFilteringPredicate());
+            saved.forEach(this::saveInternal);
+            updateInternal(this.snapshot);
+            invalidateServiceLookupCache();
+        } finally {
+            this.mutationLock.unlock();
+        }
         if (publishEvent) {
-            publishEvent(new CasRegisteredServiceSavedEvent(this, r));
+            saved.forEach(r -> publishEvent(new CasRegisteredServiceSavedEvent(this, r)));
         }
-        return r;
+        return saved;
     }
 
     @Override
@@ -193,33 +327,161 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
     /**
      * Load services that are provided by the DAO.
      */
-    @Scheduled(initialDelayString = "${cas.serviceRegistry.schedule.startDelay:20000}",
-        fixedDelayString = "${cas.serviceRegistry.schedule.repeatInterval:60000}")
     @Override
     public Collection<RegisteredService> load() {
         LOGGER.debug("Loading services from [{}]", this.serviceRegistry);
-        this.services = this.serviceRegistry.load()
-            .stream()
-            .collect(Collectors.toConcurrentMap(r -> {
-                LOGGER.debug("Adding registered service [{}]", r.getServiceId());
-                return r.getId();
-            }, Function.identity(), (r, s) -> s == null ? r : s));
-        loadInternal();
+        final var version = System.currentTimeMillis() - AbstractServiceRegistry.CHANGES_OVERLAP_MILLIS;
+        final var loaded = this.serviceRegistry.load();
+        this.mutationLock.lock();
+        try {
+            this.expirationDates.clear();
+            this.registryVersion = version;
+            this.snapshot = this.snapshot.replaceWith(loaded, getRegisteredServicesFilteringPredicate());
+            loadInternal();
+            updateInternal(this.snapshot);
+            invalidateServiceLookupCache();
+        } finally {
+            this.mutationLock.unlock();
+        }
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
-        LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
-        return services.values();
+        final var current = this.snapshot;
+        LOGGER.info("Loaded [{}] service(s) from [{}].", current.size(), this.serviceRegistry.getName());
+        return current.getServices().values();
     }
 
+    /**
+     * Synchronize services with those provided by the DAO, applying changed definitions only
+     * if the DAO is able to report changes. Services are loaded in full otherwise, or if
+     * the DAO reports definitions that are unknown and have not changed.
+     */
+    @Scheduled(initialDelayString = "${cas.serviceRegistry.schedule.startDelay:20000}",
+        fixedDelayString = "${cas.serviceRegistry.schedule.repeatInterval:60000}")
     @Override
-    public synchronized void deleteAll() {
-        this.services.forEach((k, v) -> delete(v));
-        this.services.clear();
+    public Collection<RegisteredService> synchronize() {
+        final var sinceVersion = this.registryVersion;
+        if (sinceVersion < 0) {
+            return load();
+        }
+        final var result = this.serviceRegistry.loadChanges(sinceVersion);
+        if (!result.isPresent()) {
+            LOGGER.trace("[{}] is unable to report changes to services; loading services in full", this.serviceRegistry.getName());
+            return load();
+        }
+        final var changes = result.get();
+        if (hasUnknownServices(this.snapshot, changes)) {
+            LOGGER.debug("[{}] reports services that are not yet loaded; loading services in full", this.serviceRegistry.getName());
+            return load();
+        }
+        final var changed = changes.getChangedServices();
+        final List<RegisteredService> deleted;
+        this.mutationLock.lock();
+        try {
+            var current = this.snapshot;
+            deleted = current.getServices().values()
+                .stream()
+                .filter(r -> !changes.getRegisteredServiceIds().contains(r.getId()))
+                .collect(Collectors.toList());
+            if (!deleted.isEmpty()) {
+                current = current.withDeleted(deleted);
+                deleted.forEach(this::deleteInternal);
+            }
+            if (!changed.isEmpty()) {
+                final var previous = current;
+                changed.stream()
+                    .map(r -> previous.getServices().get(r.getId()))
+                    .filter(Objects::nonNull)
+                    .forEach(this::deleteInternal);
+                current = current.withSaved(changed, getRegisteredServicesFilteringPredicate());
+                changed.forEach(this::saveInternal);
+            }
+            if (current != this.snapshot) {
+                this.snapshot = current;
+                updateInternal(current);
+                invalidateServiceLookupCache();
+            }
+            this.registryVersion = changes.getVersion();
+        } finally {
+            this.mutationLock.unlock();
+        }
+        LOGGER.debug("Applied [{}] changed and [{}] deleted service(s) from [{}]", changed.size(), deleted.size(), this.serviceRegistry.getName());
+        if (!changed.isEmpty()) {
+            publishEvent(new CasRegisteredServicesLoadedEvent(this, changed));
+        }
+        deleted.forEach(service -> publishEvent(new CasRegisteredServiceDeletedEvent(this, service)));
+        evaluateExpiredServiceDefinitions();
+        return this.snapshot.getServices().values();
+    }
+
+    private static boolean hasUnknownServices(final RegisteredServicesSnapshot current, final RegisteredServiceChanges changes) {
+        final Set<Long> changedIds = changes.getChangedServices()
+            .stream()
+            .map(RegisteredService::getId)
+            .collect(Collectors.toSet());
+        return changes.getRegisteredServiceIds()
+            .stream()
+            .anyMatch(id -> !changedIds.contains(id) && !current.getServices().containsKey(id));
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAll(new ArrayList<>(this.snapshot.getServices().values()));
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
+    @Override
+    public Map<String, Object> getLookupStatistics() {
+        final var stats = this.serviceLookupCache.stats();
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("size", this.serviceLookupCache.estimatedSize());
+        results.put("hitCount", stats.hitCount());
+        results.put("missCount", stats.missCount());
+        results.put("hitRate", stats.hitRate());
+        results.put("evictionCount", stats.evictionCount());
+        return results;
+    }
+
+    /**
+     * Handle registered service saved event, possibly signaled by another node or component.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidateServiceLookupCache();
+    }
+
+    /**
+     * Handle registered service deleted event, possibly signaled by another node or component.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidateServiceLookupCache();
+    }
+
+    /**
+     * Handle registered services loaded event, possibly signaled by another node or component.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidateServiceLookupCache();
+    }
+
+    /**
+     * Invalidate all remembered lookup results. The version is bumped first
+     * so that lookups that are in flight do not put back stale results.
+     */
+    private void invalidateServiceLookupCache() {
+        this.serviceLookupCacheVersion.incrementAndGet();
+        this.serviceLookupCache.invalidateAll();
+    }
+
     private void evaluateExpiredServiceDefinitions() {
-        this.services.values()
+        this.snapshot.getServices().values()
             .stream()
             .filter(getRegisteredServicesFilteringPredicate().negate())
             .filter(Objects::nonNull)
@@ -252,7 +514,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
                     return true;
                 }
                 final var now = getCurrentSystemTime();
-                final var expirationDate = DateTimeUtils.localDateTimeOf(policy.getExpirationDate());
+                final var expirationDate = this.expirationDates
+                    .computeIfAbsent(policy.getExpirationDate(), d -> Optional.ofNullable(DateTimeUtils.localDateTimeOf(d)))
+                    .orElse(null);
                 LOGGER.debug("Service expiration date is [{}] while now is [{}]", expirationDate, now);
                 return !now.isAfter(expirationDate);
             } catch (final Exception e) {
@@ -331,6 +595,24 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
     protected void loadInternal() {
     }
 
+    /**
+     * Invoked once a new snapshot of the service catalog is put in place,
+     * once per load or batch of changes.
+     *
+     * @param servicesSnapshot the services snapshot
+     */
+    protected void updateInternal(final RegisteredServicesSnapshot servicesSnapshot) {
+    }
+
+    /**
+     * Gets the current snapshot of the service catalog.
+     *
+     * @return the snapshot
+     */
+    protected RegisteredServicesSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
     private void publishEvent(final ApplicationEvent event) {
         if (this.eventPublisher != null) {
             this.eventPublisher.publishEvent(event);
@@ -6,9 +6,12 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +50,35 @@ public class ChainingServiceRegistry extends AbstractServiceRegistry {
             .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes can only be determined if every registry in the chain is able to report them,
+     * and the earliest version reported by the chain is used for the next set of changes.
+     */
+    @Override
+    public Optional<RegisteredServiceChanges> loadChanges(final long sinceVersion) {
+        final List<RegisteredServiceChanges> results = new ArrayList<>(serviceRegistries.size());
+        for (final var registry : serviceRegistries) {
+            final var changes = registry.loadChanges(sinceVersion);
+            if (!changes.isPresent()) {
+                return Optional.empty();
+            }
+            results.add(changes.get());
+        }
+        final var version = results.stream()
+            .mapToLong(RegisteredServiceChanges::getVersion)
+            .min()
+            .orElse(sinceVersion);
+        final var changed = results.stream()
+            .flatMap(r -> r.getChangedServices().stream())
+            .collect(Collectors.toList());
+        final var ids = results.stream()
+            .flatMap(r -> r.getRegisteredServiceIds().stream())
+            .collect(Collectors.toCollection(HashSet::new));
+        return Optional.of(new RegisteredServiceChanges(version, changed, ids));
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
         return serviceRegistries.stream()
@@ -0,0 +1,317 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link CompiledRegisteredServiceIndex}. It compiles an ordered collection of
+ * registered services into a structure that is able to quickly narrow down the set of
+ * definitions that could possibly match a given service identifier, without changing
+ * the result of evaluating definitions in their natural (evaluation) order.
+ * <p>
+ * Every definition is assigned the position it holds in the sorted collection and is then
+ * placed into exactly one of the following buckets:
+ * <ul>
+ * <li>Exact matches, for regular expressions that are plain literals, keyed by their lower-cased value.</li>
+ * <li>A trie of literal prefixes, for regular expressions that begin with a literal sequence (i.e. scheme, host and path).</li>
+ * <li>A set of combined alternation patterns, for true regular expressions that have no usable literal prefix.</li>
+ * <li>A list of definitions that must always be evaluated, for everything else.</li>
+ * </ul>
+ * Candidates collected from all buckets are returned in evaluation order and are still
+ * subject to {@link RegisteredService#matches(String)}; the index only ever removes definitions
+ * that can not possibly match. The index is immutable once built.
+ * <p>
+ * Regex-based definitions are matched case-insensitively by {@link RegexUtils#createPattern(String)},
+ * which only folds US-ASCII characters. The index does the same and stops prefix extraction at the
+ * first non-ASCII character.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class CompiledRegisteredServiceIndex {
+
+    private static final int MAX_ALTERNATION_GROUP_SIZE = 64;
+
+    private static final String REGEX_META_CHARACTERS = ".[]{}()*+?|^$";
+
+    private static final int[] EMPTY_POSITIONS = new int[0];
+
+    private final RegisteredService[] services;
+
+    private final Map<String, int[]> exactMatches = new HashMap<>();
+
+    private final PrefixNode prefixes = new PrefixNode();
+
+    private final List<AlternationGroup> alternations = new ArrayList<>();
+
+    private final int[] unindexed;
+
+    public CompiledRegisteredServiceIndex(final Collection<RegisteredService> orderedServices) {
+        this.services = orderedServices.toArray(new RegisteredService[0]);
+
+        final Map<String, List<Integer>> exact = new HashMap<>();
+        final List<Integer> others = new ArrayList<>();
+        final List<Integer> pendingRegex = new ArrayList<>();
+
+        for (var i = 0; i < services.length; i++) {
+            final var service = services[i];
+            if (!isIndexableRegexService(service)) {
+                others.add(i);
+                continue;
+            }
+            final var pattern = service.getServiceId();
+            final var literal = extractLiteral(pattern);
+            if (literal == null) {
+                if (isCombinable(pattern)) {
+                    pendingRegex.add(i);
+                } else {
+                    others.add(i);
+                }
+            } else if (literal.isExact()) {
+                exact.computeIfAbsent(literal.getValue(), k -> new ArrayList<>()).add(i);
+            } else if (literal.getValue().isEmpty()) {
+                if (isCombinable(pattern)) {
+                    pendingRegex.add(i);
+                } else {
+                    others.add(i);
+                }
+            } else {
+                this.prefixes.insert(literal.getValue(), i);
+            }
+        }
+
+        exact.forEach((k, v) -> this.exactMatches.put(k, toArray(v)));
+        this.unindexed = toArray(others);
+        for (var i = 0; i < pendingRegex.size(); i += MAX_ALTERNATION_GROUP_SIZE) {
+            final var group = pendingRegex.subList(i, Math.min(pendingRegex.size(), i + MAX_ALTERNATION_GROUP_SIZE));
+            this.alternations.add(new AlternationGroup(group));
+        }
+        LOGGER.debug("Compiled [{}] service definition(s) into [{}] exact match(es), [{}] alternation group(s) and [{}] unindexed definition(s)",
+            services.length, exactMatches.size(), alternations.size(), unindexed.length);
+    }
+
+    /**
+     * Gets candidate services that could match the given service id, in evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    public List<RegisteredService> getCandidates(final String serviceId) {
+        if (StringUtils.isBlank(serviceId) || services.length == 0) {
+            return new ArrayList<>(0);
+        }
+        final var key = toLowerCaseAscii(serviceId);
+        final var positions = new PositionCollector(unindexed);
+        positions.addAll(exactMatches.getOrDefault(key, EMPTY_POSITIONS));
+        this.prefixes.collect(key, positions);
+        this.alternations
+            .stream()
+            .filter(group -> group.getPattern().matcher(serviceId).matches())
+            .forEach(group -> positions.addAll(group.getPositions()));
+        return Arrays.stream(positions.toSortedArray())
+            .mapToObj(i -> services[i])
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Size of the index.
+     *
+     * @return the number of indexed services
+     */
+    public int size() {
+        return services.length;
+    }
+
+    private static boolean isIndexableRegexService(final RegisteredService service) {
+        if (!(service instanceof RegexRegisteredService) || StringUtils.isBlank(service.getServiceId())) {
+            return false;
+        }
+        try {
+            final var method = service.getClass().getMethod("matches", String.class);
+            return method.getDeclaringClass().equals(RegexRegisteredService.class);
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Patterns that carry back-references or named groups cannot be safely rewritten
+     * into a combined alternation and must be evaluated on their own. Invalid patterns
+     * never match anything and are left to the service itself to report.
+     */
+    private static boolean isCombinable(final String pattern) {
+        return RegexUtils.isValidRegex(pattern)
+            && !RegexUtils.find("\\\\[1-9k]|\\(\\?<[a-zA-Z]", pattern);
+    }
+
+    /**
+     * Extract the literal portion at the beginning of the pattern.
+     *
+     * @param pattern the pattern
+     * @return the literal, or null if the pattern cannot be reasoned about.
+     */
+    private static LiteralPrefix extractLiteral(final String pattern) {
+        if (!RegexUtils.isValidRegex(pattern) || hasTopLevelAlternation(pattern)) {
+            return null;
+        }
+        final var builder = new StringBuilder();
+        var index = pattern.charAt(0) == '^' ? 1 : 0;
+        while (index < pattern.length()) {
+            final var c = pattern.charAt(index);
+            final char literal;
+            final int next;
+            if (c == '\\') {
+                if (index + 1 >= pattern.length()) {
+                    return new LiteralPrefix(builder.toString(), false);
+                }
+                final var escaped = pattern.charAt(index + 1);
+                if (Character.isLetterOrDigit(escaped) || escaped > 127) {
+                    return new LiteralPrefix(builder.toString(), false);
+                }
+                literal = escaped;
+                next = index + 2;
+            } else if (c == '$' && index == pattern.length() - 1) {
+                return new LiteralPrefix(builder.toString(), true);
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0 || c > 127) {
+                return new LiteralPrefix(builder.toString(), false);
+            } else {
+                literal = c;
+                next = index + 1;
+            }
+            if (next < pattern.length() && "?*{".indexOf(pattern.charAt(next)) >= 0) {
+                return new LiteralPrefix(builder.toString(), false);
+            }
+            builder.append(toLowerCaseAscii(literal));
+            index = next;
+        }
+        return new LiteralPrefix(builder.toString(), true);
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        var depth = 0;
+        var inCharClass = false;
+        for (var i = 0; i < pattern.length(); i++) {
+            final var c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inCharClass) {
+                if (c == ']') {
+                    inCharClass = false;
+                }
+            } else if (c == '[') {
+                inCharClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toLowerCaseAscii(final String value) {
+        final var chars = value.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            chars[i] = toLowerCaseAscii(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char toLowerCaseAscii(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Getter
+    private static class LiteralPrefix {
+        private final String value;
+        private final boolean exact;
+
+        LiteralPrefix(final String value, final boolean exact) {
+            this.value = value;
+            this.exact = exact;
+        }
+    }
+
+    @Getter
+    private class AlternationGroup {
+        private final int[] positions;
+        private final Pattern pattern;
+
+        AlternationGroup(final List<Integer> group) {
+            this.positions = toArray(group);
+            final var regex = group.stream()
+                .map(i -> "(?:" + services[i].getServiceId() + ')')
+                .collect(Collectors.joining("|"));
+            this.pattern = RegexUtils.createPattern(regex);
+        }
+    }
+
+    private static class PrefixNode {
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+        private int[] positions = EMPTY_POSITIONS;
+
+        void insert(final String prefix, final int position) {
+            var node = this;
+            for (var i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), k -> new PrefixNode());
+            }
+            node.positions = Arrays.copyOf(node.positions, node.positions.length + 1);
+            node.positions[node.positions.length - 1] = position;
+        }
+
+        void collect(final String key, final PositionCollector collector) {
+            var node = this;
+            for (var i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null) {
+                    collector.addAll(node.positions);
+                }
+            }
+        }
+    }
+
+    private static class PositionCollector {
+        private int[] values;
+        private int size;
+
+        PositionCollector(final int[] initial) {
+            this.values = Arrays.copyOf(initial, Math.max(initial.length, 8));
+            this.size = initial.length;
+        }
+
+        void addAll(final int[] positions) {
+            if (positions.length == 0) {
+                return;
+            }
+            if (size + positions.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + positions.length));
+            }
+            System.arraycopy(positions, 0, values, size, positions.length);
+            size += positions.length;
+        }
+
+        int[] toSortedArray() {
+            final var result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
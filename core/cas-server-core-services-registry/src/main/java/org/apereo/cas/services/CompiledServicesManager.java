@@ -0,0 +1,43 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Implementation of the {@link ServicesManager} interface that compiles all service definitions
+ * into a {@link CompiledRegisteredServiceIndex} in order to avoid evaluating every definition
+ * in sequence for each lookup. The index is rebuilt whenever definitions are loaded, saved or deleted,
+ * once per batch of changes.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class CompiledServicesManager extends AbstractServicesManager {
+    private static final long serialVersionUID = 4826483197354263218L;
+
+    private transient volatile CompiledRegisteredServiceIndex index = new CompiledRegisteredServiceIndex(new ArrayList<>(0));
+
+    public CompiledServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher) {
+        super(serviceRegistry, eventPublisher);
+    }
+
+    public CompiledServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                   final long lookupCacheSize) {
+        super(serviceRegistry, eventPublisher, lookupCacheSize);
+    }
+
+    @Override
+    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        return this.index.getCandidates(serviceId);
+    }
+
+    @Override
+    protected void updateInternal(final RegisteredServicesSnapshot servicesSnapshot) {
+        this.index = new CompiledRegisteredServiceIndex(servicesSnapshot.getOrderedServices());
+        LOGGER.debug("Compiled service matching index for [{}] with [{}] service definition(s)", servicesSnapshot, this.index.size());
+    }
+}
@@ -4,8 +4,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collection;
-import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
@@ -17,29 +15,17 @@ import java.util.concurrent.ConcurrentSkipListSet;
 public class DefaultServicesManager extends AbstractServicesManager {
     private static final long serialVersionUID = -8581398063126547772L;
 
-    private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
-
     public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher) {
         super(serviceRegistry, eventPublisher);
     }
 
-    @Override
-    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return this.orderedServices;
-    }
-
-    @Override
-    protected void deleteInternal(final RegisteredService service) {
-        this.orderedServices.remove(service);
+    public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                  final long lookupCacheSize) {
+        super(serviceRegistry, eventPublisher, lookupCacheSize);
     }
 
     @Override
-    protected void saveInternal(final RegisteredService service) {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
-    }
-
-    @Override
-    protected void loadInternal() {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        return getSnapshot().getOrderedServices();
     }
 }
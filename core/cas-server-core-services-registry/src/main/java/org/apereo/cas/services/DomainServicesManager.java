@@ -7,10 +7,10 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -29,7 +29,7 @@ public class DomainServicesManager extends AbstractServicesManager {
 
     private static final String DEFAULT_DOMAIN_NAME = "default";
 
-    private final Map<String, TreeSet<RegisteredService>> domains = new ConcurrentHashMap<>();
+    private volatile Map<String, List<RegisteredService>> domains = new HashMap<>(0);
 
     /**
      * This regular expression is used to strip the domain form the serviceId that is set in
@@ -42,10 +42,9 @@ public class DomainServicesManager extends AbstractServicesManager {
         super(serviceRegistry, eventPublisher);
     }
 
-    @Override
-    protected void deleteInternal(final RegisteredService service) {
-        final var domain = extractDomain(service.getServiceId());
-        this.domains.get(domain).remove(service);
+    public DomainServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                 final long lookupCacheSize) {
+        super(serviceRegistry, eventPublisher, lookupCacheSize);
     }
 
     @Override
@@ -53,10 +52,11 @@ public class DomainServicesManager extends AbstractServicesManager {
         final var mappedDomain = StringUtils.isNotBlank(serviceId) ? extractDomain(serviceId) : StringUtils.EMPTY;
         LOGGER.debug("Domain mapped to the service identifier is [{}]", mappedDomain);
 
-        final var domain = domains.containsKey(mappedDomain) ? mappedDomain : DEFAULT_DOMAIN_NAME;
+        final var currentDomains = this.domains;
+        final var domain = currentDomains.containsKey(mappedDomain) ? mappedDomain : DEFAULT_DOMAIN_NAME;
         LOGGER.debug("Looking up services under domain [{}] for service identifier [{}]", domain, serviceId);
 
-        final var registeredServices = getServicesForDomain(domain);
+        final var registeredServices = currentDomains.get(domain);
         if (registeredServices == null || registeredServices.isEmpty()) {
             LOGGER.debug("No services could be located for domain [{}]", domain);
             return new ArrayList<>(0);
@@ -64,17 +64,18 @@ public class DomainServicesManager extends AbstractServicesManager {
         return registeredServices;
     }
 
+    /**
+     * Domains are derived from the snapshot once per load or batch of changes,
+     * and put in place at once, so that lookups continue to work off of the previous domains.
+     */
     @Override
-    protected void saveInternal(final RegisteredService service) {
-        addToDomain(service, this.domains);
-    }
-
-    @Override
-    protected void loadInternal() {
-        final Map<String, TreeSet<RegisteredService>> localDomains = new ConcurrentHashMap<>();
-        getAllServices().forEach(r -> addToDomain(r, localDomains));
-        this.domains.clear();
-        this.domains.putAll(localDomains);
+    protected void updateInternal(final RegisteredServicesSnapshot servicesSnapshot) {
+        final Map<String, List<RegisteredService>> localDomains = servicesSnapshot.getOrderedServices()
+            .stream()
+            .collect(Collectors.groupingBy(r -> extractDomain(r.getServiceId()), HashMap::new,
+                Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList)));
+        this.domains = localDomains;
+        LOGGER.debug("Mapped [{}] service(s) to [{}] domain(s)", servicesSnapshot.size(), localDomains.size());
     }
 
     @Override
@@ -84,7 +85,7 @@ public class DomainServicesManager extends AbstractServicesManager {
 
     @Override
     public Collection<RegisteredService> getServicesForDomain(final String domain) {
-        return this.domains.containsKey(domain) ? this.domains.get(domain) : new ArrayList<>();
+        return this.domains.getOrDefault(domain, new ArrayList<>(0));
     }
 
 
@@ -98,17 +99,4 @@ public class DomainServicesManager extends AbstractServicesManager {
         final var match = domainPattern.matcher(StringUtils.remove(domain, "\\"));
         return match.matches() ? domain : "default";
     }
-
-    private void addToDomain(final RegisteredService r, final Map<String, TreeSet<RegisteredService>> map) {
-        final var domain = extractDomain(r.getServiceId());
-        final TreeSet<RegisteredService> services;
-        if (map.containsKey(domain)) {
-            services = map.get(domain);
-        } else {
-            services = new TreeSet<>();
-        }
-        LOGGER.debug("Added service [{}] mapped to domain definition [{}]", r, domain);
-        services.add(r);
-        map.put(domain, services);
-    }
 }
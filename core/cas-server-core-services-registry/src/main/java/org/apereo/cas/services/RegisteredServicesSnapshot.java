@@ -0,0 +1,167 @@
+package org.apereo.cas.services;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServicesSnapshot} that represents an immutable, versioned view
+ * of the service catalog managed by a {@link ServicesManager}. Readers may access a snapshot
+ * without any locking; changes produce a new snapshot instance, so that a batch of changes
+ * only ever requires a single copy of the catalog.
+ * <p>
+ * The ordered view of the catalog only carries services that passed the filter supplied
+ * at the time they were added, and is sorted and initialized once per change. Indexes of the
+ * ordered view by lookup key or by type are built on first use and kept for the lifetime of the snapshot.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Getter
+@ToString(of = "version")
+public class RegisteredServicesSnapshot {
+
+    private final long version;
+
+    private final Map<Long, RegisteredService> services;
+
+    private final List<RegisteredService> orderedServices;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<RegisteredServiceLookupKey<?>, Map<String, List<RegisteredService>>> lookupIndexes = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, CompiledRegisteredServiceIndex> typeIndexes = new ConcurrentHashMap<>();
+
+    private RegisteredServicesSnapshot(final long version, final Map<Long, RegisteredService> services,
+                                       final List<RegisteredService> orderedServices) {
+        this.version = version;
+        this.services = Collections.unmodifiableMap(services);
+        this.orderedServices = Collections.unmodifiableList(orderedServices);
+    }
+
+    /**
+     * Empty snapshot.
+     *
+     * @return the snapshot
+     */
+    public static RegisteredServicesSnapshot empty() {
+        return new RegisteredServicesSnapshot(0, new HashMap<>(0), new ArrayList<>(0));
+    }
+
+    /**
+     * Build a new snapshot that replaces the current catalog with the given services.
+     *
+     * @param registeredServices the registered services
+     * @param filter             the filter to determine services that are ordered/matched
+     * @return the snapshot
+     */
+    public RegisteredServicesSnapshot replaceWith(final Collection<RegisteredService> registeredServices,
+                                                  final Predicate<RegisteredService> filter) {
+        final Map<Long, RegisteredService> map = new HashMap<>(registeredServices.size());
+        registeredServices.forEach(r -> map.put(r.getId(), r));
+        final var ordered = map.values()
+            .stream()
+            .filter(filter)
+            .sorted()
+            .peek(RegisteredService::initialize)
+            .collect(Collectors.toList());
+        return new RegisteredServicesSnapshot(this.version + 1, map, ordered);
+    }
+
+    /**
+     * Build a new snapshot that carries the given saved services,
+     * replacing any previous definitions with the same identifiers.
+     *
+     * @param saved  the saved services
+     * @param filter the filter to determine services that are ordered/matched
+     * @return the snapshot
+     */
+    public RegisteredServicesSnapshot withSaved(final Collection<RegisteredService> saved,
+                                                final Predicate<RegisteredService> filter) {
+        final Map<Long, RegisteredService> map = new HashMap<>(this.services);
+        saved.forEach(r -> map.put(r.getId(), r));
+        final var ids = saved.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+        final List<RegisteredService> ordered = this.orderedServices
+            .stream()
+            .filter(r -> !ids.contains(r.getId()))
+            .collect(Collectors.toCollection(ArrayList::new));
+        saved.stream()
+            .filter(r -> map.get(r.getId()) == r)
+            .filter(filter)
+            .peek(RegisteredService::initialize)
+            .forEach(ordered::add);
+        Collections.sort(ordered);
+        return new RegisteredServicesSnapshot(this.version + 1, map, ordered);
+    }
+
+    /**
+     * Build a new snapshot that no longer carries the given deleted services.
+     *
+     * @param deleted the deleted services
+     * @return the snapshot
+     */
+    public RegisteredServicesSnapshot withDeleted(final Collection<RegisteredService> deleted) {
+        final Map<Long, RegisteredService> map = new HashMap<>(this.services);
+        final var ids = deleted.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+        ids.forEach(map::remove);
+        final var ordered = this.orderedServices
+            .stream()
+            .filter(r -> !ids.contains(r.getId()))
+            .collect(Collectors.toList());
+        return new RegisteredServicesSnapshot(this.version + 1, map, ordered);
+    }
+
+    /**
+     * Size of the catalog.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.services.size();
+    }
+
+    /**
+     * Gets ordered services whose value for the lookup key equals the given value.
+     *
+     * @param key   the lookup key
+     * @param value the value of the key
+     * @return the services, in evaluation order
+     */
+    public List<RegisteredService> getOrderedServicesByKey(final RegisteredServiceLookupKey<?> key, final String value) {
+        final var index = this.lookupIndexes.computeIfAbsent(key, k -> {
+            final Map<String, List<RegisteredService>> map = new HashMap<>();
+            this.orderedServices.forEach(r -> {
+                final var keyValue = k.getKey(r);
+                if (keyValue != null) {
+                    map.computeIfAbsent(keyValue, v -> new ArrayList<>(1)).add(r);
+                }
+            });
+            return map;
+        });
+        return index.getOrDefault(value, Collections.emptyList());
+    }
+
+    /**
+     * Gets the compiled matching index of ordered services of the given type.
+     *
+     * @param type the type of services
+     * @return the compiled index
+     */
+    public CompiledRegisteredServiceIndex getOrderedServicesIndexOfType(final Class<? extends RegisteredService> type) {
+        return this.typeIndexes.computeIfAbsent(type, t -> new CompiledRegisteredServiceIndex(this.orderedServices
+            .stream()
+            .filter(t::isInstance)
+            .collect(Collectors.toList())));
+    }
+}
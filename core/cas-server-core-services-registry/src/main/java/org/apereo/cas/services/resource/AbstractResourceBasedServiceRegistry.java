@@ -1,5 +1,7 @@
 package org.apereo.cas.services.resource;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -8,12 +10,13 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apereo.cas.services.AbstractServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceChanges;
 import org.apereo.cas.services.ResourceBasedServiceRegistry;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
-import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
@@ -29,13 +32,19 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -69,6 +78,11 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     private Map<Long, RegisteredService> serviceMap = new ConcurrentHashMap<>();
 
+    /**
+     * Map of service definition file to the identifiers of services loaded from it.
+     */
+    private Map<File, Set<Long>> resourceServiceIds = new HashMap<>();
+
     /**
      * The Registered service json serializers.
      */
@@ -82,6 +96,21 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private RegisteredServiceResourceNamingStrategy resourceNamingStrategy;
 
+    /**
+     * Services parsed from each definition file, along with the file attributes at the time,
+     * so that files that have not changed are not parsed again.
+     */
+    private final Map<Path, ParsedResource> parsedResources = new ConcurrentHashMap<>();
+
+    /**
+     * Number of threads that parse definition files in parallel when the registry is loaded.
+     */
+    @Getter
+    @Setter
+    private int loadParallelism = 4;
+
+    private ForkJoinPool loadPool;
+
     public AbstractResourceBasedServiceRegistry(final Resource configDirectory,
                                                 final Collection<StringSerializer<RegisteredService>> serializers,
                                                 final ApplicationEventPublisher eventPublisher) throws Exception {
@@ -190,6 +219,9 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         if (this.serviceRegistryConfigWatcher != null) {
             this.serviceRegistryConfigWatcher.close();
         }
+        if (this.loadPool != null) {
+            this.loadPool.shutdownNow();
+        }
     }
 
     @Override
@@ -215,6 +247,7 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
         final var f = getRegisteredServiceFileName(service);
         publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
+        this.parsedResources.remove(f.toPath());
         final var result = f.exists() ? f.delete() : true;
         if (!result) {
             LOGGER.warn("Failed to delete service definition file [{}]", f.getCanonicalPath());
@@ -236,13 +269,22 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         this.serviceMap.remove(service.getId());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Definition files are parsed in parallel, and files that have not changed since they were last
+     * parsed are not parsed again. A single event is published for all loaded services.
+     */
     @Override
     public synchronized List<RegisteredService> load() {
         final var files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), new String[]{getExtension()}, true);
-        this.serviceMap = files
+        final var loaded = loadFiles(files);
+        final var paths = files.stream().map(File::toPath).collect(Collectors.toSet());
+        this.parsedResources.keySet().retainAll(paths);
+        this.resourceServiceIds = new HashMap<>(loaded.size());
+        loaded.forEach((file, services) -> this.resourceServiceIds.put(file, getRegisteredServiceIds(services)));
+        this.serviceMap = loaded.values()
             .stream()
-            .map(this::load)
-            .filter(Objects::nonNull)
             .flatMap(Collection::stream)
             .sorted()
             .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
@@ -250,10 +292,136 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         final List<RegisteredService> services = new ArrayList<>(this.serviceMap.values());
         final var results =
             this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(services, this);
-        results.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service)));
+        LOGGER.debug("Loaded [{}] service(s) from [{}] definition file(s)", results.size(), files.size());
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, results));
         return results;
     }
 
+    private Map<File, Collection<RegisteredService>> loadFiles(final Collection<File> files) {
+        if (this.loadParallelism <= 1 || files.size() <= 1) {
+            return files.stream().collect(Collectors.toMap(Function.identity(), this::loadIfChanged));
+        }
+        try {
+            return getLoadPool()
+                .submit(() -> files.parallelStream().collect(Collectors.toConcurrentMap(Function.identity(), this::loadIfChanged)))
+                .get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading service definitions was interrupted", e);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to load service definitions in parallel: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return files.stream().collect(Collectors.toMap(Function.identity(), this::loadIfChanged));
+        }
+    }
+
+    private ForkJoinPool getLoadPool() {
+        if (this.loadPool == null) {
+            this.loadPool = new ForkJoinPool(this.loadParallelism);
+        }
+        return this.loadPool;
+    }
+
+    private Collection<RegisteredService> loadIfChanged(final File file) {
+        final var path = file.toPath();
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            LOGGER.debug("Unable to read attributes of [{}]: [{}]", file, e.getMessage());
+            this.parsedResources.remove(path);
+            return ObjectUtils.defaultIfNull(load(file), new ArrayList<>(0));
+        }
+        final var parsed = this.parsedResources.get(path);
+        if (parsed != null && parsed.isUnchanged(attributes)) {
+            LOGGER.trace("Service definition file [{}] is unchanged since it was last parsed", file);
+            return parsed.services;
+        }
+        final var services = ObjectUtils.defaultIfNull(load(file), new ArrayList<RegisteredService>(0));
+        this.parsedResources.put(path, new ParsedResource(attributes.lastModifiedTime().toMillis(), attributes.size(), services));
+        return services;
+    }
+
+    private boolean isChanged(final File file) {
+        final var parsed = this.parsedResources.get(file.toPath());
+        if (parsed == null) {
+            return true;
+        }
+        try {
+            return !parsed.isUnchanged(Files.readAttributes(file.toPath(), BasicFileAttributes.class));
+        } catch (final IOException e) {
+            LOGGER.debug("Unable to read attributes of [{}]: [{}]", file, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only definition files that are new or whose modification time or size differ from when they
+     * were last parsed are parsed again; services that belong to files that no longer exist are removed.
+     * Files are compared with what was parsed rather than with the given version, so that files copied
+     * into the directory with their original modification time preserved are not missed. Changes cannot be determined
+     * when services are replicated across nodes, since the replication strategy requires the full collection.
+     */
+    @Override
+    public synchronized Optional<RegisteredServiceChanges> loadChanges(final long sinceVersion) {
+        if (!(this.registeredServiceReplicationStrategy instanceof NoOpRegisteredServiceReplicationStrategy)) {
+            return Optional.empty();
+        }
+        final var version = getNextChangesVersion();
+        final var files = new HashSet<>(FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), new String[]{getExtension()}, true));
+
+        final var removedFiles = new HashSet<>(this.resourceServiceIds.keySet());
+        removedFiles.removeAll(files);
+        removedFiles.forEach(file -> {
+            LOGGER.debug("Service definition file [{}] is removed", file);
+            this.parsedResources.remove(file.toPath());
+            this.resourceServiceIds.remove(file).forEach(this.serviceMap::remove);
+        });
+
+        final List<RegisteredService> changed = new ArrayList<>();
+        files.stream()
+            .filter(file -> !this.resourceServiceIds.containsKey(file) || isChanged(file))
+            .forEach(file -> {
+                final var services = loadIfChanged(file);
+                final var ids = getRegisteredServiceIds(services);
+                final var previousIds = this.resourceServiceIds.put(file, ids);
+                if (previousIds != null) {
+                    previousIds.stream().filter(id -> !ids.contains(id)).forEach(this.serviceMap::remove);
+                }
+                services.forEach(service -> this.serviceMap.put(service.getId(), service));
+                changed.addAll(services);
+            });
+        LOGGER.debug("Found [{}] changed service definition(s) and [{}] removed file(s)", changed.size(), removedFiles.size());
+        if (!changed.isEmpty()) {
+            publishEvent(new CasRegisteredServicesLoadedEvent(this, changed));
+        }
+        return Optional.of(new RegisteredServiceChanges(version, changed, new HashSet<>(this.serviceMap.keySet())));
+    }
+
+    private static class ParsedResource {
+        private final long lastModified;
+
+        private final long size;
+
+        private final Collection<RegisteredService> services;
+
+        ParsedResource(final long lastModified, final long size, final Collection<RegisteredService> services) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.services = services;
+        }
+
+        boolean isUnchanged(final BasicFileAttributes attributes) {
+            return this.lastModified == attributes.lastModifiedTime().toMillis() && this.size == attributes.size();
+        }
+    }
+
+    private static Set<Long> getRegisteredServiceIds(final Collection<RegisteredService> services) {
+        return services.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+    }
+
     /**
      * Load registered service from file.
      *
@@ -303,6 +471,7 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
             service.setId(System.currentTimeMillis());
         }
         final var f = getRegisteredServiceFileName(service);
+        this.parsedResources.remove(f.toPath());
         try (var out = Files.newOutputStream(f.toPath())) {
             final var result = this.registeredServiceSerializers.stream().anyMatch(s -> {
                 try {
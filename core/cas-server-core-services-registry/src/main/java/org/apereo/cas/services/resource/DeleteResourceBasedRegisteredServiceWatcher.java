@@ -3,7 +3,6 @@ package org.apereo.cas.services.resource;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
-import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
 
 import java.io.File;
 
@@ -32,8 +31,7 @@ public class DeleteResourceBasedRegisteredServiceWatcher extends BaseResourceBas
             serviceRegistryDao.publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         } else {
             LOGGER.warn("Unable to locate a matching service definition from file [{}]. Reloading cache...", file);
-            final var results = serviceRegistryDao.load();
-            serviceRegistryDao.publishEvent(new CasRegisteredServicesLoadedEvent(this, results));
+            serviceRegistryDao.load();
         }
     }
 }
@@ -0,0 +1,107 @@
+package org.apereo.cas.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ServicesManagerBenchmark} that compares service lookups
+ * across the available {@link ServicesManager} implementations.
+ * Run via the {@code jmh} task of the module, or the {@link #main(String[])} method from the benchmark classpath.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicesManagerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int numberOfServices;
+
+    @Param({"default", "domain", "compiled"})
+    private String managementType;
+
+    private ServicesManager servicesManager;
+
+    private String[] serviceIds;
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ServicesManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<RegisteredService> services = new ArrayList<>(numberOfServices + 1);
+        for (var i = 0; i < numberOfServices; i++) {
+            final var r = new RegexRegisteredService();
+            r.setId(i);
+            r.setName("Service-" + i);
+            r.setEvaluationOrder(i);
+            switch (i % 3) {
+                case 0:
+                    r.setServiceId("https://app" + i + "\\.example\\.org/cas/callback");
+                    break;
+                case 1:
+                    r.setServiceId("^https://app" + i + "\\.example\\.org/.*");
+                    break;
+                default:
+                    r.setServiceId("^https?://(www\\.)?site" + i + "\\.example\\.(org|edu)/.*");
+                    break;
+            }
+            services.add(r);
+        }
+        final var fallback = new RegexRegisteredService();
+        fallback.setId(Integer.MAX_VALUE);
+        fallback.setName("Fallback");
+        fallback.setServiceId("^https?://.*");
+        fallback.setEvaluationOrder(Integer.MAX_VALUE);
+        services.add(fallback);
+
+        final var registry = new InMemoryServiceRegistry(services);
+        switch (managementType) {
+            case "domain":
+                this.servicesManager = new DomainServicesManager(registry, null);
+                break;
+            case "compiled":
+                this.servicesManager = new CompiledServicesManager(registry, null);
+                break;
+            default:
+                this.servicesManager = new DefaultServicesManager(registry, null);
+                break;
+        }
+        this.servicesManager.load();
+
+        this.serviceIds = new String[]{
+            "https://app0.example.org/cas/callback",
+            "https://app" + (numberOfServices / 2 - numberOfServices / 2 % 3 + 1) + ".example.org/some/path",
+            "https://www.site" + (numberOfServices - numberOfServices % 3 - 1) + ".example.edu/login",
+            "https://unknown.example.net/app"
+        };
+    }
+
+    @Benchmark
+    public RegisteredService findServiceBy() {
+        return servicesManager.findServiceBy(serviceIds[ThreadLocalRandom.current().nextInt(serviceIds.length)]);
+    }
+}
@@ -17,6 +17,7 @@ import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.authentication.principal.WebApplicationServiceResponseBuilder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ChainingServiceRegistry;
+import org.apereo.cas.services.CompiledServicesManager;
 import org.apereo.cas.services.DefaultServiceRegistryExecutionPlan;
 import org.apereo.cas.services.DefaultServicesManager;
 import org.apereo.cas.services.DomainServicesManager;
@@ -122,15 +123,19 @@ public class CasCoreServicesConfiguration {
     @Bean
     @RefreshScope
     public ServicesManager servicesManager() {
+        final var cacheSize = casProperties.getServiceRegistry().getLookupCacheSize();
         switch (casProperties.getServiceRegistry().getManagementType()) {
             case DOMAIN:
                 LOGGER.debug("Managing CAS service definitions via domains");
-                return new DomainServicesManager(serviceRegistry(), eventPublisher);
+                return new DomainServicesManager(serviceRegistry(), eventPublisher, cacheSize);
+            case COMPILED:
+                LOGGER.debug("Managing CAS service definitions via a compiled index");
+                return new CompiledServicesManager(serviceRegistry(), eventPublisher, cacheSize);
             case DEFAULT:
             default:
                 break;
         }
-        return new DefaultServicesManager(serviceRegistry(), eventPublisher);
+        return new DefaultServicesManager(serviceRegistry(), eventPublisher, cacheSize);
     }
 
     @Bean
@@ -14,6 +14,8 @@ import org.springframework.core.io.ClassPathResource;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * This is {@link AbstractResourceBasedServiceRegistryTests}.
  *
@@ -47,6 +49,40 @@ public abstract class AbstractResourceBasedServiceRegistryTests extends Abstract
         this.dao.save(r);
     }
 
+    @Test
+    public void verifyLoadChanges() {
+        final var version = System.currentTimeMillis() - AbstractServiceRegistry.CHANGES_OVERLAP_MILLIS;
+        this.dao.load();
+        final var r = buildRegisteredServiceInstance(RandomUtils.nextInt());
+        this.dao.save(r);
+
+        var changes = this.dao.loadChanges(version).get();
+        assertTrue(changes.getChangedServices().stream().anyMatch(s -> s.getId() == r.getId()));
+        assertTrue(changes.getRegisteredServiceIds().contains(r.getId()));
+
+        this.dao.delete(r);
+        changes = this.dao.loadChanges(changes.getVersion()).get();
+        assertFalse(changes.getRegisteredServiceIds().contains(r.getId()));
+    }
+
+    @Test
+    public void verifyUnchangedDefinitionsAreNotParsedAgain() {
+        final var r = buildRegisteredServiceInstance(RandomUtils.nextInt());
+        this.dao.save(r);
+        final var loaded = findLoadedService(r.getId());
+        assertSame(loaded, findLoadedService(r.getId()));
+
+        r.setDescription("Updated description for " + r.getName());
+        this.dao.save(r);
+        final var updated = findLoadedService(r.getId());
+        assertNotSame(loaded, updated);
+        assertEquals(r.getDescription(), updated.getDescription());
+    }
+
+    private RegisteredService findLoadedService(final long id) {
+        return this.dao.load().stream().filter(s -> s.getId() == id).findFirst().orElseThrow();
+    }
+
     @Override
     public ServiceRegistry getNewServiceRegistry() {
         return this.dao;
@@ -1,12 +1,14 @@
 package org.apereo.cas.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.CollectionUtils;
 import org.junit.Test;
 import org.junit.Before;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -60,4 +62,125 @@ public abstract class AbstractServicesManagerTests {
         this.servicesManager.save(r);
         assertNotNull(this.servicesManager.findServiceBy(1000));
     }
+
+    @Test
+    public void verifySaveAndDeleteInBatches() {
+        final List<RegisteredService> services = new ArrayList<>();
+        for (var i = 0; i < 10; i++) {
+            final var r = new RegexRegisteredService();
+            r.setId(5000 + i);
+            r.setName("batch" + i);
+            r.setServiceId("https://batch" + i + ".example.org");
+            services.add(r);
+        }
+        assertEquals(services.size(), this.servicesManager.saveAll(services).size());
+        assertEquals(listOfDefaultServices.size() + services.size(), this.servicesManager.count());
+        assertNotNull(this.servicesManager.findServiceBy("https://batch5.example.org"));
+
+        assertEquals(services.size(), this.servicesManager.deleteAll(services).size());
+        assertEquals(listOfDefaultServices.size(), this.servicesManager.count());
+        assertNull(this.servicesManager.findServiceBy("https://batch5.example.org"));
+    }
+
+    @Test
+    public void verifySaveReplacesPreviousDefinition() {
+        final var r = new RegexRegisteredService();
+        r.setId(4000);
+        r.setName("edited");
+        r.setServiceId("https://before.example.org");
+        this.servicesManager.save(r);
+        assertSame(r, this.servicesManager.findServiceBy("https://before.example.org"));
+
+        final var moved = new RegexRegisteredService();
+        moved.setId(4000);
+        moved.setName("edited");
+        moved.setServiceId("https://after.example.org");
+        this.servicesManager.saveAll(CollectionUtils.wrapList(moved));
+        assertNull(this.servicesManager.findServiceBy("https://before.example.org"));
+        assertSame(moved, this.servicesManager.findServiceBy("https://after.example.org"));
+
+        final var described = new RegexRegisteredService();
+        described.setId(4000);
+        described.setName("edited");
+        described.setServiceId("https://after.example.org");
+        described.setDescription("edited description");
+        this.servicesManager.saveAll(CollectionUtils.wrapList(described));
+        assertSame(described, this.servicesManager.findServiceBy("https://after.example.org"));
+        assertEquals(listOfDefaultServices.size() + 1, this.servicesManager.count());
+    }
+
+    @Test
+    public void verifyLookupCacheInvalidatedOnSave() {
+        assertNull(this.servicesManager.findServiceBy("https://cached.example.org"));
+        assertNull(this.servicesManager.findServiceBy("https://cached.example.org"));
+        assertEquals(1L, this.servicesManager.getLookupStatistics().get("hitCount"));
+
+        final var r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName("cached");
+        r.setServiceId("https://cached.example.org");
+        this.servicesManager.save(r);
+        assertNotNull(this.servicesManager.findServiceBy("https://cached.example.org"));
+
+        this.servicesManager.delete(r);
+        assertNull(this.servicesManager.findServiceBy("https://cached.example.org"));
+    }
+
+    @Test
+    public void verifySynchronizeAppliesChanges() {
+        final var r = new RegexRegisteredService();
+        r.setId(6000);
+        r.setName("sync");
+        r.setServiceId("https://sync.example.org");
+
+        this.serviceRegistry = mock(ServiceRegistry.class);
+        when(this.serviceRegistry.load()).thenReturn(new ArrayList<>(listOfDefaultServices));
+        this.servicesManager = getServicesManagerInstance();
+        this.servicesManager.load();
+
+        when(this.serviceRegistry.loadChanges(anyLong()))
+            .thenReturn(Optional.of(new RegisteredServiceChanges(1, CollectionUtils.wrapList(r), CollectionUtils.wrapSet(2500L, 6000L))));
+        this.servicesManager.synchronize();
+        assertEquals(2, this.servicesManager.count());
+        assertNotNull(this.servicesManager.findServiceBy("https://sync.example.org"));
+
+        when(this.serviceRegistry.loadChanges(anyLong()))
+            .thenReturn(Optional.of(new RegisteredServiceChanges(2, new ArrayList<>(0), CollectionUtils.wrapSet(6000L))));
+        this.servicesManager.synchronize();
+        assertEquals(1, this.servicesManager.count());
+        assertNull(this.servicesManager.findServiceBy(2500));
+        verify(this.serviceRegistry, times(1)).load();
+    }
+
+    @Test
+    public void verifyFindServiceByLookupKeyAndType() {
+        final var key = new RegisteredServiceLookupKey<>("name", TypedRegexRegisteredService.class, RegexRegisteredService::getName);
+
+        final var plain = new RegexRegisteredService();
+        plain.setId(7000);
+        plain.setName("typed");
+        plain.setServiceId("https://typed.example.org/.*");
+        plain.setEvaluationOrder(1);
+
+        final var typed = new TypedRegexRegisteredService();
+        typed.setId(7001);
+        typed.setName("typed");
+        typed.setServiceId("https://typed.example.org/.*");
+        typed.setEvaluationOrder(2);
+        this.servicesManager.saveAll(CollectionUtils.wrapList(plain, typed));
+
+        assertSame(typed, this.servicesManager.findServiceBy(key, "typed"));
+        assertNull(this.servicesManager.findServiceBy(key, "unknown"));
+        assertSame(plain, this.servicesManager.findServiceBy("https://typed.example.org/callback"));
+        assertSame(typed, this.servicesManager.findMatchingServiceOfType("https://typed.example.org/callback", TypedRegexRegisteredService.class));
+        assertNull(this.servicesManager.findMatchingServiceOfType("https://other.example.org", TypedRegexRegisteredService.class));
+
+        this.servicesManager.delete(typed);
+        assertNull(this.servicesManager.findServiceBy(key, "typed"));
+        assertNull(this.servicesManager.findMatchingServiceOfType("https://typed.example.org/callback", TypedRegexRegisteredService.class));
+    }
+
+    private static class TypedRegexRegisteredService extends RegexRegisteredService {
+        private static final long serialVersionUID = -3214927653142084713L;
+    }
 }
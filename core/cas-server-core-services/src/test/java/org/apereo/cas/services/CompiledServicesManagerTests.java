@@ -0,0 +1,62 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CompiledServicesManagerTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class CompiledServicesManagerTests extends AbstractServicesManagerTests {
+
+    @Override
+    protected ServicesManager getServicesManagerInstance() {
+        return new CompiledServicesManager(serviceRegistry, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    public void verifyEvaluationOrderIsPreserved() {
+        servicesManager.save(newService(100, "^https://app.example.org/.*", 10));
+        servicesManager.save(newService(101, "https://app\\.example\\.org/callback", 5));
+        servicesManager.save(newService(102, "^https?://.*", 1));
+        servicesManager.save(newService(103, ".*", 1000));
+
+        assertEquals(102, servicesManager.findServiceBy("https://app.example.org/callback").getId());
+        servicesManager.delete(102);
+        assertEquals(101, servicesManager.findServiceBy("https://app.example.org/callback").getId());
+        assertEquals(101, servicesManager.findServiceBy("HTTPS://APP.EXAMPLE.ORG/CALLBACK").getId());
+        assertEquals(100, servicesManager.findServiceBy("https://app.example.org/other").getId());
+        assertEquals(103, servicesManager.findServiceBy("ftp://unknown.example.org").getId());
+    }
+
+    @Test
+    public void verifyPrefixWithOptionalCharacter() {
+        servicesManager.save(newService(200, "^https?://secure.example.org/.+", 1));
+        assertEquals(200, servicesManager.findServiceBy("http://secure.example.org/app").getId());
+        assertEquals(200, servicesManager.findServiceBy("https://secure.example.org/app").getId());
+        assertNull(servicesManager.findServiceBy("https://insecure.example.org/app"));
+    }
+
+    @Test
+    public void verifyTopLevelAlternation() {
+        servicesManager.save(newService(300, "^https://one.example.org/.*|^https://two.example.org/.*", 1));
+        assertEquals(300, servicesManager.findServiceBy("https://two.example.org/app").getId());
+        assertNull(servicesManager.findServiceBy("https://three.example.org/app"));
+    }
+
+    private static RegisteredService newService(final long id, final String serviceId, final int order) {
+        final var r = new RegexRegisteredService();
+        r.setId(id);
+        r.setName("service" + id);
+        r.setServiceId(serviceId);
+        r.setEvaluationOrder(order);
+        return r;
+    }
+}
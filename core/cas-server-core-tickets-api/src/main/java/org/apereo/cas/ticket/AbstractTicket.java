@@ -96,6 +96,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The time, in milliseconds, at which ticket registries that look up expired tickets natively
+     * are to examine this ticket for expiration.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    @JsonIgnore
+    @Getter
+    private Long expirationTime;
+
 
     public AbstractTicket(@NonNull final String id, @NonNull final ExpirationPolicy expirationPolicy) {
         this.id = id;
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -17,13 +18,16 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
 import javax.persistence.Table;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Concrete implementation of a TicketGrantingTicket. A TicketGrantingTicket is
@@ -36,7 +40,9 @@ import java.util.List;
  * @since 3.0.0
  */
 @Entity
-@Table(name = "TICKETGRANTINGTICKET")
+@Table(name = "TICKETGRANTINGTICKET", indexes = {
+    @Index(name = "IDX_TGT_PRINCIPAL_ID", columnList = "PRINCIPAL_ID"),
+    @Index(name = "IDX_TGT_EXPIRATION_TIME", columnList = "EXPIRATION_TIME")})
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(TicketGrantingTicket.PREFIX)
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -57,7 +63,16 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Lob
     @Column(name = "AUTHENTICATION", nullable = false, length = Integer.MAX_VALUE)
     private Authentication authentication;
-    
+
+    /**
+     * The id of the authenticated principal, recorded separately and in lower case so that tickets may be queried by principal
+     * ignoring case.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Column(name = "PRINCIPAL_ID", length = 1024)
+    private String principalId;
+
     /**
      * Service that produced a proxy-granting ticket.
      */
@@ -112,9 +127,27 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         }
         this.ticketGrantingTicket = parentTicketGrantingTicket;
         this.authentication = authentication;
+        this.principalId = getPrincipalIdOf(authentication);
         this.proxiedBy = proxiedBy;
     }
 
+    /**
+     * Record the principal id of a ticket that was stored before principal ids were recorded separately.
+     * The recorded id is written back to the database once the loading transaction completes.
+     */
+    @PostLoad
+    protected void recordPrincipalIdIfMissing() {
+        if (this.principalId == null && this.authentication != null) {
+            this.principalId = getPrincipalIdOf(this.authentication);
+        }
+    }
+
+    private static String getPrincipalIdOf(final Authentication authentication) {
+        return authentication.getPrincipal() != null
+            ? StringUtils.lowerCase(authentication.getPrincipal().getId(), Locale.ROOT)
+            : null;
+    }
+
     /**
      * Constructs a new TicketGrantingTicket without a parent
      * TicketGrantingTicket.
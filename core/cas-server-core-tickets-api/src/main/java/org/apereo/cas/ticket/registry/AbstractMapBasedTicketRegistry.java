@@ -5,13 +5,34 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
+ * <p>
+ * Alongside the map of tickets, the registry maintains counters for ticket-granting
+ * and service tickets as well as an index of principals to their ticket-granting tickets,
+ * so that session counts and per-principal queries do not require scanning every ticket.
+ * Expected expiration times are kept in a {@link TicketExpirationIndex} so that expired tickets
+ * can be located in proportion to their number.
+ * Tickets are indexed within the same {@link Map#compute(Object, java.util.function.BiFunction)} call
+ * that stores them, so that a concurrent removal cannot run between the two and leave behind stale
+ * index entries; the map must therefore be a concurrent map that computes atomically.
+ * Implementations whose map may drop entries on its own (i.e. by way of eviction) must
+ * report such removals via {@link #onTicketRemoved(String, Ticket)}.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -20,6 +41,22 @@ import java.util.Map;
 @NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    private final TicketExpirationIndex expirationIndex = new TicketExpirationIndex();
+
+    private final LongAdder ticketGrantingTicketCount = new LongAdder();
+
+    private final LongAdder serviceTicketCount = new LongAdder();
+
+    /**
+     * Map of (encoded) ticket-granting ticket ids to the id of the principal they belong to.
+     */
+    private final Map<String, String> ticketGrantingTicketPrincipals = new ConcurrentHashMap<>();
+
+    /**
+     * Map of principal ids, in lower case, to the (encoded) ids of their ticket-granting tickets.
+     */
+    private final Map<String, Set<String>> principalTicketGrantingTickets = new ConcurrentHashMap<>();
+
     /**
      * Creates a new, empty registry with the cipher.
      *
@@ -33,7 +70,15 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public void addTicket(@NonNull final Ticket ticket) {
         final var encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
+        getMapInstance().compute(encTicket.getId(), (key, previous) -> {
+            if (previous == null) {
+                onTicketAdded(key, ticket);
+            }
+            final var now = System.currentTimeMillis();
+            final var expirationTime = ticket.isExpired() ? now : TicketExpirationIndex.getExpirationTime(ticket, now);
+            this.expirationIndex.schedule(key, expirationTime);
+            return encTicket;
+        });
     }
 
     @Override
@@ -51,7 +96,7 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         final var result = decodeTicket(found);
         if (result != null && result.isExpired()) {
             LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", result.getId());
-            getMapInstance().remove(encTicketId);
+            removeTicket(encTicketId);
             return null;
         }
         return result;
@@ -63,13 +108,18 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        return removeTicket(encTicketId);
     }
 
     @Override
     public long deleteAll() {
         final var size = getMapInstance().size();
         getMapInstance().clear();
+        this.expirationIndex.clear();
+        this.ticketGrantingTicketPrincipals.clear();
+        this.principalTicketGrantingTickets.clear();
+        this.ticketGrantingTicketCount.reset();
+        this.serviceTicketCount.reset();
         return size;
     }
 
@@ -84,9 +134,137 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return ticket;
     }
 
+    @Override
+    public long sessionCount() {
+        return this.ticketGrantingTicketCount.sum();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.serviceTicketCount.sum();
+    }
+
+    @Override
+    public Stream<TicketGrantingTicket> getTicketGrantingTicketsForPrincipal(final String principalId) {
+        final var ids = this.principalTicketGrantingTickets.get(StringUtils.lowerCase(principalId, Locale.ROOT));
+        if (ids == null) {
+            return Stream.empty();
+        }
+        return ids.stream()
+            .map(getMapInstance()::get)
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only tickets whose expected expiration time has passed are examined. Tickets that turn out
+     * to be still valid are scheduled to be examined again, and expired tickets remain scheduled
+     * until they are removed from the registry in case they fail to be cleaned.
+     */
+    @Override
+    public Collection<Ticket> getExpiredTickets(final int limit) {
+        final var now = System.currentTimeMillis();
+        final List<Ticket> expired = new ArrayList<>();
+        var keys = this.expirationIndex.poll(now, limit);
+        while (!keys.isEmpty()) {
+            keys.forEach(key -> {
+                final var found = getMapInstance().get(key);
+                if (found == null) {
+                    return;
+                }
+                final var ticket = decodeTicket(found);
+                if (ticket == null) {
+                    return;
+                }
+                if (ticket.isExpired()) {
+                    expired.add(ticket);
+                }
+                this.expirationIndex.schedule(key, TicketExpirationIndex.getNextExaminationTime(ticket, now));
+            });
+            keys = expired.size() < limit ? this.expirationIndex.poll(now, limit - expired.size()) : new ArrayList<>(0);
+        }
+        LOGGER.debug("Located [{}] expired ticket(s) out of [{}] scheduled for expiration", expired.size(), this.expirationIndex.size());
+        return expired;
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTicketsStream(final int pageSize) {
+        return getExpiredTicketsInPages(pageSize);
+    }
+
+    /**
+     * Record a ticket that is newly added to the map.
+     *
+     * @param key    the key of the ticket in the map
+     * @param ticket the ticket, as it was before encoding
+     */
+    protected void onTicketAdded(final String key, final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            this.ticketGrantingTicketCount.increment();
+            final var principalId = getPrincipalId((TicketGrantingTicket) ticket);
+            if (principalId != null) {
+                this.ticketGrantingTicketPrincipals.put(key, principalId);
+                this.principalTicketGrantingTickets.compute(principalId, (id, ids) -> {
+                    final var result = ids == null ? ConcurrentHashMap.<String>newKeySet() : ids;
+                    result.add(key);
+                    return result;
+                });
+            }
+        } else if (ticket instanceof ServiceTicket) {
+            this.serviceTicketCount.increment();
+        }
+    }
+
+    /**
+     * Record a ticket that is removed from the map.
+     *
+     * @param key    the key of the ticket in the map
+     * @param ticket the ticket, as it was stored in the map
+     */
+    protected void onTicketRemoved(final String key, final Ticket ticket) {
+        this.expirationIndex.remove(key);
+        final var principalId = this.ticketGrantingTicketPrincipals.remove(key);
+        if (principalId != null) {
+            this.ticketGrantingTicketCount.decrement();
+            this.principalTicketGrantingTickets.computeIfPresent(principalId, (id, ids) -> {
+                ids.remove(key);
+                return ids.isEmpty() ? null : ids;
+            });
+            return;
+        }
+        final var decoded = decodeTicket(ticket);
+        if (decoded instanceof TicketGrantingTicket) {
+            this.ticketGrantingTicketCount.decrement();
+        } else if (decoded instanceof ServiceTicket) {
+            this.serviceTicketCount.decrement();
+        }
+    }
+
+    private boolean removeTicket(final String key) {
+        final var removed = getMapInstance().remove(key);
+        if (removed != null) {
+            onTicketRemoved(key, removed);
+            return true;
+        }
+        return false;
+    }
+
+    private static String getPrincipalId(final TicketGrantingTicket ticket) {
+        final var authentication = ticket.getAuthentication();
+        if (authentication == null || authentication.getPrincipal() == null) {
+            return null;
+        }
+        return StringUtils.lowerCase(authentication.getPrincipal().getId(), Locale.ROOT);
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
-     * and always be the same instance.
+     * and always be the same instance. The map must compute its entries atomically,
+     * as does a {@link ConcurrentHashMap}.
      *
      * @return the map
      */
@@ -10,11 +10,13 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.serialization.KryoTicketCodec;
+import org.apereo.cas.ticket.serialization.TicketCodec;
 import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -42,6 +44,11 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * The codec that turns ticket objects into bytes prior to encryption.
+     */
+    protected TicketCodec ticketCodec = new KryoTicketCodec();
+
     /**
      * @return specified ticket from the registry
      * @throws IllegalArgumentException if class is null.
@@ -60,6 +67,20 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return (T) ticket;
     }
 
+    /**
+     * Stream expired tickets a page at a time, for registries that locate expired tickets natively
+     * via {@link #getExpiredTickets(int)}. A page is requested once the previous page is consumed,
+     * and the stream ends with the first empty page. Implementations must not return the same ticket
+     * again in subsequent pages, whether or not it is removed in between.
+     *
+     * @param pageSize the page size
+     * @return the expired tickets
+     */
+    protected Stream<Ticket> getExpiredTicketsInPages(final int pageSize) {
+        return Stream.iterate(getExpiredTickets(pageSize), page -> !page.isEmpty(), page -> getExpiredTickets(pageSize))
+            .flatMap(Collection::stream);
+    }
+
     @Override
     public long sessionCount() {
         try {
@@ -195,6 +216,17 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return encodedId;
     }
 
+    /**
+     * Encode the principal id under which ticket-granting tickets are indexed.
+     * Principal ids are indexed in lower case, so that tickets are looked up by principal ignoring case.
+     *
+     * @param principalId the principal id
+     * @return the encoded principal id
+     */
+    protected String encodePrincipalId(final String principalId) {
+        return encodeTicketId(StringUtils.lowerCase(principalId, Locale.ROOT));
+    }
+
     /**
      * Encode ticket.
      *
@@ -212,7 +244,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        final var encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        final var encodedTicketObject = (byte[]) this.cipherExecutor.encode(this.ticketCodec.encode(ticket));
         final var encodedTicketId = encodeTicketId(ticket.getId());
         final Ticket encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
@@ -241,7 +273,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         final var encodedTicket = (EncodedTicket) result;
-        final var ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        final var decoded = (byte[]) this.cipherExecutor.decode(encodedTicket.getEncodedTicket());
+        final var ticket = this.ticketCodec.decode(decoded);
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -1,6 +1,5 @@
 package org.apereo.cas.ticket.registry;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.Ticket;
@@ -9,6 +8,7 @@ import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.time.Duration;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
@@ -18,13 +18,39 @@ import java.io.Serializable;
  */
 @Transactional(transactionManager = "ticketTransactionManager")
 @Slf4j
-@RequiredArgsConstructor
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable {
+    /**
+     * Default number of expired tickets removed between checks on the progress of a run.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    /**
+     * Default amount of time a single run of the cleaner may spend removing tickets.
+     */
+    public static final Duration DEFAULT_MAX_RUN_DURATION = Duration.ofSeconds(30);
+
     private static final long serialVersionUID = -8581398063126547772L;
 
     private final transient LockingStrategy lockingStrategy;
     private final transient LogoutManager logoutManager;
     private final transient TicketRegistry ticketRegistry;
+    private final int batchSize;
+    private final Duration maxRunDuration;
+
+    public DefaultTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry) {
+        this(lockingStrategy, logoutManager, ticketRegistry, DEFAULT_BATCH_SIZE, DEFAULT_MAX_RUN_DURATION);
+    }
+
+    public DefaultTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry, final int batchSize,
+                                        final Duration maxRunDuration) {
+        this.lockingStrategy = lockingStrategy;
+        this.logoutManager = logoutManager;
+        this.ticketRegistry = ticketRegistry;
+        this.batchSize = batchSize;
+        this.maxRunDuration = maxRunDuration;
+    }
 
     @Override
     public void clean() {
@@ -51,13 +77,34 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     }
 
     /**
-     * Clean tickets.
+     * Clean tickets. Expired tickets are streamed from the registry once and removed as they are found.
+     * Every batch of tickets, the cleaner stops if the run has taken its allotted time, or if none of the tickets
+     * in the batch could be removed. Remaining tickets are left for the next run.
      */
     protected void cleanInternal() {
-        final var ticketsDeleted = ticketRegistry.getTicketsStream()
-            .filter(Ticket::isExpired)
-            .mapToInt(this::cleanTicket)
-            .sum();
+        final var deadline = System.nanoTime() + this.maxRunDuration.toNanos();
+        var ticketsExamined = 0;
+        var ticketsDeleted = 0;
+        var ticketsDeletedBeforeBatch = 0;
+        try (var expired = ticketRegistry.getExpiredTicketsStream(this.batchSize)) {
+            final var tickets = expired.iterator();
+            while (tickets.hasNext()) {
+                ticketsDeleted += cleanTicket(tickets.next());
+                if (++ticketsExamined % this.batchSize != 0) {
+                    continue;
+                }
+                if (ticketsDeleted == ticketsDeletedBeforeBatch) {
+                    LOGGER.warn("None of the last [{}] expired tickets could be removed; remaining expired tickets are left for the next run",
+                        this.batchSize);
+                    break;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    LOGGER.info("Ticket cleanup has taken longer than [{}]; remaining expired tickets are left for the next run", this.maxRunDuration);
+                    break;
+                }
+                ticketsDeletedBeforeBatch = ticketsDeleted;
+            }
+        }
         LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
     }
 
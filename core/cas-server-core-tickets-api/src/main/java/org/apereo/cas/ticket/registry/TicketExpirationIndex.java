@@ -0,0 +1,175 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * This is {@link TicketExpirationIndex} that keeps track of the time at which tickets
+ * are expected to expire, so that expired tickets can be located without examining every ticket.
+ * Tickets are grouped into buckets of one second, ordered by time.
+ * <p>
+ * The expected expiration time is derived from the ticket's expiration policy, assuming that the time-to-live
+ * is measured from creation and the time-to-idle from last use, and is meant to never be later than the actual
+ * expiration time. Tickets that are found to be still valid once their time comes are simply rescheduled.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class TicketExpirationIndex {
+
+    /**
+     * Delay after which tickets whose expected expiration time has passed are examined again.
+     */
+    public static final long RECHECK_DELAY_MILLIS = 60_000;
+
+    private static final long MILLIS_PER_BUCKET = 1_000;
+
+    private final NavigableMap<Long, Set<String>> buckets = new TreeMap<>();
+
+    private final Map<String, Long> scheduledBuckets = new HashMap<>();
+
+    /**
+     * Calculate the earliest time at which the ticket is expected to expire.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in milliseconds
+     * @return the expiration time in milliseconds
+     */
+    public static long getExpirationTime(final Ticket ticket, final long now) {
+        final var policy = ticket.getExpirationPolicy();
+        final var creationTime = ticket.getCreationTime();
+        if (policy == null || creationTime == null) {
+            return now;
+        }
+        final var lastTimeUsed = ticket instanceof TicketState && ((TicketState) ticket).getLastTimeUsed() != null
+            ? ((TicketState) ticket).getLastTimeUsed()
+            : creationTime;
+
+        var expirationTime = Long.MAX_VALUE;
+        final var timeToLive = policy.getTimeToLive();
+        if (timeToLive != null && timeToLive > 0) {
+            expirationTime = Math.min(expirationTime, plusSeconds(creationTime, timeToLive));
+        }
+        final var timeToIdle = policy.getTimeToIdle();
+        if (timeToIdle != null && timeToIdle > 0) {
+            expirationTime = Math.min(expirationTime, plusSeconds(lastTimeUsed, timeToIdle));
+        }
+        return expirationTime == Long.MAX_VALUE ? now : expirationTime;
+    }
+
+    /**
+     * Calculate the time at which a ticket whose expected expiration time has passed is to be examined again.
+     * Tickets that turn out to be still valid are examined once they are expected to expire, and expired tickets
+     * are examined again in case they fail to be removed.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in milliseconds
+     * @return the time in milliseconds
+     */
+    public static long getNextExaminationTime(final Ticket ticket, final long now) {
+        if (ticket.isExpired()) {
+            return now + RECHECK_DELAY_MILLIS;
+        }
+        return Math.max(getExpirationTime(ticket, now), now + RECHECK_DELAY_MILLIS);
+    }
+
+    private static long plusSeconds(final ZonedDateTime time, final long seconds) {
+        final var millis = time.toInstant().toEpochMilli();
+        if (seconds >= (Long.MAX_VALUE - millis) / 1000) {
+            return Long.MAX_VALUE - 1;
+        }
+        return millis + seconds * 1000;
+    }
+
+    /**
+     * Schedule the key to be examined at the given time, replacing any previous schedule.
+     *
+     * @param key            the key
+     * @param expirationTime the expiration time in milliseconds
+     */
+    public synchronized void schedule(final String key, final long expirationTime) {
+        final long bucket = expirationTime / MILLIS_PER_BUCKET;
+        final var previous = this.scheduledBuckets.put(key, bucket);
+        if (previous != null) {
+            if (previous == bucket) {
+                return;
+            }
+            removeFromBucket(previous, key);
+        }
+        this.buckets.computeIfAbsent(bucket, b -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * Remove the key from the index.
+     *
+     * @param key the key
+     */
+    public synchronized void remove(final String key) {
+        final var previous = this.scheduledBuckets.remove(key);
+        if (previous != null) {
+            removeFromBucket(previous, key);
+        }
+    }
+
+    /**
+     * Remove and return keys whose time has come, in order of time.
+     *
+     * @param now   the current time in milliseconds
+     * @param limit the maximum number of keys to return
+     * @return the keys
+     */
+    public synchronized List<String> poll(final long now, final int limit) {
+        final List<String> keys = new ArrayList<>();
+        final var entries = this.buckets.headMap(now / MILLIS_PER_BUCKET, true).entrySet().iterator();
+        while (entries.hasNext() && keys.size() < limit) {
+            final var bucketKeys = entries.next().getValue().iterator();
+            while (bucketKeys.hasNext() && keys.size() < limit) {
+                final var key = bucketKeys.next();
+                bucketKeys.remove();
+                this.scheduledBuckets.remove(key);
+                keys.add(key);
+            }
+            if (!bucketKeys.hasNext()) {
+                entries.remove();
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Remove all keys from the index.
+     */
+    public synchronized void clear() {
+        this.buckets.clear();
+        this.scheduledBuckets.clear();
+    }
+
+    /**
+     * Number of keys in the index.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return this.scheduledBuckets.size();
+    }
+
+    private void removeFromBucket(final long bucket, final String key) {
+        final var keys = this.buckets.get(bucket);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                this.buckets.remove(bucket);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.apereo.cas.ticket.serialization;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This is {@link BaseTicketCodec} that prefixes encoded tickets with a small header
+ * carrying the format of the payload and whether it is compressed. Payloads that carry no header
+ * and instead begin with the Java serialization stream magic are treated as tickets
+ * that were previously serialized natively and are deserialized as such, so that
+ * existing entries remain readable once the codec is switched.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public abstract class BaseTicketCodec implements TicketCodec {
+
+    private static final byte[] HEADER_MAGIC = new byte[]{(byte) 0xCA, (byte) 0x57};
+
+    private static final byte[] JAVA_SERIALIZATION_MAGIC = new byte[]{(byte) 0xAC, (byte) 0xED};
+
+    private static final int HEADER_LENGTH = HEADER_MAGIC.length + 2;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    /**
+     * Whether payloads should be compressed.
+     */
+    private final boolean compress;
+
+    /**
+     * Payloads smaller than this number of bytes are never compressed.
+     */
+    private final int compressionThreshold;
+
+    protected BaseTicketCodec(final boolean compress, final int compressionThreshold) {
+        this.compress = compress;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        var payload = serialize(ticket);
+        byte flags = 0;
+        if (this.compress && payload.length >= this.compressionThreshold) {
+            final var compressed = compress(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_COMPRESSED;
+            }
+        }
+        final var result = new byte[HEADER_LENGTH + payload.length];
+        System.arraycopy(HEADER_MAGIC, 0, result, 0, HEADER_MAGIC.length);
+        result[HEADER_MAGIC.length] = getFormat();
+        result[HEADER_MAGIC.length + 1] = flags;
+        System.arraycopy(payload, 0, result, HEADER_LENGTH, payload.length);
+        return result;
+    }
+
+    @Override
+    public Ticket decode(final byte[] data) {
+        if (startsWith(data, JAVA_SERIALIZATION_MAGIC)) {
+            LOGGER.trace("Decoding natively serialized ticket of [{}] bytes", data.length);
+            return SerializationUtils.deserialize(data, Ticket.class);
+        }
+        if (data.length < HEADER_LENGTH || !startsWith(data, HEADER_MAGIC)) {
+            throw new IllegalArgumentException("Unable to decode ticket with unrecognized header");
+        }
+        final var format = data[HEADER_MAGIC.length];
+        if (format != getFormat()) {
+            throw new IllegalArgumentException("Unable to decode ticket with format " + format + " using " + getClass().getSimpleName());
+        }
+        var payload = Arrays.copyOfRange(data, HEADER_LENGTH, data.length);
+        if ((data[HEADER_MAGIC.length + 1] & FLAG_COMPRESSED) != 0) {
+            payload = decompress(payload);
+        }
+        return deserialize(payload);
+    }
+
+    /**
+     * Format of the payload, recorded in the header. Implementations
+     * must use a different value whenever their payload is not compatible.
+     *
+     * @return the format
+     */
+    protected abstract byte getFormat();
+
+    /**
+     * Serialize ticket.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    protected abstract byte[] serialize(Ticket ticket);
+
+    /**
+     * Deserialize ticket.
+     *
+     * @param payload the payload
+     * @return the ticket
+     */
+    protected abstract Ticket deserialize(byte[] payload);
+
+    @SneakyThrows
+    private static byte[] compress(final byte[] payload) {
+        final var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            final var output = new ByteArrayOutputStream(payload.length);
+            try (var stream = new DeflaterOutputStream(output, deflater)) {
+                stream.write(payload);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @SneakyThrows
+    private static byte[] decompress(final byte[] payload) {
+        try (var stream = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private static boolean startsWith(final byte[] data, final byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (var i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
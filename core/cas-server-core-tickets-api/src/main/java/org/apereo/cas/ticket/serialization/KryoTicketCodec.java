@@ -0,0 +1,59 @@
+package org.apereo.cas.ticket.serialization;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.kryo.CasKryoPool;
+
+import java.util.ArrayList;
+
+/**
+ * This is {@link KryoTicketCodec} that serializes tickets using pooled {@link com.esotericsoftware.kryo.Kryo} instances.
+ * CAS classes are registered with Kryo in a deterministic sequence so that tickets encoded
+ * by one CAS node can be decoded by all others; classes that are not registered are written
+ * along with their name.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class KryoTicketCodec extends BaseTicketCodec {
+
+    private static final byte FORMAT = 1;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 2048;
+
+    private final CasKryoPool kryoPool;
+
+    public KryoTicketCodec(final boolean compress, final int compressionThreshold) {
+        super(compress, compressionThreshold);
+        this.kryoPool = new CasKryoPool(new ArrayList<>(), false, false, true, true);
+    }
+
+    public KryoTicketCodec() {
+        this(true, DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    @Override
+    protected byte getFormat() {
+        return FORMAT;
+    }
+
+    @Override
+    protected byte[] serialize(final Ticket ticket) {
+        try (var kryo = this.kryoPool.borrow();
+             var output = new Output(BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, ticket);
+            return output.toBytes();
+        }
+    }
+
+    @Override
+    protected Ticket deserialize(final byte[] payload) {
+        try (var kryo = this.kryoPool.borrow();
+             var input = new Input(payload)) {
+            return (Ticket) kryo.readClassAndObject(input);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketCodec} that turns tickets into bytes and back,
+ * typically before tickets are encrypted and handed over to a ticket registry.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public interface TicketCodec {
+
+    /**
+     * Encode ticket into bytes.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] encode(Ticket ticket);
+
+    /**
+     * Decode bytes into a ticket.
+     *
+     * @param data the data
+     * @return the ticket
+     */
+    Ticket decode(byte[] data);
+}
@@ -1,4 +1,4 @@
-package org.apereo.cas.memcached.kryo;
+package org.apereo.cas.ticket.serialization.kryo;
 
 import com.esotericsoftware.kryo.util.Pool;
 import lombok.SneakyThrows;
@@ -1,4 +1,4 @@
-package org.apereo.cas.memcached.kryo.serial;
+package org.apereo.cas.ticket.serialization.kryo.serial;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
@@ -21,13 +21,13 @@ public class ZonedDateTimeSerializer extends Serializer<ZonedDateTime> {
 
     @Override
     public void write(final Kryo kryo, final Output output, final ZonedDateTime dateTime) {
-        LOGGER.trace("Writing date/time [{}] to memcached", dateTime);
+        LOGGER.trace("Writing date/time [{}]", dateTime);
         final var epochMilli = dateTime.toInstant().toEpochMilli();
-        LOGGER.trace("Writing date/time epoch milliseconds [{}] to memcached", epochMilli);
+        LOGGER.trace("Writing date/time epoch milliseconds [{}]", epochMilli);
         kryo.writeObject(output, epochMilli);
 
         final var id = dateTime.getZone().getId();
-        LOGGER.trace("Writing date/time zone id [{}] to memcached", id);
+        LOGGER.trace("Writing date/time zone id [{}]", id);
         kryo.writeObject(output, id);
     }
 
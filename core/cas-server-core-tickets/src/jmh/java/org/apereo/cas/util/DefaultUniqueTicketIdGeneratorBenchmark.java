@@ -0,0 +1,70 @@
+package org.apereo.cas.util;
+
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+import org.apereo.cas.util.gen.DefaultLongNumericGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DefaultUniqueTicketIdGeneratorBenchmark} that measures the throughput of
+ * {@link DefaultUniqueTicketIdGenerator#getNewTicketId(String)} for various numbers of threads
+ * sharing the same generator, with random values taken from a per-thread generator
+ * or from a single native generator.
+ * Run via the {@code jmh} task of the module, or the {@link #main(String[])} method from the benchmark classpath.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultUniqueTicketIdGeneratorBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Param({"thread-local", "native"})
+    private String randomizer;
+
+    private DefaultUniqueTicketIdGenerator generator;
+
+    public static void main(final String[] args) throws Exception {
+        for (final var threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(DefaultUniqueTicketIdGeneratorBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final var random = "native".equals(this.randomizer)
+            ? RandomUtils.getNativeInstance()
+            : RandomUtils.getThreadLocalInstance();
+        this.generator = new DefaultUniqueTicketIdGenerator(new DefaultLongNumericGenerator(1),
+            new Base64RandomStringGenerator(UniqueTicketIdGenerator.TICKET_SIZE, random), null);
+    }
+
+    @Benchmark
+    public String getNewTicketId() {
+        return this.generator.getNewTicketId("ST");
+    }
+}
@@ -23,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
@@ -229,6 +230,28 @@ public abstract class BaseTicketRegistryTests {
         }
     }
 
+    @Test
+    @Transactional
+    public void verifyGetTicketGrantingTicketsForPrincipal() {
+        Assume.assumeTrue(isIterableRegistry());
+        final var tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-principal-1",
+            CoreAuthenticationTestUtils.getAuthentication("principal-casuser"),
+            new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-principal-2",
+            CoreAuthenticationTestUtils.getAuthentication("principal-other"),
+            new NeverExpiresExpirationPolicy()));
+
+        final var tickets = this.ticketRegistry.getTicketGrantingTicketsForPrincipal("principal-casuser").collect(Collectors.toList());
+        assertEquals(1, tickets.size());
+        assertEquals(tgt.getId(), tickets.get(0).getId());
+        assertEquals(0, this.ticketRegistry.getTicketGrantingTicketsForPrincipal("principal-unknown").count());
+        assertEquals(1, this.ticketRegistry.getTicketGrantingTicketsForPrincipal("Principal-CasUser").count());
+
+        this.ticketRegistry.deleteTicket(tgt.getId());
+        assertEquals(0, this.ticketRegistry.getTicketGrantingTicketsForPrincipal("principal-casuser").count());
+    }
+
     @Test
     public void verifyDeleteNullTicket() {
         try {
@@ -4,6 +4,9 @@ import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.stream.Stream;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -27,4 +30,34 @@ public class DefaultTicketRegistryCleanerTests {
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
     }
+
+    @Test
+    public void verifyCleanInBatches() {
+        final var logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        for (var i = 0; i < 25; i++) {
+            final var tgt = new MockTicketGrantingTicket("casuser" + i);
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+        }
+        ticketRegistry.addTicket(new MockTicketGrantingTicket("valid"));
+        assertEquals(26, ticketRegistry.sessionCount());
+        final var c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry, 10, Duration.ofMinutes(1));
+        c.clean();
+        assertEquals(1, ticketRegistry.sessionCount());
+        verify(logoutManager, times(25)).performLogout(any());
+    }
+
+    @Test
+    public void verifyCleanStopsWithoutProgress() {
+        final var logoutManager = mock(LogoutManager.class);
+        final var ticketRegistry = mock(TicketRegistry.class);
+        final var tgt = new MockTicketGrantingTicket("casuser");
+        tgt.markTicketExpired();
+        when(ticketRegistry.getExpiredTicketsStream(anyInt())).thenReturn(Stream.generate(() -> tgt));
+        when(ticketRegistry.deleteTicket(anyString())).thenReturn(0);
+        final var c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry, 10, Duration.ofMinutes(1));
+        c.clean();
+        verify(ticketRegistry, times(10)).deleteTicket(anyString());
+    }
 }
@@ -2,8 +2,14 @@ package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -11,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
 
@@ -47,4 +54,54 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyTicketCountsAndPrincipalIndex() {
+        final var ciphers = Arrays.asList(CipherExecutor.noOp(), CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]"));
+        ciphers.forEach(cipher -> {
+            final var registry = new DefaultTicketRegistry(cipher);
+            final var tgt = new TicketGrantingTicketImpl("TGT-1",
+                CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy());
+            registry.addTicket(tgt);
+            final var st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, false);
+            registry.addTicket(st);
+            registry.updateTicket(tgt);
+
+            assertEquals(1, registry.sessionCount());
+            assertEquals(1, registry.serviceTicketCount());
+            assertEquals(1, registry.getTicketGrantingTicketsForPrincipal("casuser").count());
+            assertEquals(0, registry.getTicketGrantingTicketsForPrincipal("unknown").count());
+
+            assertEquals(2, registry.deleteTicket(tgt.getId()));
+            assertEquals(0, registry.sessionCount());
+            assertEquals(0, registry.serviceTicketCount());
+            assertEquals(0, registry.getTicketGrantingTicketsForPrincipal("casuser").count());
+        });
+    }
+
+    @Test
+    public void verifyPrincipalIndexWithConcurrentRemovals() {
+        final var registry = new DefaultTicketRegistry();
+        final var tgt = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy());
+        final var removals = CompletableFuture.runAsync(() -> {
+            for (var i = 0; i < 10_000; i++) {
+                registry.deleteSingleTicket(tgt.getId());
+            }
+        });
+        for (var i = 0; i < 10_000; i++) {
+            registry.addTicket(tgt);
+        }
+        removals.join();
+        registry.deleteSingleTicket(tgt.getId());
+        assertEquals(0, registry.sessionCount());
+
+        registry.addTicket(new TicketGrantingTicketImpl(tgt.getId(),
+            CoreAuthenticationTestUtils.getAuthentication("other"), new NeverExpiresExpirationPolicy()));
+        assertEquals(1, registry.sessionCount());
+        assertEquals(0, registry.getTicketGrantingTicketsForPrincipal("casuser").count());
+        assertEquals(1, registry.getTicketGrantingTicketsForPrincipal("other").count());
+    }
 }
@@ -0,0 +1,53 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketExpirationIndexTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class TicketExpirationIndexTests {
+
+    @Test
+    public void verifyPollInOrder() {
+        final var index = new TicketExpirationIndex();
+        index.schedule("TGT-3", 3_000);
+        index.schedule("TGT-1", 1_000);
+        index.schedule("TGT-2", 2_000);
+        index.schedule("TGT-4", 10_000);
+        index.schedule("TGT-2", 2_500);
+        assertEquals(4, index.size());
+
+        assertEquals("TGT-1", index.poll(5_000, 1).get(0));
+        final var keys = index.poll(5_000, 10);
+        assertEquals(2, keys.size());
+        assertEquals("TGT-2", keys.get(0));
+        assertEquals("TGT-3", keys.get(1));
+        assertTrue(index.poll(5_000, 10).isEmpty());
+
+        index.remove("TGT-4");
+        assertEquals(0, index.size());
+        assertTrue(index.poll(20_000, 10).isEmpty());
+    }
+
+    @Test
+    public void verifyExpirationTime() {
+        final var hard = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new HardTimeoutExpirationPolicy(100));
+        final var created = hard.getCreationTime().toInstant().toEpochMilli();
+        assertEquals(created + 100_000, TicketExpirationIndex.getExpirationTime(hard, 0));
+
+        final var tgt = new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(),
+            new TicketGrantingTicketExpirationPolicy(1000, 50));
+        final var lastUsed = tgt.getLastTimeUsed().toInstant().toEpochMilli();
+        assertEquals(lastUsed + 50_000, TicketExpirationIndex.getExpirationTime(tgt, 0));
+    }
+}
@@ -0,0 +1,70 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link KryoTicketCodecTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class KryoTicketCodecTests {
+
+    @Test
+    public void verifyEncodeAndDecode() {
+        final var codec = new KryoTicketCodec();
+        final var tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        final var st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+
+        final var decodedTgt = (TicketGrantingTicket) codec.decode(codec.encode(tgt));
+        assertEquals(tgt, decodedTgt);
+        assertEquals(tgt.getAuthentication().getPrincipal(), decodedTgt.getAuthentication().getPrincipal());
+        assertEquals(tgt.getServices().keySet(), decodedTgt.getServices().keySet());
+
+        final var decodedSt = (ServiceTicket) codec.decode(codec.encode(st));
+        assertEquals(st, decodedSt);
+        assertEquals(tgt.getId(), decodedSt.getTicketGrantingTicket().getId());
+    }
+
+    @Test
+    public void verifyCompression() {
+        final var tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        for (var i = 0; i < 50; i++) {
+            tgt.grantServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, false);
+        }
+        final var plain = new KryoTicketCodec(false, 0).encode(tgt);
+        final var compressed = new KryoTicketCodec(true, 0).encode(tgt);
+        assertTrue(compressed.length < plain.length);
+        assertEquals(tgt, new KryoTicketCodec(false, 0).decode(compressed));
+    }
+
+    @Test
+    public void verifyDecodeNativelySerializedTicket() {
+        final var tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        final var serialized = SerializationUtils.serialize(tgt);
+        assertEquals(tgt, new KryoTicketCodec().decode(serialized));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyUnknownHeader() {
+        final var data = new byte[16];
+        Arrays.fill(data, (byte) 1);
+        new KryoTicketCodec().decode(data);
+    }
+}
@@ -0,0 +1,78 @@
+package org.apereo.cas.util.cipher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link BinaryCipherExecutorBenchmark} that measures the throughput of
+ * {@link BaseBinaryCipherExecutor} encoding and decoding, for various payload sizes,
+ * algorithms and numbers of threads sharing the same cipher executor.
+ * Run via the {@code jmh} task of the module, or the {@link #main(String[])} method from the benchmark classpath.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryCipherExecutorBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Param({"1024", "16384"})
+    private int payloadSize;
+
+    @Param({"AES", BaseBinaryCipherExecutor.ALGORITHM_AES_GCM})
+    private String algorithm;
+
+    private BaseBinaryCipherExecutor cipher;
+
+    private byte[] payload;
+
+    private byte[] encoded;
+
+    public static void main(final String[] args) throws Exception {
+        for (final var threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(BinaryCipherExecutorBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.cipher = new DefaultTicketCipherExecutor(null, null, this.algorithm, 512, 16, "benchmark");
+        this.payload = new byte[this.payloadSize];
+        ThreadLocalRandom.current().nextBytes(this.payload);
+        this.encoded = this.cipher.encode(this.payload);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return this.cipher.encode(this.payload);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return this.cipher.decode(this.encoded);
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.util;
 
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.gen.ThreadLocalSecureRandom;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -31,5 +32,18 @@ public class RandomUtils {
             return new SecureRandom();
         }
     }
-    
+
+    /**
+     * Get a SecureRandom instance that is backed by a separate generator for each thread,
+     * and can be shared by many threads without contention.
+     *
+     * @return the thread-local instance
+     */
+    public static SecureRandom getThreadLocalInstance() {
+        return ThreadLocalInstanceHolder.INSTANCE;
+    }
+
+    private static class ThreadLocalInstanceHolder {
+        private static final SecureRandom INSTANCE = new ThreadLocalSecureRandom();
+    }
 }
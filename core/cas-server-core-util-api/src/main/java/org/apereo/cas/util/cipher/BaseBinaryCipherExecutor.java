@@ -1,16 +1,21 @@
 package org.apereo.cas.util.cipher;
 
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.RandomUtils;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.OctJwkGenerator;
 
 import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -20,7 +25,12 @@ import lombok.Setter;
  * <p>
  * A implementation that is based on algorithms
  * provided by the default platform's JCE. By default AES encryption is
- * used.
+ * used, and encrypted values are signed separately. If the secret key algorithm
+ * is set to {@value #ALGORITHM_AES_GCM}, values are instead encrypted using AES in
+ * Galois/Counter mode whose authentication tag replaces the separate signature.
+ * <p>
+ * {@link Cipher} instances are not thread-safe; each thread is given its own instance,
+ * which is initialized once and reused across calls where the mode of operation allows.
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -30,6 +40,19 @@ import lombok.Setter;
 @Setter
 public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
 
+    /**
+     * Secret key algorithm that activates authenticated encryption using AES-GCM.
+     */
+    public static final String ALGORITHM_AES_GCM = "AES/GCM/NoPadding";
+
+    private static final String ALGORITHM_AES = "AES";
+
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final int GCM_TAG_LENGTH_BITS = 128;
+
+    private static final SecureRandom RANDOM = RandomUtils.getThreadLocalInstance();
+
     /**
      * Name of the cipher/component whose keys are generated here.
      */
@@ -44,7 +67,9 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
 
     private final SecretKeySpec encryptionKey;
 
-    private final Cipher aesCipher;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<CipherContext> cipherContext = new ThreadLocal<>();
 
     /**
      * Instantiates a new cryptic ticket cipher executor.
@@ -61,25 +86,91 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         this.cipherName = cipherName;
         ensureSigningKeyExists(signingSecretKey, signingKeySize);
         ensureEncryptionKeyExists(encryptionSecretKey, encryptionKeySize);
-        this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-        this.aesCipher = Cipher.getInstance("AES");
+        this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, ALGORITHM_AES);
     }
 
     @Override
     @SneakyThrows
     public byte[] encode(final byte[] value, final Object[] parameters) {
-        this.aesCipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
-        final var result = this.aesCipher.doFinal(value);
-        return sign(result);
+        if (isAuthenticatedEncryption()) {
+            final var iv = new byte[GCM_IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            final var cipher = getCipher(ALGORITHM_AES_GCM);
+            cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
+            final var result = new byte[GCM_IV_LENGTH + cipher.getOutputSize(value.length)];
+            System.arraycopy(iv, 0, result, 0, GCM_IV_LENGTH);
+            cipher.doFinal(value, 0, value.length, result, GCM_IV_LENGTH);
+            return result;
+        }
+        final var cipher = getInitializedCipher(Cipher.ENCRYPT_MODE);
+        return sign(doFinal(cipher, value));
     }
 
     @Override
     @SneakyThrows
     public byte[] decode(final byte[] value, final Object[] parameters) {
+        if (isAuthenticatedEncryption()) {
+            if (value.length < GCM_IV_LENGTH) {
+                throw new IllegalArgumentException("Encrypted value is too short to carry an initialization vector");
+            }
+            final var cipher = getCipher(ALGORITHM_AES_GCM);
+            cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, value, 0, GCM_IV_LENGTH));
+            return cipher.doFinal(value, GCM_IV_LENGTH, value.length - GCM_IV_LENGTH);
+        }
         final var verifiedValue = verifySignature(value);
-        this.aesCipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
-        final var bytePlainText = aesCipher.doFinal(verifiedValue);
-        return bytePlainText;
+        final var cipher = getInitializedCipher(Cipher.DECRYPT_MODE);
+        return doFinal(cipher, verifiedValue);
+    }
+
+    /**
+     * Whether values are encrypted and authenticated using AES-GCM,
+     * rather than encrypted and signed separately.
+     *
+     * @return true/false
+     */
+    protected boolean isAuthenticatedEncryption() {
+        return ALGORITHM_AES_GCM.equalsIgnoreCase(this.secretKeyAlgorithm);
+    }
+
+    /**
+     * Gets the cipher instance of the current thread for the given transformation,
+     * creating one if necessary.
+     */
+    @SneakyThrows
+    private Cipher getCipher(final String transformation) {
+        var context = this.cipherContext.get();
+        if (context == null || !context.transformation.equals(transformation)) {
+            context = new CipherContext(transformation, Cipher.getInstance(transformation));
+            this.cipherContext.set(context);
+        }
+        return context.cipher;
+    }
+
+    /**
+     * Gets the cipher instance of the current thread, initialized in the given mode. Since the cipher
+     * returns to its initialized state once an operation completes, it is only initialized again
+     * when the mode changes.
+     */
+    @SneakyThrows
+    private Cipher getInitializedCipher(final int mode) {
+        final var cipher = getCipher(ALGORITHM_AES);
+        final var context = this.cipherContext.get();
+        if (context.mode != mode) {
+            context.mode = -1;
+            cipher.init(mode, this.encryptionKey);
+            context.mode = mode;
+        }
+        return cipher;
+    }
+
+    @SneakyThrows
+    private byte[] doFinal(final Cipher cipher, final byte[] value) {
+        try {
+            return cipher.doFinal(value);
+        } catch (final Exception e) {
+            this.cipherContext.remove();
+            throw e;
+        }
     }
 
     @SneakyThrows
@@ -145,4 +236,11 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         }
         configureSigningKey(signingKeyToUse);
     }
+
+    @RequiredArgsConstructor
+    private static class CipherContext {
+        private final String transformation;
+        private final Cipher cipher;
+        private int mode = -1;
+    }
 }
@@ -20,8 +20,8 @@ import java.security.SecureRandom;
 @Slf4j
 @Getter
 public abstract class AbstractRandomStringGenerator implements RandomStringGenerator{
-    /** An instance of secure random to ensure randomness is secure. */
-    protected final SecureRandom randomizer = RandomUtils.getNativeInstance();
+    /** An instance of secure random to ensure randomness is secure; by default, one that threads do not contend on. */
+    protected final SecureRandom randomizer;
 
     /** Default string length before encoding. */
     protected final int defaultLength;
@@ -31,7 +31,7 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
      * with length set to {@link RandomStringGenerator#DEFAULT_LENGTH}.
      */
     public AbstractRandomStringGenerator() {
-        this.defaultLength = DEFAULT_LENGTH;
+        this(DEFAULT_LENGTH);
     }
 
     /**
@@ -40,7 +40,18 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
      * @param defaultLength the max random length
      */
     public AbstractRandomStringGenerator(final int defaultLength) {
+        this(defaultLength, RandomUtils.getThreadLocalInstance());
+    }
+
+    /**
+     * Instantiates a new default random string generator.
+     *
+     * @param defaultLength the max random length
+     * @param randomizer    the secure random instance
+     */
+    public AbstractRandomStringGenerator(final int defaultLength, final SecureRandom randomizer) {
         this.defaultLength = defaultLength;
+        this.randomizer = randomizer;
     }
 
     @Override
@@ -4,6 +4,8 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.util.EncodingUtils;
 
+import java.security.SecureRandom;
+
 /**
  * This is {@link Base64RandomStringGenerator}.
  *
@@ -22,6 +24,10 @@ public class Base64RandomStringGenerator extends AbstractRandomStringGenerator {
         super(defaultLength);
     }
 
+    public Base64RandomStringGenerator(final int defaultLength, final SecureRandom randomizer) {
+        super(defaultLength, randomizer);
+    }
+
     /**
      * Converts byte[] to String by Base64 encoding.
      *
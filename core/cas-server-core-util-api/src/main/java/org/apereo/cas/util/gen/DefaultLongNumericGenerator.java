@@ -70,9 +70,6 @@ public class DefaultLongNumericGenerator implements LongNumericGenerator {
      * then {@link Long#MAX_VALUE} is returned. Otherwise, the next increment.
      */
     protected long getNextValue() {
-        if (this.count.compareAndSet(Long.MAX_VALUE, 0)) {
-            return Long.MAX_VALUE;
-        }
-        return this.count.getAndIncrement();
+        return this.count.getAndUpdate(value -> value == Long.MAX_VALUE ? 0 : value + 1);
     }
 }
@@ -0,0 +1,176 @@
+package org.apereo.cas.util.gen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.RandomUtils;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.SecureRandomParameters;
+import java.time.Duration;
+
+/**
+ * This is {@link ThreadLocalSecureRandom} that hands out random bytes from a separate
+ * DRBG instance per thread, so that threads generating random values never contend with each other.
+ * <p>
+ * Each instance is personalized with bytes from the native random source, and is reseeded with
+ * additional input from the native source once it has generated a number of bytes or once an interval
+ * has passed, whichever comes first. If the DRBG algorithm is not available, each thread is given
+ * its own native instance instead.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class ThreadLocalSecureRandom extends SecureRandom {
+
+    /**
+     * Default number of bytes each thread generates before it is reseeded.
+     */
+    public static final long DEFAULT_RESEED_INTERVAL_BYTES = 1024 * 1024;
+
+    /**
+     * Default interval after which each thread is reseeded.
+     */
+    public static final Duration DEFAULT_RESEED_INTERVAL = Duration.ofMinutes(5);
+
+    private static final String ALGORITHM = "DRBG";
+
+    private static final int SECURITY_STRENGTH = 256;
+
+    private static final int SEED_LENGTH = SECURITY_STRENGTH / Byte.SIZE;
+
+    private static final long serialVersionUID = -4418960346734712426L;
+
+    private final transient SecureRandom seedSource;
+
+    private final transient ThreadLocal<Generator> generators;
+
+    private final long reseedIntervalBytes;
+
+    private final long reseedIntervalNanos;
+
+    public ThreadLocalSecureRandom() {
+        this(DEFAULT_RESEED_INTERVAL_BYTES, DEFAULT_RESEED_INTERVAL);
+    }
+
+    public ThreadLocalSecureRandom(final long reseedIntervalBytes, final Duration reseedInterval) {
+        super(null, null);
+        this.seedSource = RandomUtils.getNativeInstance();
+        this.reseedIntervalBytes = reseedIntervalBytes;
+        this.reseedIntervalNanos = reseedInterval.toNanos();
+        this.generators = ThreadLocal.withInitial(this::newGenerator);
+    }
+
+    @Override
+    public void nextBytes(final byte[] bytes) {
+        getGenerator(bytes.length).nextBytes(bytes);
+    }
+
+    @Override
+    public void nextBytes(final byte[] bytes, final SecureRandomParameters params) {
+        getGenerator(bytes.length).nextBytes(bytes, params);
+    }
+
+    @Override
+    public void setSeed(final byte[] seed) {
+        this.generators.get().random.setSeed(seed);
+    }
+
+    @Override
+    public void setSeed(final long seed) {
+        if (this.generators != null) {
+            this.generators.get().random.setSeed(seed);
+        }
+    }
+
+    @Override
+    public byte[] generateSeed(final int numBytes) {
+        return this.seedSource.generateSeed(numBytes);
+    }
+
+    @Override
+    public void reseed() {
+        reseed(this.generators.get());
+    }
+
+    @Override
+    public void reseed(final SecureRandomParameters params) {
+        this.generators.get().random.reseed(params);
+    }
+
+    @Override
+    public SecureRandomParameters getParameters() {
+        return this.generators.get().random.getParameters();
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return this.generators.get().random.getAlgorithm();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + getAlgorithm() + ']';
+    }
+
+    private SecureRandom getGenerator(final int length) {
+        final var generator = this.generators.get();
+        if (generator.generated >= this.reseedIntervalBytes || System.nanoTime() - generator.seededAt >= this.reseedIntervalNanos) {
+            reseed(generator);
+        }
+        generator.generated += length;
+        return generator.random;
+    }
+
+    private void reseed(final Generator generator) {
+        final var input = nextSeed();
+        if (generator.reseedable) {
+            generator.random.reseed(DrbgParameters.reseed(false, input));
+        } else {
+            generator.random.setSeed(input);
+        }
+        generator.generated = 0;
+        generator.seededAt = System.nanoTime();
+        LOGGER.trace("Reseeded random generator for thread [{}]", Thread.currentThread().getName());
+    }
+
+    private Generator newGenerator() {
+        final var personalization = ByteBuffer.allocate(SEED_LENGTH + Long.BYTES)
+            .put(nextSeed())
+            .putLong(Thread.currentThread().getId())
+            .array();
+        try {
+            final var random = SecureRandom.getInstance(ALGORITHM,
+                DrbgParameters.instantiation(SECURITY_STRENGTH, DrbgParameters.Capability.RESEED_ONLY, personalization));
+            return new Generator(random, true);
+        } catch (final NoSuchAlgorithmException | IllegalArgumentException e) {
+            LOGGER.debug("Unable to create [{}] random generator; falling back to a native instance: [{}]", ALGORITHM, e.getMessage());
+            final var random = RandomUtils.getNativeInstance();
+            random.setSeed(personalization);
+            return new Generator(random, false);
+        }
+    }
+
+    private byte[] nextSeed() {
+        final var seed = new byte[SEED_LENGTH];
+        this.seedSource.nextBytes(seed);
+        return seed;
+    }
+
+    private static class Generator {
+        private final SecureRandom random;
+
+        private final boolean reseedable;
+
+        private long generated;
+
+        private long seededAt = System.nanoTime();
+
+        Generator(final SecureRandom random, final boolean reseedable) {
+            this.random = random;
+            this.reseedable = reseedable;
+        }
+    }
+}
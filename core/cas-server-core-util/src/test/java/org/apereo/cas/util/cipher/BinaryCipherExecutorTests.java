@@ -8,6 +8,12 @@ import org.junit.rules.ExpectedException;
 
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -58,6 +64,51 @@ public class BinaryCipherExecutorTests {
         assertEquals(value, new String(decoded, StandardCharsets.UTF_8));
     }
 
+    @Test
+    public void checkAuthenticatedEncryption() {
+        final var value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final var cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        cc.setSecretKeyAlgorithm(BaseBinaryCipherExecutor.ALGORITHM_AES_GCM);
+        final var bytes = cc.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+        assertFalse(Arrays.equals(bytes, cc.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{})));
+        final var decoded = cc.decode(bytes, new Object[]{});
+        assertEquals(value, new String(decoded, StandardCharsets.UTF_8));
+
+        bytes[bytes.length - 1] ^= 1;
+        this.thrown.expect(Exception.class);
+        cc.decode(bytes, new Object[]{});
+    }
+
+    @Test
+    public void checkConcurrentEncodingDecoding() throws Exception {
+        final CipherExecutor<byte[], byte[]> cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            final var tasks = IntStream.range(0, 64)
+                .mapToObj(i -> (Callable<Boolean>) () -> {
+                    for (var j = 0; j < 50; j++) {
+                        final var value = ("Value-" + i + '-' + j).getBytes(StandardCharsets.UTF_8);
+                        if (!Arrays.equals(value, cc.decode(cc.encode(value, new Object[]{}), new Object[]{}))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+            for (final Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static class TestBinaryCipherExecutor extends BaseBinaryCipherExecutor {
         TestBinaryCipherExecutor(final String encKey, final String signingKey, final int sKey, final int eKey) {
             super(encKey, signingKey, sKey, eKey, "Test");
@@ -0,0 +1,58 @@
+package org.apereo.cas.util.gen;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ThreadLocalSecureRandomTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class ThreadLocalSecureRandomTests {
+
+    @Test
+    public void verifyRandomBytes() {
+        final var random = new ThreadLocalSecureRandom();
+        final var b1 = new byte[32];
+        final var b2 = new byte[32];
+        random.nextBytes(b1);
+        random.nextBytes(b2);
+        assertFalse(Arrays.equals(b1, b2));
+        assertEquals("DRBG", random.getAlgorithm());
+    }
+
+    @Test
+    public void verifyThreadsUseSeparateGenerators() throws Exception {
+        final var random = new ThreadLocalSecureRandom();
+        final var b1 = new byte[32];
+        random.nextBytes(b1);
+        final var b2 = CompletableFuture.supplyAsync(() -> {
+            final var bytes = new byte[32];
+            random.nextBytes(bytes);
+            return bytes;
+        }).get();
+        assertFalse(Arrays.equals(b1, b2));
+    }
+
+    @Test
+    public void verifyGeneratorIsReseeded() {
+        final var random = new ThreadLocalSecureRandom(64, Duration.ofMinutes(1));
+        final Set<String> values = new HashSet<>();
+        for (var i = 0; i < 10; i++) {
+            final var bytes = new byte[48];
+            random.nextBytes(bytes);
+            values.add(Arrays.toString(bytes));
+        }
+        assertEquals(10, values.size());
+        random.setSeed(42L);
+        assertNotEquals(random.nextLong(), random.nextLong());
+    }
+}
@@ -6,6 +6,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationHandler;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
+import org.apereo.cas.services.ServiceResolutionContextThreadLocalBinder;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.util.CollectionUtils;
@@ -25,7 +26,7 @@ public class RegisteredServiceRequiredHandlersServiceTicketValidationAuthorizer
 
     @Override
     public void authorize(final HttpServletRequest request, final Service service, final Assertion assertion) {
-        final var registeredService = this.servicesManager.findServiceBy(service);
+        final var registeredService = ServiceResolutionContextThreadLocalBinder.findRegisteredService(service, servicesManager::findServiceBy);
         RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(service, registeredService);
 
         if (registeredService.getRequiredHandlers() != null && !registeredService.getRequiredHandlers().isEmpty()) {
@@ -2,6 +2,7 @@ package org.apereo.cas.web.support;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.AuthenticationCredentialsThreadLocalBinder;
+import org.apereo.cas.services.ServiceResolutionContextThreadLocalBinder;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -12,8 +13,8 @@ import javax.servlet.ServletResponse;
 import java.io.IOException;
 
 /**
- * Servlet Filter for clearing thread local state of current credentials and authentication at the end of request/response
- * processing cycle.
+ * Servlet Filter for clearing thread local state of current credentials, authentication and service resolution
+ * at the end of request/response processing cycle.
  *
  * @author Dmitriy Kopylenko
  * @since 5.0.0
@@ -30,6 +31,7 @@ public class AuthenticationCredentialsThreadLocalBinderClearingFilter implements
             filterChain.doFilter(servletRequest, servletResponse);
         } finally {
             AuthenticationCredentialsThreadLocalBinder.clear();
+            ServiceResolutionContextThreadLocalBinder.clear();
         }
     }
 
@@ -0,0 +1,380 @@
+package org.apereo.cas.web.flow.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ClassUtils;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.spring.webflow.plugin.Transcoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * This is {@link CompactEncryptedTranscoder} that encodes the client-side webflow state in a compact,
+ * versioned format before it is encrypted and signed.
+ * <p>
+ * Flow state is java-serialized, except that the class descriptors of well-known classes that
+ * typically make up the state are replaced by a single byte identifying the class, followed by a
+ * fingerprint of the serial version and the serializable fields of the class. State whose fingerprints
+ * do not match the classes of the reading node, i.e. state produced by a node running a different version
+ * whose classes changed their fields while keeping their serial version, is rejected. The result is deflated
+ * using a preset dictionary of names that commonly appear in the state, which lets even short states compress well.
+ * Compression buffers are reused per thread and the cipher executor caches its ciphers,
+ * so no per-call setup is done beyond the actual work.
+ * <p>
+ * The encoded state starts with a format version. State produced by the default encrypted transcoder,
+ * which is gzip-compressed, can still be decoded so that flows in progress survive an upgrade.
+ * Any change to the registered classes or the dictionary must come with a new format version.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class CompactEncryptedTranscoder implements Transcoder {
+
+    /**
+     * Current format version, written as the first byte of the encoded state.
+     */
+    public static final byte FORMAT_VERSION = 3;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final int UNREGISTERED_CLASS = 0;
+
+    private static final int MAXIMUM_REGISTERED_CLASSES = 255;
+
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+
+    /**
+     * Classes whose descriptors are written as a single byte.
+     * The position of each class in this list is its identifier and must never change within a format version;
+     * classes that are not available on the classpath keep their position and are written in full if ever encountered.
+     */
+    private static final List<String> REGISTERED_CLASS_NAMES = List.of(
+        "java.lang.Number",
+        "java.lang.Boolean",
+        "java.lang.Integer",
+        "java.lang.Long",
+        "java.lang.Enum",
+        "java.util.ArrayList",
+        "java.util.LinkedList",
+        "java.util.HashMap",
+        "java.util.LinkedHashMap",
+        "java.util.TreeMap",
+        "java.util.HashSet",
+        "java.util.LinkedHashSet",
+        "java.util.Locale",
+        "java.util.Collections$EmptyMap",
+        "java.util.Collections$EmptyList",
+        "java.util.Collections$EmptySet",
+        "java.util.Collections$SingletonList",
+        "java.util.Collections$UnmodifiableMap",
+        "java.util.Collections$UnmodifiableCollection",
+        "java.util.Collections$UnmodifiableList",
+        "java.util.Collections$UnmodifiableRandomAccessList",
+        "java.util.concurrent.ConcurrentHashMap",
+        "java.time.Ser",
+        "org.apereo.spring.webflow.plugin.SerializedFlowExecutionState",
+        "org.apereo.spring.webflow.plugin.ClientFlowExecutionKey",
+        "org.springframework.webflow.engine.impl.FlowExecutionImpl",
+        "org.springframework.webflow.engine.impl.FlowSessionImpl",
+        "org.springframework.webflow.engine.impl.FlowExecutionStatus",
+        "org.springframework.webflow.execution.FlowExecutionOutcome",
+        "org.springframework.webflow.core.collection.LocalAttributeMap",
+        "org.springframework.webflow.core.collection.LocalParameterMap",
+        "org.springframework.webflow.core.collection.LocalSharedAttributeMap",
+        "org.springframework.binding.collection.SharedMapDecorator",
+        "org.springframework.binding.message.DefaultMessageContext",
+        "org.springframework.binding.message.Message",
+        "org.springframework.binding.message.Severity",
+        "org.springframework.binding.message.MessageBuilder",
+        "org.springframework.context.support.DefaultMessageSourceResolvable",
+        "org.apereo.cas.authentication.AbstractCredential",
+        "org.apereo.cas.authentication.UsernamePasswordCredential",
+        "org.apereo.cas.authentication.RememberMeUsernamePasswordCredential",
+        "org.apereo.cas.authentication.principal.AbstractWebApplicationService",
+        "org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl",
+        "org.apereo.cas.authentication.principal.Response$ResponseType",
+        "org.apereo.cas.authentication.principal.SimplePrincipal",
+        "org.apereo.cas.authentication.DefaultAuthentication",
+        "org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult",
+        "org.apereo.cas.authentication.BasicCredentialMetaData",
+        "org.apereo.cas.services.AbstractRegisteredService",
+        "org.apereo.cas.services.RegexRegisteredService",
+        "org.apereo.cas.services.DefaultRegisteredServiceAccessStrategy",
+        "org.apereo.cas.services.ReturnAllowedAttributeReleasePolicy",
+        "org.apereo.cas.services.DefaultRegisteredServiceMultifactorPolicy",
+        "org.apereo.cas.services.DefaultRegisteredServiceUsernameProvider",
+        "org.apereo.cas.services.RegisteredService$LogoutType"
+    );
+
+    /**
+     * Names that commonly appear in flow state, most frequent last, since
+     * the end of the dictionary is the cheapest to refer to.
+     */
+    private static final byte[] DICTIONARY = String.join(";",
+        "org.springframework.webflow.", "org.springframework.binding.", "org.apereo.cas.", "java.util.",
+        "loadFactor", "threshold", "accessOrder", "elementData", "severity", "source", "text",
+        "registeredService", "serviceTicketId", "warnCookieValue", "authentication", "authenticationResultBuilder",
+        "principal", "attributes", "successes", "failures", "credentials", "credentialClass", "handlerName",
+        "loggedOutAlready", "responseType", "artifactId", "originalUrl", "format", "service",
+        "rememberMe", "password", "username", "credential", "ticketGrantingTicketId",
+        "casLoginView", "viewLoginForm", "realSubmit", "initialFlowSetup", "login",
+        "sourceMessages", "flowId", "flashMap", "scope", "stateId", "flowSessions", "conversationScope"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION));
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private static final Registry REGISTRY = new Registry(REGISTERED_CLASS_NAMES);
+
+    private final CipherExecutor webflowCipherExecutor;
+
+    private final Registry registry;
+
+    public CompactEncryptedTranscoder(final CipherExecutor webflowCipherExecutor) {
+        this(webflowCipherExecutor, REGISTRY);
+    }
+
+    /**
+     * Instantiates a new transcoder that registers the given classes instead of the default ones.
+     *
+     * @param webflowCipherExecutor the webflow cipher executor
+     * @param registeredClassNames  the registered class names
+     */
+    CompactEncryptedTranscoder(final CipherExecutor webflowCipherExecutor, final List<String> registeredClassNames) {
+        this(webflowCipherExecutor, new Registry(registeredClassNames));
+    }
+
+    private CompactEncryptedTranscoder(final CipherExecutor webflowCipherExecutor, final Registry registry) {
+        this.webflowCipherExecutor = webflowCipherExecutor;
+        this.registry = registry;
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        if (o == null) {
+            return new byte[0];
+        }
+        final var buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+        buffer.write(FORMAT_VERSION);
+
+        final var deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        try (var out = new CompactObjectOutputStream(new DeflaterOutputStream(buffer, deflater, BUFFER_SIZE), this.registry)) {
+            out.writeObject(o);
+        }
+        try {
+            return (byte[]) this.webflowCipherExecutor.encode(buffer.toByteArray());
+        } catch (final Exception e) {
+            throw new IOException("Encryption error", e);
+        }
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        final byte[] data;
+        try {
+            data = (byte[]) this.webflowCipherExecutor.decode(encoded);
+        } catch (final Exception e) {
+            throw new IOException("Decryption error", e);
+        }
+        if (data == null || data.length == 0) {
+            throw new StreamCorruptedException("Flow state is empty");
+        }
+        try {
+            if (data[0] == FORMAT_VERSION) {
+                try (var in = new CompactObjectInputStream(new ByteArrayInputStream(inflate(data)), this.registry)) {
+                    return in.readObject();
+                }
+            }
+            if (data.length > 1 && (data[0] & 0xff) == GZIP_MAGIC_FIRST_BYTE && (data[1] & 0xff) == GZIP_MAGIC_SECOND_BYTE) {
+                LOGGER.trace("Decoding flow state produced by the default encrypted transcoder");
+                try (var in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+                    return in.readObject();
+                }
+            }
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Deserialization error", e);
+        }
+        throw new StreamCorruptedException("Unsupported flow state format version " + data[0]);
+    }
+
+    private static byte[] inflate(final byte[] data) throws IOException {
+        final var inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(data, 1, data.length - 1);
+        final var out = new ByteArrayOutputStream(data.length * 4);
+        final var chunk = new byte[BUFFER_SIZE];
+        try {
+            while (!inflater.finished()) {
+                final var count = inflater.inflate(chunk);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new StreamCorruptedException("Flow state is truncated");
+                    }
+                }
+                out.write(chunk, 0, count);
+            }
+        } catch (final DataFormatException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Registered classes, indexed by name and by identifier, along with the fingerprint of each class.
+     */
+    private static class Registry {
+        private final Map<String, Integer> identifiers = new HashMap<>();
+
+        private final List<ObjectStreamClass> descriptors = new ArrayList<>();
+
+        private final List<Long> fingerprints = new ArrayList<>();
+
+        Registry(final List<String> classNames) {
+            if (classNames.size() > MAXIMUM_REGISTERED_CLASSES) {
+                throw new IllegalArgumentException("At most " + MAXIMUM_REGISTERED_CLASSES + " classes can be registered");
+            }
+            for (var i = 0; i < classNames.size(); i++) {
+                final var descriptor = lookup(classNames.get(i));
+                this.descriptors.add(descriptor);
+                this.fingerprints.add(descriptor != null ? fingerprint(descriptor) : null);
+                if (descriptor != null) {
+                    this.identifiers.put(descriptor.getName(), i + 1);
+                }
+            }
+            LOGGER.trace("Registered [{}] class(es) for compact flow state encoding", this.identifiers.size());
+        }
+
+        int getIdentifier(final ObjectStreamClass descriptor) {
+            final var id = this.identifiers.get(descriptor.getName());
+            if (id == null || this.descriptors.get(id - 1).getSerialVersionUID() != descriptor.getSerialVersionUID()) {
+                return UNREGISTERED_CLASS;
+            }
+            return id;
+        }
+
+        long getFingerprint(final int id) {
+            return this.fingerprints.get(id - 1);
+        }
+
+        ObjectStreamClass getDescriptor(final int id, final long fingerprint) throws IOException {
+            final var descriptor = id <= this.descriptors.size() ? this.descriptors.get(id - 1) : null;
+            if (descriptor == null) {
+                throw new StreamCorruptedException("Unknown registered class identifier " + id);
+            }
+            if (getFingerprint(id) != fingerprint) {
+                throw new InvalidClassException(descriptor.getName(), "serial version or fields of the class in flow state "
+                    + "do not match the local class");
+            }
+            return descriptor;
+        }
+
+        /**
+         * Fingerprint of the serial version and the serializable fields of a class,
+         * the first eight bytes of the SHA-256 digest of their names and types.
+         */
+        private static long fingerprint(final ObjectStreamClass descriptor) {
+            final var layout = new StringBuilder(descriptor.getName()).append(':').append(descriptor.getSerialVersionUID());
+            for (final var field : descriptor.getFields()) {
+                layout.append(';').append(field.getName()).append(':').append(field.getTypeCode());
+                if (!field.isPrimitive()) {
+                    layout.append(field.getTypeString());
+                }
+            }
+            try {
+                final var digest = MessageDigest.getInstance("SHA-256").digest(layout.toString().getBytes(StandardCharsets.UTF_8));
+                return ByteBuffer.wrap(digest).getLong();
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static ObjectStreamClass lookup(final String className) {
+            try {
+                return ObjectStreamClass.lookup(ClassUtils.getClass(className, false));
+            } catch (final ClassNotFoundException | LinkageError e) {
+                LOGGER.trace("Class [{}] is not available and will not be registered", className);
+                return null;
+            }
+        }
+    }
+
+    private static class CompactObjectOutputStream extends ObjectOutputStream {
+        private final Registry registry;
+
+        CompactObjectOutputStream(final OutputStream out, final Registry registry) throws IOException {
+            super(out);
+            this.registry = registry;
+        }
+
+        @Override
+        protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+            final var id = this.registry.getIdentifier(desc);
+            write(id);
+            if (id == UNREGISTERED_CLASS) {
+                super.writeClassDescriptor(desc);
+            } else {
+                writeLong(this.registry.getFingerprint(id));
+            }
+        }
+    }
+
+    private static class CompactObjectInputStream extends ObjectInputStream {
+        private final Registry registry;
+
+        CompactObjectInputStream(final InputStream in, final Registry registry) throws IOException {
+            super(in);
+            this.registry = registry;
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            final var id = read();
+            if (id < 0) {
+                throw new StreamCorruptedException("Flow state is truncated");
+            }
+            if (id == UNREGISTERED_CLASS) {
+                return super.readClassDescriptor();
+            }
+            return this.registry.getDescriptor(id, readLong());
+        }
+    }
+
+    /**
+     * Names of the classes registered for compact encoding.
+     *
+     * @return the registered class names
+     */
+    public static List<String> getRegisteredClassNames() {
+        return Collections.unmodifiableList(REGISTERED_CLASS_NAMES);
+    }
+}
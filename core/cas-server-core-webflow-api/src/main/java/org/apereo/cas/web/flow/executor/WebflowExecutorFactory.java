@@ -78,6 +78,9 @@ public class WebflowExecutorFactory {
 
     @SneakyThrows
     private Transcoder getWebflowStateTranscoder() {
+        if (webflowProperties.getSession().isCompactClientState()) {
+            return new CompactEncryptedTranscoder(this.webflowCipherExecutor);
+        }
         final var cipherBean = new WebflowCipherBean(this.webflowCipherExecutor);
         return new EncryptedTranscoder(cipherBean);
     }
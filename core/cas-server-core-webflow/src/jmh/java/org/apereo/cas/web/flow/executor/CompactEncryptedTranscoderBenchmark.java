@@ -0,0 +1,108 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.authentication.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
+import org.apereo.spring.webflow.plugin.Transcoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CompactEncryptedTranscoderBenchmark} that measures the throughput of
+ * encoding and decoding a typical login flow state with {@link CompactEncryptedTranscoder},
+ * compared to the default {@link EncryptedTranscoder}.
+ * Run via the {@code jmh} task of the module, or the {@link #main(String[])} method from the benchmark classpath.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactEncryptedTranscoderBenchmark {
+
+    private static final int[] THREADS = {1, 16};
+
+    @Param({"compact", "default"})
+    private String transcoderType;
+
+    private Transcoder transcoder;
+
+    private Object state;
+
+    private byte[] encoded;
+
+    public static void main(final String[] args) throws Exception {
+        for (final var threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(CompactEncryptedTranscoderBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final var cipher = new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16);
+        this.transcoder = "compact".equals(this.transcoderType)
+            ? new CompactEncryptedTranscoder(cipher)
+            : new EncryptedTranscoder(new WebflowCipherBean(cipher));
+        this.state = newLoginFlowState();
+        this.encoded = this.transcoder.encode(this.state);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return this.transcoder.encode(this.state);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return this.transcoder.decode(this.encoded);
+    }
+
+    private static Object newLoginFlowState() {
+        final var flowScope = new LocalAttributeMap<Object>();
+        flowScope.put("credential", new UsernamePasswordCredential("casuser", "Mellon"));
+        flowScope.put("service", new WebApplicationServiceFactory()
+            .createService("https://apps.example.org/portal/login?redirect=%2Fdashboard"));
+        flowScope.put("ticketGrantingTicketId", "TGT-1-Ud3rM1Bzy8JT0cBbVZ3CxI9bVrVc6mFmKDXhkqbmxmG7-cas");
+        flowScope.put("initialFlowSetup", Boolean.TRUE);
+        flowScope.put("rememberMeAuthenticationEnabled", Boolean.TRUE);
+        flowScope.put("staticAuthentication", Boolean.FALSE);
+
+        final var conversationScope = new LocalAttributeMap<Object>();
+        conversationScope.put("service", flowScope.get("service"));
+
+        final Map<String, Object> state = new LinkedHashMap<>();
+        state.put("flowId", "login");
+        state.put("stateId", "viewLoginForm");
+        state.put("flowScope", flowScope);
+        state.put("conversationScope", conversationScope);
+        state.put("flashScope", new LocalAttributeMap<>());
+        state.put("messages", new ArrayList<>());
+        return state;
+    }
+}
@@ -0,0 +1,116 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.authentication.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
+import org.junit.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CompactEncryptedTranscoderTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class CompactEncryptedTranscoderTests {
+
+    private final WebflowConversationStateCipherExecutor cipher =
+        new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16);
+
+    @Test
+    public void verifyStateIsEncodedAndDecoded() throws Exception {
+        final var transcoder = new CompactEncryptedTranscoder(this.cipher);
+        final var state = newFlowState();
+        final var decoded = transcoder.decode(transcoder.encode(state));
+        assertEquals(state, decoded);
+    }
+
+    @Test
+    public void verifyStateIsSmallerThanDefault() throws Exception {
+        final var state = newFlowState();
+        final var compact = new CompactEncryptedTranscoder(this.cipher).encode(state);
+        final var legacy = new EncryptedTranscoder(new WebflowCipherBean(this.cipher)).encode(state);
+        assertTrue(compact.length < legacy.length);
+    }
+
+    @Test
+    public void verifyDefaultStateIsDecoded() throws Exception {
+        final var state = newFlowState();
+        final var legacy = new EncryptedTranscoder(new WebflowCipherBean(this.cipher)).encode(state);
+        assertEquals(state, new CompactEncryptedTranscoder(this.cipher).decode(legacy));
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyUnknownFormatIsRejected() throws Exception {
+        new CompactEncryptedTranscoder(this.cipher).decode(this.cipher.encode(new byte[]{9, 1, 2, 3}));
+    }
+
+    @Test
+    public void verifyStateWithChangedFieldsIsRejected() throws Exception {
+        final var writer = new CompactEncryptedTranscoder(this.cipher, List.of(PreviousLayout.class.getName()));
+        final var reader = new CompactEncryptedTranscoder(this.cipher, List.of(CurrentLayout.class.getName()));
+        final var encoded = writer.encode(new PreviousLayout("casuser"));
+        assertEquals("casuser", ((PreviousLayout) writer.decode(encoded)).name);
+        try {
+            reader.decode(encoded);
+            fail("State written with a different field layout should not be decoded");
+        } catch (final InvalidClassException e) {
+            assertEquals(CurrentLayout.class.getName(), e.classname);
+        }
+    }
+
+    private static Map<String, Object> newFlowState() {
+        final var flowScope = new LocalAttributeMap<Object>();
+        flowScope.put("credential", new UsernamePasswordCredential("casuser", "Mellon"));
+        flowScope.put("service", new WebApplicationServiceFactory().createService("https://example.org/app?param=value"));
+        flowScope.put("ticketGrantingTicketId", "TGT-1-Ud3rM1Bzy8JT0cBbVZ3CxI9bVrVc6mFmKDXhkqbmxmG7-cas");
+        flowScope.put("initialFlowSetup", Boolean.TRUE);
+
+        final Map<String, Object> state = new LinkedHashMap<>();
+        state.put("flowId", "login");
+        state.put("stateId", "viewLoginForm");
+        state.put("flowScope", flowScope);
+        state.put("messages", new ArrayList<>());
+        return state;
+    }
+
+    /**
+     * Stands in for a class as written by a node running a previous version.
+     */
+    private static class PreviousLayout implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        PreviousLayout(final String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Stands in for the same class on the reading node, with an added field and the same serial version.
+     */
+    private static class CurrentLayout implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        private final int attempts;
+
+        CurrentLayout(final String name, final int attempts) {
+            this.name = name;
+            this.attempts = attempts;
+        }
+    }
+}
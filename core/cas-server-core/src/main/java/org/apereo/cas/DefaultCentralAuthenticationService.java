@@ -18,6 +18,8 @@ import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.LogoutRequest;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
 import org.apereo.cas.services.ServiceContext;
+import org.apereo.cas.services.ServiceResolutionContext;
+import org.apereo.cas.services.ServiceResolutionContextThreadLocalBinder;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedProxyingException;
 import org.apereo.cas.services.UnauthorizedSsoServiceException;
@@ -298,6 +300,8 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                 ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<String, Object>();
 
             LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
+            ServiceResolutionContextThreadLocalBinder.bindCurrent(
+                new ServiceResolutionContext(serviceTicket.getService(), selectedService, registeredService));
 
             final var principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
             final var modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
@@ -0,0 +1,100 @@
+#! /usr/bin/env python
+
+"""
+Measures service ticket validation throughput.
+
+Each locust establishes an SSO session once, then repeatedly obtains a service ticket
+and validates it via the CAS v3 validation endpoint, so that the reported request rate
+for the validation endpoint reflects the cost of validation alone.
+"""
+
+from __future__ import print_function
+import csv
+import os
+import random
+import re
+from locust import HttpLocust, TaskSet, task
+from six.moves.urllib.parse import urlparse, parse_qs
+
+
+class ValidationTaskSet(TaskSet):
+    execution_pat = re.compile(r'<input type="hidden" name="execution" value="([^"]+)"')
+    eventid_pat = re.compile(r'<input type="hidden" name="_eventId" value="([^"]+)"')
+
+    def on_start(self):
+        """
+        Establish the SSO session used to obtain service tickets.
+        """
+        self.is_authenticated = False
+        self.login()
+
+    def login(self):
+        client = self.client
+        response = client.get("/cas/login")
+        content = response.content.decode('utf-8')
+        m = self.execution_pat.search(content)
+        if m is None:
+            return
+        execution = m.groups()[0]
+        m = self.eventid_pat.search(content)
+        if m is None:
+            return
+        event_id = m.groups()[0]
+        user, passwd = random.choice(self.locust.creds)
+        data = {
+            "username": user,
+            "password": passwd,
+            "execution": execution,
+            "_eventId": event_id,
+            "geolocation": "",
+        }
+        client.post("/cas/login", data=data)
+        self.is_authenticated = 'TGC' in client.cookies.keys()
+
+    @task
+    def validate_service_ticket(self):
+        if not self.is_authenticated:
+            self.login()
+            return
+        service = self.locust.service
+        client = self.client
+        with client.get("/cas/login", catch_response=True, params={'service': service},
+                        allow_redirects=False, name="/cas/login?service=[service]") as response:
+            if response.status_code not in (301, 302):
+                response.failure("Got status code {0} while obtaining ST.".format(response.status_code))
+                self.is_authenticated = False
+                return
+            response.success()
+            location = response.headers['Location']
+        ticket = parse_qs(urlparse(location).query)['ticket'][0]
+        with client.get("/cas/p3/serviceValidate", catch_response=True,
+                        params={'service': service, 'ticket': ticket},
+                        name="/cas/p3/serviceValidate?ticket=[ticket]") as response:
+            if 'authenticationSuccess' in response.content.decode('utf-8'):
+                response.success()
+            else:
+                response.failure("Service ticket {0} failed validation.".format(ticket))
+
+
+def load_creds():
+    """
+    Load test user credentials.
+    """
+    credpath = os.path.join(
+        os.path.dirname(__file__),
+        "credentials.csv")
+    creds = []
+    with open(credpath, "r") as f:
+        reader = csv.reader(f)
+        for row in reader:
+            creds.append((row[0], row[1]))
+    return creds
+
+
+class ValidationLocust(HttpLocust):
+    task_set = ValidationTaskSet
+    host = os.environ.get('CAS_HOST', 'https://localhost:8443')
+    service = os.environ.get('CAS_SERVICE', 'https://localhost:9443/app')
+    min_wait = 0
+    max_wait = 0
+    creds = load_creds()
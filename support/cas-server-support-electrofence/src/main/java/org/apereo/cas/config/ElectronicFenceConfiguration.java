@@ -10,6 +10,7 @@ import org.apereo.cas.api.AuthenticationRiskNotifier;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.impl.calcs.AuthenticationRiskProfileRepository;
 import org.apereo.cas.impl.calcs.DateTimeAuthenticationRequestRiskCalculator;
 import org.apereo.cas.impl.calcs.GeoLocationAuthenticationRequestRiskCalculator;
 import org.apereo.cas.impl.calcs.IpAddressAuthenticationRequestRiskCalculator;
@@ -106,25 +107,31 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
         return new DefaultAuthenticationRiskMitigator(multifactorAuthenticationContingencyPlan());
     }
 
+    @ConditionalOnMissingBean(name = "authenticationRiskProfileRepository")
+    @Bean
+    public AuthenticationRiskProfileRepository authenticationRiskProfileRepository() {
+        return new AuthenticationRiskProfileRepository(this.casEventRepository, casProperties.getAuthn().getAdaptive().getRisk());
+    }
+
     @ConditionalOnMissingBean(name = "ipAddressAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator ipAddressAuthenticationRequestRiskCalculator() {
-        return new IpAddressAuthenticationRequestRiskCalculator(this.casEventRepository);
+        return new IpAddressAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository());
     }
 
     @ConditionalOnMissingBean(name = "userAgentAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator userAgentAuthenticationRequestRiskCalculator() {
-        return new UserAgentAuthenticationRequestRiskCalculator(this.casEventRepository);
+        return new UserAgentAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository());
     }
 
     @ConditionalOnMissingBean(name = "dateTimeAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator dateTimeAuthenticationRequestRiskCalculator() {
-        return new DateTimeAuthenticationRequestRiskCalculator(this.casEventRepository,
+        return new DateTimeAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository(),
             casProperties.getAuthn().getAdaptive().getRisk().getDateTime().getWindowInHours());
     }
 
@@ -132,7 +139,7 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator geoLocationAuthenticationRequestRiskCalculator() {
-        return new GeoLocationAuthenticationRequestRiskCalculator(this.casEventRepository);
+        return new GeoLocationAuthenticationRequestRiskCalculator(authenticationRiskProfileRepository());
     }
 
     @ConditionalOnMissingBean(name = "authenticationRiskEvaluator")
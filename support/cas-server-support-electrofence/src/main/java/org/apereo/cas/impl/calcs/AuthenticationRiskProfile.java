@@ -0,0 +1,170 @@
+package org.apereo.cas.impl.calcs;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * This is {@link AuthenticationRiskProfile} that summarizes the recent authentication history of a principal
+ * as counts of authentication events by client ip address, user agent, geolocation and hour of day.
+ * <p>
+ * Counts are kept per day so that days that fall out of the recent history can be dropped. Answering a question
+ * about the history therefore costs one lookup per day in the history, regardless of how many events it holds.
+ * The number of distinct values tracked per day is bounded; events with values beyond that bound only count
+ * towards the total, which errs on the side of higher risk.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class AuthenticationRiskProfile {
+
+    /**
+     * Maximum number of distinct values tracked per day for each attribute.
+     */
+    public static final int MAX_DISTINCT_VALUES_PER_DAY = 256;
+
+    private static final int HOURS_PER_DAY = 24;
+
+    private final long daysInRecentHistory;
+
+    private final TreeMap<Long, DailyActivity> days = new TreeMap<>();
+
+    public AuthenticationRiskProfile(final long daysInRecentHistory) {
+        this.daysInRecentHistory = daysInRecentHistory;
+    }
+
+    /**
+     * Record an authentication event.
+     *
+     * @param creationTime    the creation time of the event
+     * @param clientIpAddress the client ip address
+     * @param userAgent       the user agent
+     * @param geoLocation     the geolocation
+     */
+    public synchronized void record(final ZonedDateTime creationTime, final String clientIpAddress,
+                                    final String userAgent, final GeoLocationRequest geoLocation) {
+        final var time = creationTime.withZoneSameInstant(ZoneOffset.UTC);
+        final var day = time.toLocalDate().toEpochDay();
+        if (day < getFirstDayInRecentHistory()) {
+            return;
+        }
+        final var activity = this.days.computeIfAbsent(day, k -> new DailyActivity());
+        activity.total++;
+        activity.hours[time.getHour()]++;
+        increment(activity.clientIpAddresses, normalize(clientIpAddress));
+        increment(activity.userAgents, normalize(userAgent));
+        increment(activity.geoLocations, toKey(geoLocation));
+        prune();
+    }
+
+    /**
+     * Gets the number of authentication events in the recent history.
+     *
+     * @return the total
+     */
+    public synchronized long getTotal() {
+        prune();
+        return this.days.values().stream().mapToLong(d -> d.total).sum();
+    }
+
+    /**
+     * Count authentication events from the given client ip address, ignoring case.
+     *
+     * @param clientIpAddress the client ip address
+     * @return the count
+     */
+    public synchronized long countByClientIpAddress(final String clientIpAddress) {
+        return count(normalize(clientIpAddress), d -> d.clientIpAddresses);
+    }
+
+    /**
+     * Count authentication events from the given user agent, ignoring case.
+     *
+     * @param userAgent the user agent
+     * @return the count
+     */
+    public synchronized long countByUserAgent(final String userAgent) {
+        return count(normalize(userAgent), d -> d.userAgents);
+    }
+
+    /**
+     * Count authentication events from the given geolocation.
+     * Locations are compared by latitude and longitude.
+     *
+     * @param geoLocation the geolocation
+     * @return the count
+     */
+    public synchronized long countByGeoLocation(final GeoLocationRequest geoLocation) {
+        return count(toKey(geoLocation), d -> d.geoLocations);
+    }
+
+    /**
+     * Count authentication events whose hour of day, in UTC, falls between the given hours inclusively.
+     *
+     * @param fromHour the first hour
+     * @param toHour   the last hour
+     * @return the count
+     */
+    public synchronized long countByHourOfDay(final int fromHour, final int toHour) {
+        prune();
+        var count = 0L;
+        for (final var activity : this.days.values()) {
+            for (var hour = Math.max(0, fromHour); hour <= Math.min(HOURS_PER_DAY - 1, toHour); hour++) {
+                count += activity.hours[hour];
+            }
+        }
+        return count;
+    }
+
+    private long count(final String key, final Function<DailyActivity, Map<String, Long>> attribute) {
+        prune();
+        if (key == null) {
+            return 0;
+        }
+        return this.days.values().stream().mapToLong(d -> attribute.apply(d).getOrDefault(key, 0L)).sum();
+    }
+
+    private void prune() {
+        this.days.headMap(getFirstDayInRecentHistory()).clear();
+    }
+
+    private long getFirstDayInRecentHistory() {
+        return ZonedDateTime.now(ZoneOffset.UTC).minusDays(this.daysInRecentHistory).toLocalDate().toEpochDay();
+    }
+
+    private static void increment(final Map<String, Long> counts, final String key) {
+        if (key != null && (counts.size() < MAX_DISTINCT_VALUES_PER_DAY || counts.containsKey(key))) {
+            counts.merge(key, 1L, Long::sum);
+        }
+    }
+
+    private static String normalize(final String value) {
+        return StringUtils.isBlank(value) ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String toKey(final GeoLocationRequest geoLocation) {
+        if (geoLocation == null || StringUtils.isBlank(geoLocation.getLatitude()) || StringUtils.isBlank(geoLocation.getLongitude())) {
+            return null;
+        }
+        return geoLocation.getLatitude() + ',' + geoLocation.getLongitude();
+    }
+
+    private static class DailyActivity {
+        private final Map<String, Long> clientIpAddresses = new HashMap<>();
+
+        private final Map<String, Long> userAgents = new HashMap<>();
+
+        private final Map<String, Long> geoLocations = new HashMap<>();
+
+        private final long[] hours = new long[HOURS_PER_DAY];
+
+        private long total;
+    }
+}
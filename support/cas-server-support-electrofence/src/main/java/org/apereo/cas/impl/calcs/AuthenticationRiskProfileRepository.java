@@ -0,0 +1,96 @@
+package org.apereo.cas.impl.calcs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.configuration.model.core.authentication.RiskBasedAuthenticationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.web.support.WebUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.context.event.EventListener;
+
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link AuthenticationRiskProfileRepository} that keeps the {@link AuthenticationRiskProfile}
+ * of recently active principals in memory.
+ * <p>
+ * A profile is built from the authentication events in the {@link CasEventRepository} the first time
+ * it is requested, and is then kept up to date as ticket-granting tickets are created for the principal.
+ * The number of profiles is bounded, and profiles are evicted once they reach a configured age,
+ * even if they are used all along, so that events recorded elsewhere, i.e. by other CAS nodes,
+ * are picked up; evicted profiles are built again from the event repository when needed.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class AuthenticationRiskProfileRepository {
+
+    private final CasEventRepository casEventRepository;
+
+    private final long daysInRecentHistory;
+
+    private final LoadingCache<String, AuthenticationRiskProfile> profiles;
+
+    public AuthenticationRiskProfileRepository(final CasEventRepository casEventRepository,
+                                               final RiskBasedAuthenticationProperties properties) {
+        this.casEventRepository = casEventRepository;
+        this.daysInRecentHistory = properties.getDaysInRecentHistory();
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumProfiles())
+            .expireAfterWrite(Beans.newDuration(properties.getProfileExpiration()))
+            .build(this::buildProfile);
+    }
+
+    /**
+     * Gets the authentication risk profile of the given principal.
+     *
+     * @param principal the principal
+     * @return the profile
+     */
+    public AuthenticationRiskProfile getProfile(final String principal) {
+        return this.profiles.get(principal);
+    }
+
+    /**
+     * Record the creation of a ticket-granting ticket in the profile of its principal,
+     * if the profile is already built. Profiles that are not yet built will pick up the event
+     * from the event repository.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasTicketGrantingTicketCreatedEvent(final CasTicketGrantingTicketCreatedEvent event) {
+        final var ticketGrantingTicket = event.getTicketGrantingTicket();
+        final var principal = ticketGrantingTicket.getAuthentication().getPrincipal().getId();
+        final var profile = this.profiles.getIfPresent(principal);
+        if (profile != null) {
+            final var clientInfo = ClientInfoHolder.getClientInfo();
+            profile.record(ticketGrantingTicket.getCreationTime(),
+                clientInfo != null ? clientInfo.getClientIpAddress() : null,
+                WebUtils.getHttpServletRequestUserAgentFromRequestContext(),
+                WebUtils.getHttpServletRequestGeoLocationFromRequestContext());
+            LOGGER.trace("Recorded authentication event for [{}] in its risk profile", principal);
+        }
+    }
+
+    /**
+     * Invalidate all profiles.
+     */
+    public void invalidate() {
+        this.profiles.invalidateAll();
+    }
+
+    private AuthenticationRiskProfile buildProfile(final String principal) {
+        final var type = CasTicketGrantingTicketCreatedEvent.class.getName();
+        LOGGER.debug("Building authentication risk profile for [{}] from events of type [{}]", principal, type);
+        final var profile = new AuthenticationRiskProfile(this.daysInRecentHistory);
+        final var date = ZonedDateTime.now().minusDays(this.daysInRecentHistory);
+        this.casEventRepository.getEventsOfTypeForPrincipal(type, principal, date)
+            .forEach(e -> profile.record(e.getCreationTime(), e.getClientIpAddress(), e.getAgent(), e.getGeoLocation()));
+        return profile;
+    }
+}
@@ -4,17 +4,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.api.AuthenticationRequestRiskCalculator;
 import org.apereo.cas.api.AuthenticationRiskScore;
 import org.apereo.cas.authentication.Authentication;
-import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
-import org.apereo.cas.support.events.dao.CasEvent;
-import org.apereo.cas.support.events.CasEventRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
-import java.time.ZonedDateTime;
-import java.util.Collection;
 
 /**
  * This is {@link BaseAuthenticationRequestRiskCalculator}.
@@ -27,15 +20,12 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
 
     
     /**
-     * CAS event repository instance.
+     * Authentication risk profile repository instance.
      */
-    protected CasEventRepository casEventRepository;
-    
-    @Autowired
-    private CasConfigurationProperties casProperties;
-    
-    public BaseAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository) {
-        this.casEventRepository = casEventRepository;
+    protected AuthenticationRiskProfileRepository authenticationRiskProfileRepository;
+
+    public BaseAuthenticationRequestRiskCalculator(final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+        this.authenticationRiskProfileRepository = authenticationRiskProfileRepository;
     }
 
     @Override
@@ -43,11 +33,11 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
                                                    final RegisteredService service,
                                                    final HttpServletRequest request) {
         final var principal = authentication.getPrincipal();
-        final var events = getCasTicketGrantingTicketCreatedEventsFor(principal.getId());
-        if (events.isEmpty()) {
+        final var profile = authenticationRiskProfileRepository.getProfile(principal.getId());
+        if (profile.getTotal() == 0) {
             return new AuthenticationRiskScore(HIGHEST_RISK_SCORE);
         }
-        final var score = new AuthenticationRiskScore(calculateScore(request, authentication, service, events));
+        final var score = new AuthenticationRiskScore(calculateScore(request, authentication, service, profile));
         LOGGER.debug("Calculated authentication risk score by [{}] is [{}]", getClass().getSimpleName(), score);
         return score;
     }
@@ -58,31 +48,16 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
      * @param request        the request
      * @param authentication the authentication
      * @param service        the service
-     * @param events         the events
+     * @param profile        the authentication risk profile of the principal
      * @return the authentication risk score
      */
     protected BigDecimal calculateScore(final HttpServletRequest request,
                                     final Authentication authentication,
                                     final RegisteredService service,
-                                    final Collection<CasEvent> events) {
+                                    final AuthenticationRiskProfile profile) {
         return HIGHEST_RISK_SCORE;
     }
 
-    /**
-     * Gets cas ticket granting ticket created events.
-     *
-     * @param principal the principal
-     * @return the cas ticket granting ticket created events for
-     */
-    protected Collection<CasEvent> getCasTicketGrantingTicketCreatedEventsFor(final String principal) {
-        final var type = CasTicketGrantingTicketCreatedEvent.class.getName();
-        LOGGER.debug("Retrieving events of type [{}] for [{}]", type, principal);
-        
-        final var date = ZonedDateTime.now()
-                .minusDays(casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory());
-        return casEventRepository.getEventsOfTypeForPrincipal(type, principal, date);
-    }
-
     /**
      * Gets final averaged score.
      *
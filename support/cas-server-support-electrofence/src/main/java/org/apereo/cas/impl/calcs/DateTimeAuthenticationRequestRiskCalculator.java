@@ -3,15 +3,11 @@ package org.apereo.cas.impl.calcs;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.CasEventRepository;
-import org.apereo.cas.support.events.dao.CasEvent;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.chrono.ChronoZonedDateTime;
-import java.util.Collection;
 
 /**
  * This is {@link DateTimeAuthenticationRequestRiskCalculator}.
@@ -24,35 +20,28 @@ public class DateTimeAuthenticationRequestRiskCalculator extends BaseAuthenticat
 
     private final int windowInHours;
 
-    public DateTimeAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository, final int windowInHours) {
-        super(casEventRepository);
+    public DateTimeAuthenticationRequestRiskCalculator(final AuthenticationRiskProfileRepository authenticationRiskProfileRepository, final int windowInHours) {
+        super(authenticationRiskProfileRepository);
         this.windowInHours = windowInHours;
     }
 
     @Override
     protected BigDecimal calculateScore(final HttpServletRequest request, final Authentication authentication,
-                                        final RegisteredService service, final Collection<CasEvent> events) {
+                                        final RegisteredService service, final AuthenticationRiskProfile profile) {
         final var timestamp = ZonedDateTime.now(ZoneOffset.UTC);
         LOGGER.debug("Filtering authentication events for timestamp [{}]", timestamp);
         
         final var hoursFromNow = timestamp.plusHours(windowInHours).getHour();
         final var hoursBeforeNow = timestamp.minusHours(windowInHours).getHour();
 
-        final var count = events
-            .stream()
-            .map(time -> {
-                final var instant = ChronoZonedDateTime.from(time.getCreationTime()).toInstant();
-                final var zdt = ZonedDateTime.ofInstant(instant, ZoneOffset.UTC);
-                return zdt.getHour();
-            })
-            .filter(hour -> hour <= hoursFromNow && hour >= hoursBeforeNow)
-            .count();
+        final var count = profile.countByHourOfDay(hoursBeforeNow, hoursFromNow);
 
         LOGGER.debug("Total authentication events found for [{}] in a [{}]h window: [{}]", timestamp, windowInHours, count);
-        if (count == events.size()) {
+        final var total = profile.getTotal();
+        if (count == total) {
             LOGGER.debug("Principal [{}] has always authenticated from [{}]", authentication.getPrincipal(), timestamp);
             return LOWEST_RISK_SCORE;
         }
-        return getFinalAveragedScore(count, events.size());
+        return getFinalAveragedScore(count, total);
     }
 }
@@ -5,8 +5,6 @@ import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.dao.CasEvent;
-import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.web.support.WebUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +12,6 @@ import org.springframework.beans.factory.annotation.Qualifier;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
-import java.util.Collection;
 
 /**
  * This is {@link GeoLocationAuthenticationRequestRiskCalculator}.
@@ -32,38 +29,37 @@ public class GeoLocationAuthenticationRequestRiskCalculator extends BaseAuthenti
     @Qualifier("geoLocationService")
     protected GeoLocationService geoLocationService;
 
-    public GeoLocationAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository) {
-        super(casEventRepository);
+    public GeoLocationAuthenticationRequestRiskCalculator(final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+        super(authenticationRiskProfileRepository);
     }
 
     @Override
     protected BigDecimal calculateScore(final HttpServletRequest request, final Authentication authentication,
-                                        final RegisteredService service, final Collection<CasEvent> events) {
+                                        final RegisteredService service, final AuthenticationRiskProfile profile) {
         final var loc = WebUtils.getHttpServletRequestGeoLocation(request);
         if (loc != null && loc.isValid()) {
             LOGGER.debug("Filtering authentication events for geolocation [{}]", loc);
-            final var count = events.stream().filter(e -> e.getGeoLocation().equals(loc)).count();
+            final var count = profile.countByGeoLocation(loc);
             LOGGER.debug("Total authentication events found for [{}]: [{}]", loc, count);
-            if (count == events.size()) {
+            final var total = profile.getTotal();
+            if (count == total) {
                 LOGGER.debug("Principal [{}] has always authenticated from [{}]", authentication.getPrincipal(), loc);
                 return LOWEST_RISK_SCORE;
             }
-            return getFinalAveragedScore(count, events.size());
+            return getFinalAveragedScore(count, total);
         }
         final var remoteAddr = ClientInfoHolder.getClientInfo().getClientIpAddress();
         LOGGER.debug("Filtering authentication events for location based on ip [{}]", remoteAddr);
         final var response = this.geoLocationService.locate(remoteAddr);
         if (response != null) {
-            final var count = events
-                .stream()
-                .filter(e -> e.getGeoLocation().equals(new GeoLocationRequest(response.getLatitude(), response.getLongitude())))
-                .count();
+            final var count = profile.countByGeoLocation(new GeoLocationRequest(response.getLatitude(), response.getLongitude()));
             LOGGER.debug("Total authentication events found for location of [{}]: [{}]", remoteAddr, count);
-            if (count == events.size()) {
+            final var total = profile.getTotal();
+            if (count == total) {
                 LOGGER.debug("Principal [{}] has always authenticated from [{}]", authentication.getPrincipal(), loc);
                 return LOWEST_RISK_SCORE;
             }
-            return getFinalAveragedScore(count, events.size());
+            return getFinalAveragedScore(count, total);
         }
         LOGGER.debug("Request does not contain enough geolocation data");
         return HIGHEST_RISK_SCORE;
@@ -3,13 +3,10 @@ package org.apereo.cas.impl.calcs;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.dao.CasEvent;
-import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.util.HttpRequestUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
-import java.util.Collection;
 
 /**
  * This is {@link UserAgentAuthenticationRequestRiskCalculator}.
@@ -21,24 +18,25 @@ import java.util.Collection;
 public class UserAgentAuthenticationRequestRiskCalculator extends BaseAuthenticationRequestRiskCalculator {
 
     
-    public UserAgentAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository) {
-        super(casEventRepository);
+    public UserAgentAuthenticationRequestRiskCalculator(final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+        super(authenticationRiskProfileRepository);
     }
 
     @Override
     protected BigDecimal calculateScore(final HttpServletRequest request,
                                         final Authentication authentication,
                                         final RegisteredService service,
-                                        final Collection<CasEvent> events) {
+                                        final AuthenticationRiskProfile profile) {
 
         final var agent = HttpRequestUtils.getHttpServletRequestUserAgent(request);
         LOGGER.debug("Filtering authentication events for user agent [{}]", agent);
-        final var count = events.stream().filter(e -> e.getAgent().equalsIgnoreCase(agent)).count();
+        final var count = profile.countByUserAgent(agent);
         LOGGER.debug("Total authentication events found for [{}]: [{}]", agent, count);
-        if (count == events.size()) {
+        final var total = profile.getTotal();
+        if (count == total) {
             LOGGER.debug("Principal [{}] has always authenticated from [{}]", authentication.getPrincipal(), agent);
             return LOWEST_RISK_SCORE;
         }
-        return getFinalAveragedScore(count, events.size());
+        return getFinalAveragedScore(count, total);
     }
 }
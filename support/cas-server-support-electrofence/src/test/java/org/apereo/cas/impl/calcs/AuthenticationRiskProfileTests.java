@@ -0,0 +1,68 @@
+package org.apereo.cas.impl.calcs;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AuthenticationRiskProfileTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class AuthenticationRiskProfileTests {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.1; rv:10.0) Gecko/20100101 Firefox/10.0";
+
+    private AuthenticationRiskProfile profile;
+
+    @Before
+    public void initialize() {
+        this.profile = new AuthenticationRiskProfile(30);
+        final var time = ZonedDateTime.now(ZoneOffset.UTC).minusDays(5).withHour(10);
+        this.profile.record(time, "185.86.151.11", USER_AGENT, new GeoLocationRequest(40.71, -74.005));
+        this.profile.record(time.plusHours(1), "185.86.151.11", USER_AGENT.toUpperCase(), new GeoLocationRequest(40.71, -74.005));
+        this.profile.record(time.plusHours(2), "107.181.69.221", "agent", null);
+    }
+
+    @Test
+    public void verifyEventsAreCounted() {
+        assertEquals(3, this.profile.getTotal());
+        assertEquals(2, this.profile.countByClientIpAddress("185.86.151.11"));
+        assertEquals(2, this.profile.countByUserAgent(USER_AGENT));
+        assertEquals(1, this.profile.countByUserAgent("AGENT"));
+        assertEquals(2, this.profile.countByGeoLocation(new GeoLocationRequest(40.71, -74.005)));
+        assertEquals(0, this.profile.countByGeoLocation(new GeoLocationRequest()));
+        assertEquals(0, this.profile.countByClientIpAddress(null));
+    }
+
+    @Test
+    public void verifyEventsAreCountedByHourOfDay() {
+        assertEquals(2, this.profile.countByHourOfDay(9, 11));
+        assertEquals(3, this.profile.countByHourOfDay(0, 23));
+        assertEquals(0, this.profile.countByHourOfDay(13, 9));
+    }
+
+    @Test
+    public void verifyEventsOutsideRecentHistoryAreIgnored() {
+        this.profile.record(ZonedDateTime.now(ZoneOffset.UTC).minusDays(60), "185.86.151.11", USER_AGENT, null);
+        assertEquals(3, this.profile.getTotal());
+        assertEquals(2, this.profile.countByClientIpAddress("185.86.151.11"));
+    }
+
+    @Test
+    public void verifyDistinctValuesAreBounded() {
+        final var time = ZonedDateTime.now(ZoneOffset.UTC);
+        IntStream.range(0, AuthenticationRiskProfile.MAX_DISTINCT_VALUES_PER_DAY + 10)
+            .forEach(i -> this.profile.record(time, "10.0.0." + i, USER_AGENT, null));
+        assertEquals(3 + AuthenticationRiskProfile.MAX_DISTINCT_VALUES_PER_DAY + 10, this.profile.getTotal());
+        assertEquals(1, this.profile.countByClientIpAddress("10.0.0.0"));
+        assertEquals(0, this.profile.countByClientIpAddress("10.0.0." + (AuthenticationRiskProfile.MAX_DISTINCT_VALUES_PER_DAY + 5)));
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is {@link InfluxDbCasEventRepository}.
@@ -32,20 +33,17 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
 
     @Override
     public void save(final CasEvent event) {
-        final var builder = Point.measurement(MEASUREMENT);
-        ReflectionUtils.doWithFields(CasEvent.class, field -> {
-            if (!Modifier.isStatic(field.getModifiers())) {
-                field.setAccessible(true);
-                if (field.getType().equals(Map.class)) {
-                    builder.fields((Map) field.get(event));
-                } else {
-                    builder.field(field.getName(), field.get(event));
-                }
-            }
-        });
+        influxDbConnectionFactory.writeBatch(buildPoint(event, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis())));
+    }
 
-        final var point = builder.time(System.currentTimeMillis(), TimeUnit.MILLISECONDS).build();
-        influxDbConnectionFactory.writeBatch(point);
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        final var time = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        final var index = new AtomicLong();
+        final var points = events.stream()
+            .map(event -> buildPoint(event, time + index.getAndIncrement()))
+            .toArray(Point[]::new);
+        influxDbConnectionFactory.writeBatch(points);
     }
 
     @Override
@@ -102,6 +100,25 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
     }
 
 
+    /**
+     * Points that share the same timestamp overwrite each other, so each point
+     * in a batch is given its own timestamp in nanoseconds.
+     */
+    private static Point buildPoint(final CasEvent event, final long timeInNanos) {
+        final var builder = Point.measurement(MEASUREMENT);
+        ReflectionUtils.doWithFields(CasEvent.class, field -> {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                if (field.getType().equals(Map.class)) {
+                    builder.fields((Map) field.get(event));
+                } else {
+                    builder.field(field.getName(), field.get(event));
+                }
+            }
+        });
+        return builder.time(timeInNanos, TimeUnit.NANOSECONDS).build();
+    }
+
     /**
      * Stops the database client.
      */
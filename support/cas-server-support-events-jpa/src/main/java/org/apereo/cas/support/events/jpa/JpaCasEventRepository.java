@@ -33,6 +33,12 @@ public class JpaCasEventRepository extends AbstractCasEventRepository {
         this.entityManager.merge(event);
     }
 
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this.entityManager::merge);
+        this.entityManager.flush();
+    }
+
     @Override
     public Collection<CasEvent> load() {
         return this.entityManager.createQuery(SELECT_QUERY.trim(), CasEvent.class).getResultList();
@@ -4,11 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.UUID;
 import lombok.ToString;
 
 /**
@@ -27,9 +31,38 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
 
     @Override
     public void save(final CasEvent event) {
+        event.setId(newEventId());
         this.mongoTemplate.save(event, this.collectionName);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Events are inserted in a single unordered bulk operation, so that an event that cannot be
+     * inserted does not prevent the remaining events from being inserted. Such events are logged
+     * and not retried, since retrying the whole batch would record the inserted events twice.
+     */
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(event -> event.setId(newEventId()));
+        try {
+            this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CasEvent.class, this.collectionName)
+                .insert(new ArrayList<>(events))
+                .execute();
+        } catch (final BulkOperationException e) {
+            LOGGER.error("Unable to insert [{}] of [{}] events into [{}]: [{}]", e.getErrors().size(), events.size(),
+                this.collectionName, e.getErrors().get(0).getMessage());
+        }
+    }
+
+    /**
+     * Events are created with an identifier based on the current time, which is
+     * not unique when many events are created at once and would make inserts fail.
+     */
+    private static long newEventId() {
+        return UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE;
+    }
+
     @Override
     public Collection<CasEvent> load() {
         return this.mongoTemplate.findAll(CasEvent.class, this.collectionName);
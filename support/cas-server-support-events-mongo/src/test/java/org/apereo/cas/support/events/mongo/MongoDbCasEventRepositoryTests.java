@@ -4,19 +4,28 @@ import org.apereo.cas.category.MongoDbCategory;
 import org.apereo.cas.config.MongoDbEventsConfiguration;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
 import org.junit.ClassRule;
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.ZonedDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
 /**
  * Test cases for {@link MongoDbCasEventRepository}.
  *
@@ -39,8 +48,28 @@ public class MongoDbCasEventRepositoryTests extends AbstractCasEventRepositoryTe
     @Qualifier("casEventRepository")
     private CasEventRepository casEventRepository;
 
+    @Autowired
+    @Qualifier("mongoEventsTemplate")
+    private MongoTemplate mongoEventsTemplate;
+
     @Override
     public CasEventRepository getRepositoryInstance() {
         return this.casEventRepository;
     }
+
+    @Test
+    public void verifyEventsCreatedAtOnceAreSaved() {
+        final var repository = new MongoDbCasEventRepository(this.mongoEventsTemplate, "MongoDbCasEventRepositoryBulkTests");
+        final var events = IntStream.range(0, 50)
+            .mapToObj(i -> {
+                final var event = new CasEvent();
+                event.setType("type");
+                event.setPrincipalId("casuser");
+                event.setCreationTime(ZonedDateTime.now().toString());
+                return event;
+            })
+            .collect(Collectors.toList());
+        repository.saveAll(events);
+        assertEquals(50, repository.getEventsForPrincipal("casuser").size());
+    }
 }
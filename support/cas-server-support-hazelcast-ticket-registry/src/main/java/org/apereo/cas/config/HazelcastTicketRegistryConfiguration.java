@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
@@ -85,6 +86,9 @@ public class HazelcastTicketRegistryConfiguration {
             LOGGER.debug("Created Hazelcast map configuration for [{}]", t);
             mapConfigs.put(t.getProperties().getStorageName(), mapConfig);
         });
+        final var principalsMapConfig = factory.buildMapConfig(hz, HazelcastTicketRegistry.PRINCIPALS_MAP_NAME, 0)
+            .addMapIndexConfig(new MapIndexConfig("this", false));
+        mapConfigs.put(HazelcastTicketRegistry.PRINCIPALS_MAP_NAME, principalsMapConfig);
         return mapConfigs;
     }
 }
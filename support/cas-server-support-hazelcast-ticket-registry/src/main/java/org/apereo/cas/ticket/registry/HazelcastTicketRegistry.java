@@ -2,18 +2,21 @@ package org.apereo.cas.ticket.registry;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
-import lombok.AllArgsConstructor;
+import com.hazelcast.query.Predicates;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.springframework.beans.factory.DisposableBean;
 
 import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -21,14 +24,21 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Ticket-granting tickets are additionally recorded in a map of (encoded) ticket ids to (encoded) principal ids,
+ * which expires entries along with the tickets and is indexed by value, so that tickets may be looked up by principal.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
  * @since 4.1.0
  */
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    /**
+     * Name of the map that records principals of ticket-granting tickets.
+     */
+    public static final String PRINCIPALS_MAP_NAME = "ticketGrantingTicketPrincipalsCache";
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
@@ -53,9 +63,32 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         final var ticketMap = getTicketMapInstanceByMetadata(metadata);
 
         ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+        if (ticket instanceof TicketGrantingTicket) {
+            final var authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                getPrincipalsMapInstance().set(encTicket.getId(), encodePrincipalId(authentication.getPrincipal().getId()), ttl, TimeUnit.SECONDS);
+            }
+        }
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
+    @Override
+    public Stream<TicketGrantingTicket> getTicketGrantingTicketsForPrincipal(final String principalId) {
+        final var ids = getPrincipalsMapInstance().keySet(Predicates.equal("this", encodePrincipalId(principalId)));
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .flatMap(map -> map.getAll(ids).values().stream())
+            .map(this::decodeTicket)
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         final var mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -89,11 +122,13 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         final var encTicketId = encodeTicketId(ticketIdToDelete);
         final var metadata = this.ticketCatalog.find(ticketIdToDelete);
         final var map = getTicketMapInstanceByMetadata(metadata);
+        getPrincipalsMapInstance().delete(encTicketId);
         return map.remove(encTicketId) != null;
     }
 
     @Override
     public long deleteAll() {
+        getPrincipalsMapInstance().clear();
         return this.ticketCatalog.findAll().stream()
             .map(this::getTicketMapInstanceByMetadata)
             .filter(Objects::nonNull)
@@ -143,6 +178,10 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
+    private IMap<String, String> getPrincipalsMapInstance() {
+        return this.hazelcastInstance.getMap(PRINCIPALS_MAP_NAME);
+    }
+
     private IMap<String, Ticket> getTicketMapInstance(final String mapName) {
         try {
             final IMap<String, Ticket> inst = hazelcastInstance.getMap(mapName);
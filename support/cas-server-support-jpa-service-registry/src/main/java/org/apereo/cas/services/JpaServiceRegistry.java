@@ -8,7 +8,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of the ServiceRegistry based on JPA.
@@ -45,8 +47,33 @@ public class JpaServiceRegistry extends AbstractServiceRegistry {
         return list;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes cannot be determined while the table holds definitions without
+     * a modification time, i.e. those saved before changes were tracked, in which case the registry is loaded in full.
+     */
+    @Override
+    public Optional<RegisteredServiceChanges> loadChanges(final long sinceVersion) {
+        final var version = getNextChangesVersion();
+        final var untrackedQuery = String.format("select count(r) from %s r where r.lastModified is null", ENTITY_NAME);
+        if (this.entityManager.createQuery(untrackedQuery, Long.class).getSingleResult() > 0) {
+            LOGGER.debug("Some service definitions have no modification time; changes cannot be determined");
+            return Optional.empty();
+        }
+        final var query = String.format("select r from %s r where r.lastModified >= :since", ENTITY_NAME);
+        final var changed = this.entityManager.createQuery(query, RegisteredService.class)
+            .setParameter("since", sinceVersion)
+            .getResultList();
+        final var idQuery = String.format("select r.id from %s r", ENTITY_NAME);
+        final var ids = new HashSet<Long>(this.entityManager.createQuery(idQuery, Long.class).getResultList());
+        changed.forEach(s -> publishEvent(new CasRegisteredServiceLoadedEvent(this, s)));
+        return Optional.of(new RegisteredServiceChanges(version, changed, ids));
+    }
+
     @Override
     public RegisteredService save(final RegisteredService registeredService) {
+        markRegisteredServiceModified(registeredService);
         final var isNew = registeredService.getId() == RegisteredService.INITIAL_IDENTIFIER_VALUE;
         final var r = this.entityManager.merge(registeredService);
         if (!isNew) {
@@ -1,6 +1,7 @@
 package org.apereo.cas.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.RandomUtils;
 import org.apereo.cas.config.CasCoreServicesConfiguration;
 import org.apereo.cas.config.CasCoreUtilConfiguration;
 import org.apereo.cas.config.JpaServiceRegistryConfiguration;
@@ -8,6 +9,7 @@ import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.junit.ConditionalParameterizedRunner;
 import org.apereo.cas.ws.idp.services.WSFederationRegisteredService;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +22,8 @@ import org.springframework.test.annotation.DirtiesContext;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * Handles tests for {@link JpaServiceRegistry}
  *
@@ -59,4 +63,18 @@ public class JpaServiceRegistryTests extends AbstractServiceRegistryTests {
     public ServiceRegistry getNewServiceRegistry() {
         return this.serviceRegistry;
     }
+
+    @Test
+    public void verifyLoadChanges() {
+        final var version = System.currentTimeMillis() - AbstractServiceRegistry.CHANGES_OVERLAP_MILLIS;
+        final var r = this.serviceRegistry.save(buildRegisteredServiceInstance(RandomUtils.nextInt()));
+
+        var changes = this.serviceRegistry.loadChanges(version).get();
+        assertTrue(changes.getChangedServices().stream().anyMatch(s -> s.getId() == r.getId()));
+        assertTrue(changes.getRegisteredServiceIds().contains(r.getId()));
+
+        this.serviceRegistry.delete(r);
+        changes = this.serviceRegistry.loadChanges(changes.getVersion()).get();
+        assertFalse(changes.getRegisteredServiceIds().contains(r.getId()));
+    }
 }
@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -16,8 +18,10 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -48,6 +52,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        scheduleExpiration(ticket);
         this.entityManager.merge(ticket);
         LOGGER.debug("Updated ticket [{}].", ticket);
         return ticket;
@@ -55,6 +60,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public void addTicket(final Ticket ticket) {
+        scheduleExpiration(ticket);
         this.entityManager.persist(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket);
     }
@@ -126,6 +132,70 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .flatMap(org.hibernate.query.Query::stream);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only tickets whose expiration time column has passed are examined. Each examined ticket is given
+     * the time at which it is to be examined again, so that tickets that turn out to be still valid, or fail
+     * to be removed, are not returned again until then.
+     */
+    @Override
+    public Collection<Ticket> getExpiredTickets(final int limit) {
+        final var now = System.currentTimeMillis();
+        final List<Ticket> expired = new ArrayList<>();
+        for (final var definition : this.ticketCatalog.findAll()) {
+            final var sql = String.format("select t from %s t where t.expirationTime is null or t.expirationTime <= :now",
+                getTicketEntityName(definition));
+            var candidates = findExpirationCandidates(sql, definition, now, limit - expired.size());
+            while (!candidates.isEmpty()) {
+                candidates.forEach(ticket -> {
+                    if (ticket.isExpired()) {
+                        expired.add(ticket);
+                    }
+                    if (ticket instanceof AbstractTicket) {
+                        ((AbstractTicket) ticket).setExpirationTime(TicketExpirationIndex.getNextExaminationTime(ticket, now));
+                    }
+                });
+                this.entityManager.flush();
+                candidates = expired.size() < limit
+                    ? findExpirationCandidates(sql, definition, now, limit - expired.size())
+                    : new ArrayList<>(0);
+            }
+            if (expired.size() >= limit) {
+                break;
+            }
+        }
+        LOGGER.debug("Located [{}] expired ticket(s)", expired.size());
+        return expired;
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTicketsStream(final int pageSize) {
+        return getExpiredTicketsInPages(pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets stored before the principal id column was introduced have no principal id. Such tickets are
+     * also loaded and matched by their authentication, and their principal id is filled in as they load,
+     * so that the first lookup after an upgrade examines them all and later lookups only use the column.
+     */
+    @Override
+    public Stream<TicketGrantingTicket> getTicketGrantingTicketsForPrincipal(final String principalId) {
+        final var md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        final var sql = String.format("select t from %s t where t.principalId = :principalId or t.principalId is null",
+            getTicketEntityName(md));
+        final TypedQuery<? extends Ticket> query = this.entityManager.createQuery(sql, md.getImplementationClass());
+        query.setParameter("principalId", StringUtils.lowerCase(principalId, Locale.ROOT));
+        return query.getResultList()
+            .stream()
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .filter(t -> t.getAuthentication().getPrincipal() != null
+                && StringUtils.equalsIgnoreCase(t.getAuthentication().getPrincipal().getId(), principalId));
+    }
+
     @Override
     public long sessionCount() {
         final var md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -165,6 +235,22 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount != 0;
     }
 
+    private List<? extends Ticket> findExpirationCandidates(final String sql, final TicketDefinition definition,
+                                                            final long now, final int limit) {
+        final TypedQuery<? extends Ticket> query = this.entityManager.createQuery(sql, definition.getImplementationClass());
+        query.setParameter("now", now);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    private static void scheduleExpiration(final Ticket ticket) {
+        if (ticket instanceof AbstractTicket) {
+            final var now = System.currentTimeMillis();
+            final var expirationTime = ticket.isExpired() ? now : TicketExpirationIndex.getExpirationTime(ticket, now);
+            ((AbstractTicket) ticket).setExpirationTime(expirationTime);
+        }
+    }
+
     private static String getTicketEntityName(final TicketDefinition tk) {
         return tk.getImplementationClass().getSimpleName();
     }
@@ -21,7 +21,12 @@ import org.apereo.cas.config.JpaTicketRegistryConfiguration;
 import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,9 +39,12 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
 
 /**
  * Unit test for {@link JpaTicketRegistry} class.
@@ -77,6 +85,9 @@ public class JpaTicketRegistryTests extends BaseSpringRunnableTicketRegistryTest
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private EntityManager entityManager;
+
     public JpaTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -86,6 +97,25 @@ public class JpaTicketRegistryTests extends BaseSpringRunnableTicketRegistryTest
         return this.ticketRegistry;
     }
 
+    @Test
+    public void verifyTicketsWithoutPrincipalIdAreFoundAndFilledIn() {
+        final var tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-upgraded-1",
+            CoreAuthenticationTestUtils.getAuthentication("upgraded-casuser"),
+            new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        this.entityManager.flush();
+        final var update = this.entityManager.createQuery("update TicketGrantingTicketImpl t set t.principalId = null where t.id = :id");
+        update.setParameter("id", tgt.getId());
+        assertEquals(1, update.executeUpdate());
+        this.entityManager.clear();
+
+        assertEquals(1, this.ticketRegistry.getTicketGrantingTicketsForPrincipal("upgraded-casuser").count());
+        this.entityManager.flush();
+        final var missing = this.entityManager.createQuery("select count(t) from TicketGrantingTicketImpl t where t.principalId is null");
+        assertEquals(0L, ((Number) missing.getSingleResult()).longValue());
+        assertEquals(0, this.ticketRegistry.getTicketGrantingTicketsForPrincipal("upgraded-other").count());
+    }
+
     @Parameterized.Parameters
     public static Collection<Object> getTestParameters() {
         return Arrays.asList(false);
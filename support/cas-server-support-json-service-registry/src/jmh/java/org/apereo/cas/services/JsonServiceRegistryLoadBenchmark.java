@@ -0,0 +1,109 @@
+package org.apereo.cas.services;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
+import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link JsonServiceRegistryLoadBenchmark} that measures how long it takes
+ * a {@link JsonServiceRegistry} to load a directory of service definitions, either at startup
+ * when every definition must be parsed, or when reloading a directory whose definitions have not changed.
+ * Run via the {@code jmh} task of the module, or the {@link #main(String[])} method from the benchmark classpath.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonServiceRegistryLoadBenchmark {
+
+    private static final ApplicationEventPublisher NO_OP_PUBLISHER = event -> {
+    };
+
+    @Param({"1000", "8000"})
+    private int services;
+
+    @Param({"1", "4"})
+    private int loadParallelism;
+
+    private Path directory;
+
+    private JsonServiceRegistry registry;
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(JsonServiceRegistryLoadBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("services");
+        final var writer = newRegistry();
+        for (var i = 1; i <= this.services; i++) {
+            final var service = new RegexRegisteredService();
+            service.setId(i);
+            service.setName("Application" + i);
+            service.setServiceId("^https://app" + i + "\\.example\\.org/.*");
+            service.setDescription("Service definition for application " + i);
+            service.setEvaluationOrder(i);
+            writer.save(service);
+        }
+        writer.destroy();
+        this.registry = newRegistry();
+        this.registry.load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.registry.destroy();
+        FileUtils.deleteDirectory(this.directory.toFile());
+    }
+
+    @Benchmark
+    public List<RegisteredService> startup() {
+        final var startupRegistry = newRegistry();
+        try {
+            return startupRegistry.load();
+        } finally {
+            startupRegistry.destroy();
+        }
+    }
+
+    @Benchmark
+    public List<RegisteredService> reload() {
+        return this.registry.load();
+    }
+
+    private JsonServiceRegistry newRegistry() {
+        final var jsonRegistry = new JsonServiceRegistry(this.directory, false, NO_OP_PUBLISHER,
+            new NoOpRegisteredServiceReplicationStrategy(), new DefaultRegisteredServiceResourceNamingStrategy());
+        jsonRegistry.setLoadParallelism(this.loadParallelism);
+        return jsonRegistry;
+    }
+}
@@ -50,9 +50,11 @@ public class JsonServiceRegistryConfiguration implements ServiceRegistryExecutio
     @SneakyThrows
     public ServiceRegistry jsonServiceRegistry() {
         final var registry = casProperties.getServiceRegistry();
-        return new JsonServiceRegistry(registry.getJson().getLocation(),
+        final var json = new JsonServiceRegistry(registry.getJson().getLocation(),
             registry.isWatcherEnabled(), eventPublisher,
             registeredServiceReplicationStrategy, resourceNamingStrategy);
+        json.setLoadParallelism(registry.getLoadParallelism());
+        return json;
     }
 
     @Override
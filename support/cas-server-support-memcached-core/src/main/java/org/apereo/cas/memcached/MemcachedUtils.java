@@ -8,8 +8,8 @@ import net.spy.memcached.transcoders.WhalinTranscoder;
 import net.spy.memcached.transcoders.WhalinV1Transcoder;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.model.support.memcached.BaseMemcachedProperties;
-import org.apereo.cas.memcached.kryo.CasKryoPool;
 import org.apereo.cas.memcached.kryo.CasKryoTranscoder;
+import org.apereo.cas.ticket.serialization.kryo.CasKryoPool;
 
 import java.util.ArrayList;
 import java.util.Collection;
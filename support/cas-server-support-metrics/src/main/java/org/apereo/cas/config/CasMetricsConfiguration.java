@@ -1,9 +1,14 @@
 package org.apereo.cas.config;
 
 import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.ServicesManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,8 +24,32 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @Slf4j
 public class CasMetricsConfiguration {
+
+    @Autowired
+    @Qualifier("servicesManager")
+    private ServicesManager servicesManager;
+
     @Bean
     public TimedAspect timedAspect(final MeterRegistry registry) {
         return new TimedAspect(registry);
     }
+
+    @Bean
+    public MeterBinder servicesManagerLookupMetrics() {
+        return registry -> {
+            FunctionCounter.builder("cas.services.lookups", servicesManager, m -> getLookupStatistic(m, "hitCount"))
+                .tag("result", "hit")
+                .description("Number of service lookups served from the services manager cache")
+                .register(registry);
+            FunctionCounter.builder("cas.services.lookups", servicesManager, m -> getLookupStatistic(m, "missCount"))
+                .tag("result", "miss")
+                .description("Number of service lookups evaluated against service definitions")
+                .register(registry);
+        };
+    }
+
+    private static double getLookupStatistic(final ServicesManager manager, final String name) {
+        final var value = manager.getLookupStatistics().get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
 }
@@ -8,7 +8,10 @@ import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -26,6 +29,10 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class MongoDbServiceRegistry extends AbstractServiceRegistry {
 
+    private static final String FIELD_NAME_ID = "_id";
+
+    private static final String FIELD_NAME_LAST_MODIFIED = "lastModified";
+
     private final MongoOperations mongoTemplate;
     private final String collectionName;
 
@@ -57,11 +64,34 @@ public class MongoDbServiceRegistry extends AbstractServiceRegistry {
         return list;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes cannot be determined while the collection holds definitions without
+     * a modification time, i.e. those saved before changes were tracked, in which case the registry is loaded in full.
+     */
+    @Override
+    public Optional<RegisteredServiceChanges> loadChanges(final long sinceVersion) {
+        final var version = getNextChangesVersion();
+        if (this.mongoTemplate.exists(new Query(Criteria.where(FIELD_NAME_LAST_MODIFIED).exists(false)), this.collectionName)) {
+            LOGGER.debug("Some service definitions have no modification time; changes cannot be determined");
+            return Optional.empty();
+        }
+        final var changed = this.mongoTemplate.find(new Query(Criteria.where(FIELD_NAME_LAST_MODIFIED).gte(sinceVersion)),
+            RegisteredService.class, this.collectionName);
+        final Set<Long> ids = this.mongoTemplate.getCollection(this.collectionName)
+            .distinct(FIELD_NAME_ID, Long.class)
+            .into(new HashSet<>());
+        changed.forEach(s -> publishEvent(new CasRegisteredServiceLoadedEvent(this, s)));
+        return Optional.of(new RegisteredServiceChanges(version, changed, ids));
+    }
+
     @Override
     public RegisteredService save(final RegisteredService svc) {
         if (svc.getId() == AbstractRegisteredService.INITIAL_IDENTIFIER_VALUE) {
             svc.setId(svc.hashCode());
         }
+        markRegisteredServiceModified(svc);
         this.mongoTemplate.save(svc, this.collectionName);
         LOGGER.debug("Saved registered service: [{}]", svc);
         return this.findServiceById(svc.getId());
@@ -1,8 +1,10 @@
 package org.apereo.cas.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.RandomUtils;
 import org.apereo.cas.category.MongoDbCategory;
 import org.apereo.cas.config.MongoDbServiceRegistryConfiguration;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -15,6 +17,8 @@ import org.springframework.test.context.TestPropertySource;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * This is {@link MongoDbServiceRegistryCloudTests}.
  *
@@ -44,6 +48,20 @@ public class MongoDbServiceRegistryCloudTests extends AbstractServiceRegistryTes
         return this.serviceRegistry;
     }
 
+    @Test
+    public void verifyLoadChanges() {
+        final var version = System.currentTimeMillis() - AbstractServiceRegistry.CHANGES_OVERLAP_MILLIS;
+        final var r = this.serviceRegistry.save(buildRegisteredServiceInstance(RandomUtils.nextInt()));
+
+        var changes = this.serviceRegistry.loadChanges(version).get();
+        assertTrue(changes.getChangedServices().stream().anyMatch(s -> s.getId() == r.getId()));
+        assertTrue(changes.getRegisteredServiceIds().contains(r.getId()));
+
+        this.serviceRegistry.delete(r);
+        changes = this.serviceRegistry.loadChanges(changes.getVersion()).get();
+        assertFalse(changes.getRegisteredServiceIds().contains(r.getId()));
+    }
+
     @Parameterized.Parameters
     public static Collection<Object> getTestParameters() {
         return Arrays.asList(RegexRegisteredService.class);
@@ -8,19 +8,23 @@ import org.apereo.cas.ticket.BaseTicketSerializers;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -56,6 +60,12 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         final MongoCollection collection = mongoTemplate.getCollection(collectionName);
         mongoTemplate.indexOps(TicketHolder.class)
             .ensureIndex(new Index().on("expireAt", Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout()));
+        if (TicketGrantingTicket.class.isAssignableFrom(ticket.getImplementationClass())) {
+            LOGGER.debug("Creating indices on collection [{}] to look up documents by principal...", collectionName);
+            mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC));
+        }
+        LOGGER.debug("Creating indices on collection [{}] to look up expired documents...", collectionName);
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_EXPIRATION_TIME, Sort.Direction.ASC));
         return collection;
     }
 
@@ -85,7 +95,9 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             final var query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            final var update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            final var update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal())
+                .set(TicketHolder.FIELD_NAME_EXPIRATION_TIME, holder.getExpirationTime());
             this.mongoTemplate.upsert(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
@@ -162,6 +174,63 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public Stream<TicketGrantingTicket> getTicketGrantingTicketsForPrincipal(final String principalId) {
+        final var query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(encodePrincipalId(principalId)));
+        return this.ticketCatalog.findAll().stream()
+            .filter(metadata -> TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .flatMap(collectionName -> this.mongoTemplate.find(query, TicketHolder.class, collectionName).stream())
+            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only documents whose expiration time has passed are examined. Each examined document is given
+     * the time at which it is to be examined again, so that tickets that turn out to be still valid, or fail
+     * to be removed, are not returned again until then.
+     */
+    @Override
+    public Collection<Ticket> getExpiredTickets(final int limit) {
+        final var now = System.currentTimeMillis();
+        final List<Ticket> expired = new ArrayList<>();
+        for (final var metadata : this.ticketCatalog.findAll()) {
+            final var collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            var candidates = findExpirationCandidates(collectionName, now, limit - expired.size());
+            while (!candidates.isEmpty()) {
+                final var bulk = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                candidates.forEach(holder -> {
+                    final var ticket = decodeTicket(deserializeTicketFromMongoDocument(holder));
+                    final var nextExaminationTime = ticket == null
+                        ? now + TicketExpirationIndex.RECHECK_DELAY_MILLIS
+                        : TicketExpirationIndex.getNextExaminationTime(ticket, now);
+                    if (ticket != null && ticket.isExpired()) {
+                        expired.add(ticket);
+                    }
+                    bulk.updateOne(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId())),
+                        Update.update(TicketHolder.FIELD_NAME_EXPIRATION_TIME, nextExaminationTime));
+                });
+                bulk.execute();
+                candidates = expired.size() < limit
+                    ? findExpirationCandidates(collectionName, now, limit - expired.size())
+                    : new ArrayList<>(0);
+            }
+            if (expired.size() >= limit) {
+                break;
+            }
+        }
+        LOGGER.debug("Located [{}] expired ticket(s)", expired.size());
+        return expired;
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTicketsStream(final int pageSize) {
+        return getExpiredTicketsInPages(pageSize);
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         final var ticketId = encodeTicketId(ticketIdToDelete);
@@ -192,6 +261,14 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .sum();
     }
 
+    private List<TicketHolder> findExpirationCandidates(final String collectionName, final long now, final int limit) {
+        final var query = new Query(new Criteria().orOperator(
+            Criteria.where(TicketHolder.FIELD_NAME_EXPIRATION_TIME).lte(now),
+            Criteria.where(TicketHolder.FIELD_NAME_EXPIRATION_TIME).exists(false)))
+            .limit(limit);
+        return this.mongoTemplate.find(query, TicketHolder.class, collectionName);
+    }
+
     /**
      * Calculate the time at which the ticket is eligible for automated deletion by MongoDb.
      * Makes the assumption that the CAS server date and the Mongo server date are in sync.
@@ -226,11 +303,24 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             final var expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            final var now = System.currentTimeMillis();
+            final var expirationTime = ticket.isExpired() ? now : TicketExpirationIndex.getExpirationTime(ticket, now);
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt,
+                getPrincipal(ticket), expirationTime);
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
 
+    private String getPrincipal(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            final var authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return encodePrincipalId(authentication.getPrincipal().getId());
+            }
+        }
+        return null;
+    }
+
     private String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         final var mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating collection name [{}] for ticket definition [{}]", mapName, metadata);
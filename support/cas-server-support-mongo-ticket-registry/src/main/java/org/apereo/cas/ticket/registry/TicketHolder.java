@@ -38,6 +38,16 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold the (encoded) principal id of ticket-granting tickets.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name to hold the time, in milliseconds, at which the ticket is to be examined for expiration.
+     */
+    public static final String FIELD_NAME_EXPIRATION_TIME = "expirationTime";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     private final String json;
@@ -48,4 +58,8 @@ public class TicketHolder implements Serializable {
 
     @Indexed
     private final Date expireAt;
+
+    private final String principal;
+
+    private final Long expirationTime;
 }
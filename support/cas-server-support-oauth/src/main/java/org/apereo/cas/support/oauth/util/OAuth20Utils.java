@@ -2,7 +2,6 @@ package org.apereo.cas.support.oauth.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
@@ -12,6 +11,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.HttpStatus;
 import org.apereo.cas.CasProtocolConstants;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceLookupKey;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.oauth.OAuth20Constants;
@@ -34,7 +34,6 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -52,6 +51,9 @@ import static org.apereo.cas.support.oauth.OAuth20Constants.BASE_OAUTH20_URL;
 public class OAuth20Utils {
     private static final ObjectWriter WRITER = new ObjectMapper().findAndRegisterModules().writer().withDefaultPrettyPrinter();
 
+    private static final RegisteredServiceLookupKey<OAuthRegisteredService> CLIENT_ID_LOOKUP_KEY =
+        new RegisteredServiceLookupKey<>("clientId", OAuthRegisteredService.class, OAuthRegisteredService::getClientId);
+
     /**
      * Write to the output this error text and return a null view.
      *
@@ -99,7 +101,7 @@ public class OAuth20Utils {
      * @return null, or the located {@link OAuthRegisteredService} instance in the service registry.
      */
     public static OAuthRegisteredService getRegisteredOAuthServiceByClientId(final ServicesManager servicesManager, final String clientId) {
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equals(clientId));
+        return servicesManager.findServiceBy(CLIENT_ID_LOOKUP_KEY, clientId);
     }
 
     /**
@@ -110,22 +112,9 @@ public class OAuth20Utils {
      * @return the registered o auth service by redirect uri
      */
     public static OAuthRegisteredService getRegisteredOAuthServiceByRedirectUri(final ServicesManager servicesManager, final String redirectUri) {
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.matches(redirectUri));
+        return servicesManager.findMatchingServiceOfType(redirectUri, OAuthRegisteredService.class);
     }
 
-    @SuppressFBWarnings("PRMC_POSSIBLY_REDUNDANT_METHOD_CALLS")
-    private static OAuthRegisteredService getRegisteredOAuthServiceByPredicate(final ServicesManager servicesManager,
-                                                                               final Predicate<OAuthRegisteredService> predicate) {
-        final var services = servicesManager.getAllServices();
-        return services.stream()
-            .filter(OAuthRegisteredService.class::isInstance)
-            .map(OAuthRegisteredService.class::cast)
-            .filter(predicate)
-            .findFirst()
-            .orElse(null);
-    }
-
-
     /**
      * Gets attributes.
      *
@@ -2,15 +2,20 @@ package org.apereo.cas.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apereo.cas.authentication.principal.resolvers.InternalGroovyScriptDao;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
 import org.apereo.cas.util.CollectionUtils;
@@ -47,6 +52,9 @@ import javax.naming.directory.SearchControls;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -326,23 +334,72 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        final var mergingDao = new MergingPersonAttributeDaoImpl();
-        final var merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace".trim());
+        final var props = casProperties.getAuthn().getAttributeRepository();
+        final var merger = StringUtils.defaultIfBlank(props.getMerger(), "replace".trim());
         LOGGER.debug("Configured merging strategy for attribute sources is [{}]", merger);
-        mergingDao.setMerger(getAttributeMerger(merger));
 
         final var list = attributeRepositories();
-        mergingDao.setPersonAttributeDaos(list);
-
         if (list.isEmpty()) {
             LOGGER.debug("No attribute repository sources are available/defined to merge together.");
         } else {
             LOGGER.debug("Configured attribute repository sources to merge together: [{}]", list);
         }
 
+        final var aggregation = props.getAggregation();
+        if (aggregation.isParallel()) {
+            LOGGER.debug("Attribute repository sources will be queried concurrently");
+            return new ParallelMergingPersonAttributeDao(list, getAttributeMerger(merger),
+                attributeRepositoryExecutorService(),
+                Beans.newDuration(aggregation.getSourceTimeout()),
+                Beans.newDuration(aggregation.getDeadline()));
+        }
+
+        final var mergingDao = new MergingPersonAttributeDaoImpl();
+        mergingDao.setMerger(getAttributeMerger(merger));
+        mergingDao.setPersonAttributeDaos(list);
         return mergingDao;
     }
 
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnMissingBean(name = "attributeRepositoryExecutorService")
+    public ExecutorService attributeRepositoryExecutorService() {
+        final var aggregation = casProperties.getAuthn().getAttributeRepository().getAggregation();
+        final var threads = Math.max(1, aggregation.getMaximumThreads());
+        final var executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(Math.max(1, aggregation.getQueueCapacity())),
+            new BasicThreadFactory.Builder().namingPattern("cas-attribute-repository-%d").daemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder attributeRepositoryMetrics() {
+        return registry -> {
+            final var dao = aggregatingAttributeRepository();
+            if (dao instanceof ParallelMergingPersonAttributeDao) {
+                ((ParallelMergingPersonAttributeDao) dao).getStatistics().forEach((source, stats) -> {
+                    FunctionTimer.builder("cas.persondir.source.queries", stats,
+                        ParallelMergingPersonAttributeDao.SourceStatistics::getInvocations,
+                        ParallelMergingPersonAttributeDao.SourceStatistics::getTotalTimeInNanos, TimeUnit.NANOSECONDS)
+                        .tag("source", source)
+                        .description("Queries sent to the attribute repository source and the time spent on them")
+                        .register(registry);
+                    FunctionCounter.builder("cas.persondir.source.timeouts", stats,
+                        ParallelMergingPersonAttributeDao.SourceStatistics::getTimeouts)
+                        .tag("source", source)
+                        .description("Queries skipped because the attribute repository source did not respond in time")
+                        .register(registry);
+                    FunctionCounter.builder("cas.persondir.source.failures", stats,
+                        ParallelMergingPersonAttributeDao.SourceStatistics::getFailures)
+                        .tag("source", source)
+                        .description("Queries that failed against the attribute repository source")
+                        .register(registry);
+                });
+            }
+        };
+    }
+
     private IAttributeMerger getAttributeMerger(final String merger) {
         switch (merger.toLowerCase()) {
             case "merge":
@@ -0,0 +1,252 @@
+package org.apereo.cas.persondir;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.NamedPersonImpl;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao} that queries all attribute repository sources
+ * concurrently and merges their results together.
+ * <p>
+ * Each source is given at most the per-source timeout, and all sources together are given at most
+ * the deadline, measured from the time the query is received. Sources that fail or do not respond
+ * in time are skipped, as are sources whose query is rejected by the executor because it is saturated. Results are always merged in the order in which sources are defined,
+ * regardless of the order in which they respond, so that the merging strategy produces the same
+ * outcome as querying the sources one after the other would.
+ * <p>
+ * Per-source statistics on invocations, failures, timeouts and latency are kept in {@link #getStatistics()}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao {
+
+    private final List<IPersonAttributeDao> personAttributeDaos;
+
+    private final IAttributeMerger merger;
+
+    private final ExecutorService executorService;
+
+    private final long sourceTimeoutInNanos;
+
+    private final long deadlineInNanos;
+
+    private final Map<String, SourceStatistics> statistics;
+
+    @Getter(AccessLevel.NONE)
+    private final List<SourceStatistics> sourceStatistics;
+
+    public ParallelMergingPersonAttributeDao(final List<IPersonAttributeDao> personAttributeDaos,
+                                             final IAttributeMerger merger,
+                                             final ExecutorService executorService,
+                                             final Duration sourceTimeout,
+                                             final Duration deadline) {
+        this.personAttributeDaos = new ArrayList<>(personAttributeDaos);
+        this.merger = merger;
+        this.executorService = executorService;
+        this.sourceTimeoutInNanos = sourceTimeout.toNanos();
+        this.deadlineInNanos = deadline.toNanos();
+
+        final Map<String, SourceStatistics> stats = new LinkedHashMap<>();
+        for (var i = 0; i < this.personAttributeDaos.size(); i++) {
+            stats.put(i + "-" + this.personAttributeDaos.get(i).getClass().getSimpleName(), new SourceStatistics());
+        }
+        this.statistics = Collections.unmodifiableMap(stats);
+        this.sourceStatistics = new ArrayList<>(stats.values());
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        final var people = query(dao -> dao.getPerson(uid));
+        if (people.isEmpty()) {
+            return null;
+        }
+        if (people.size() == 1) {
+            return people.get(0);
+        }
+        Map<String, List<Object>> attributes = new LinkedHashMap<>();
+        for (final var person : people) {
+            attributes = this.merger.mergeAttributes(attributes, person.getAttributes());
+        }
+        return new NamedPersonImpl(uid, attributes);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query) {
+        return mergeResults(query(dao -> dao.getPeople(query)));
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        return mergeResults(query(dao -> dao.getPeopleWithMultivaluedAttributes(query)));
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        return mergeAttributeNames(IPersonAttributeDao::getPossibleUserAttributeNames, this.merger::mergePossibleUserAttributeNames);
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        return mergeAttributeNames(IPersonAttributeDao::getAvailableQueryAttributes, this.merger::mergeAvailableQueryAttributes);
+    }
+
+    private Set<IPersonAttributes> mergeResults(final List<Set<IPersonAttributes>> results) {
+        if (results.isEmpty()) {
+            return null;
+        }
+        Set<IPersonAttributes> people = new LinkedHashSet<>(results.get(0));
+        for (var i = 1; i < results.size(); i++) {
+            people = this.merger.mergeResults(people, results.get(i));
+        }
+        return people;
+    }
+
+    private Set<String> mergeAttributeNames(final Function<IPersonAttributeDao, Set<String>> function,
+                                            final BinaryOperator<Set<String>> mergeFunction) {
+        Set<String> names = null;
+        for (final var dao : this.personAttributeDaos) {
+            try {
+                final var current = function.apply(dao);
+                if (current != null) {
+                    names = names == null ? new LinkedHashSet<>(current) : mergeFunction.apply(names, current);
+                }
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to determine attribute names from [{}]: [{}]", dao, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Query all sources concurrently and collect the non-null results of the sources
+     * that respond in time, in the order in which sources are defined.
+     *
+     * @param <T>      the result type
+     * @param function the query to run against each source
+     * @return the results
+     */
+    protected <T> List<T> query(final Function<IPersonAttributeDao, T> function) {
+        final var started = System.nanoTime();
+        final var deadline = started + this.deadlineInNanos;
+        final var size = this.personAttributeDaos.size();
+
+        final List<Future<T>> futures = new ArrayList<>(size);
+        final var submitted = new long[size];
+        for (var i = 0; i < size; i++) {
+            final var dao = this.personAttributeDaos.get(i);
+            final var stats = this.sourceStatistics.get(i);
+            submitted[i] = System.nanoTime();
+            try {
+                futures.add(this.executorService.submit(() -> invoke(dao, stats, function)));
+            } catch (final RejectedExecutionException e) {
+                LOGGER.warn("Attribute repository source [{}] is skipped since its query cannot be queued: [{}]", dao, e.getMessage());
+                stats.invocations.increment();
+                stats.failures.increment();
+                futures.add(null);
+            }
+        }
+
+        final List<T> results = new ArrayList<>(size);
+        for (var i = 0; i < size; i++) {
+            final var future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            final var dao = this.personAttributeDaos.get(i);
+            final var stats = this.sourceStatistics.get(i);
+            try {
+                final var waitUntil = Math.min(submitted[i] + this.sourceTimeoutInNanos, deadline);
+                final var result = future.get(Math.max(0, waitUntil - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (final TimeoutException e) {
+                future.cancel(true);
+                stats.timeouts.increment();
+                LOGGER.warn("Attribute repository source [{}] did not respond in time and is skipped", dao);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.stream().skip(i).filter(Objects::nonNull).forEach(f -> f.cancel(true));
+                LOGGER.warn("Interrupted while waiting for attribute repository sources to respond");
+                break;
+            } catch (final ExecutionException e) {
+                LOGGER.warn("Unable to query attribute repository source [{}]: [{}]", dao, e.getCause().getMessage());
+                LOGGER.debug(e.getMessage(), e.getCause());
+            }
+        }
+        LOGGER.trace("Queried [{}] attribute repository source(s) in [{}] ms", size,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return results;
+    }
+
+    private static <T> T invoke(final IPersonAttributeDao dao, final SourceStatistics stats,
+                                final Function<IPersonAttributeDao, T> function) {
+        final var start = System.nanoTime();
+        stats.invocations.increment();
+        try {
+            return function.apply(dao);
+        } catch (final RuntimeException e) {
+            stats.failures.increment();
+            throw e;
+        } finally {
+            stats.totalTimeInNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Statistics collected for a single attribute repository source.
+     */
+    public static class SourceStatistics {
+        private final LongAdder invocations = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder totalTimeInNanos = new LongAdder();
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        public long getTotalTimeInNanos() {
+            return totalTimeInNanos.sum();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.apereo.cas.persondir;
+
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class ParallelMergingPersonAttributeDaoTests {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void verifyMergeInSourceOrder() {
+        final var dao = new ParallelMergingPersonAttributeDao(
+            CollectionUtils.wrapList(
+                new SlowStubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("first"),
+                    "first", CollectionUtils.wrapList("value")), 300),
+                new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("second")))),
+            new ReplacingAttributeAdder(), executorService, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+        final var person = dao.getPerson("casuser");
+        assertEquals("casuser", person.getName());
+        assertEquals(CollectionUtils.wrapList("second"), person.getAttributeValues("name"));
+        assertEquals(CollectionUtils.wrapList("value"), person.getAttributeValues("first"));
+
+        final var stats = dao.getStatistics().values().iterator().next();
+        assertEquals(1, stats.getInvocations());
+        assertTrue(stats.getTotalTimeInNanos() >= Duration.ofMillis(300).toNanos());
+    }
+
+    @Test
+    public void verifySlowSourceIsSkipped() {
+        final var dao = new ParallelMergingPersonAttributeDao(
+            CollectionUtils.wrapList(
+                new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("fast"))),
+                new SlowStubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("slow")), 5_000)),
+            new MultivaluedAttributeMerger(), executorService, Duration.ofMillis(200), Duration.ofSeconds(1));
+
+        final var start = System.currentTimeMillis();
+        final var person = dao.getPerson("casuser");
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+        assertEquals(CollectionUtils.wrapList("fast"), person.getAttributeValues("name"));
+
+        final var iterator = dao.getStatistics().values().iterator();
+        assertEquals(0, iterator.next().getTimeouts());
+        assertEquals(1, iterator.next().getTimeouts());
+    }
+
+    @Test
+    public void verifyDeadlineApplies() {
+        final var dao = new ParallelMergingPersonAttributeDao(
+            CollectionUtils.wrapList(
+                new SlowStubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("first")), 5_000),
+                new SlowStubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("second")), 5_000)),
+            new ReplacingAttributeAdder(), executorService, Duration.ofSeconds(10), Duration.ofMillis(200));
+
+        final var start = System.currentTimeMillis();
+        assertNull(dao.getPerson("casuser"));
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+        dao.getStatistics().values().forEach(stats -> assertEquals(1, stats.getTimeouts()));
+    }
+
+    @Test
+    public void verifyRejectedSourceIsSkipped() {
+        final var saturated = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new SynchronousQueue<>(),
+            new ThreadPoolExecutor.AbortPolicy());
+        try {
+            final var dao = new ParallelMergingPersonAttributeDao(
+                CollectionUtils.wrapList(
+                    new SlowStubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("first")), 300),
+                    new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrapList("second")))),
+                new MultivaluedAttributeMerger(), saturated, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+            final var person = dao.getPerson("casuser");
+            assertEquals(CollectionUtils.wrapList("first"), person.getAttributeValues("name"));
+
+            final var iterator = dao.getStatistics().values().iterator();
+            assertEquals(0, iterator.next().getFailures());
+            assertEquals(1, iterator.next().getFailures());
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    private static class SlowStubPersonAttributeDao extends StubPersonAttributeDao {
+        private final long delayInMillis;
+
+        SlowStubPersonAttributeDao(final Map<String, List<Object>> attributes, final long delayInMillis) {
+            super(attributes);
+            this.delayInMillis = delayInMillis;
+        }
+
+        @Override
+        public IPersonAttributes getPerson(final String uid) {
+            try {
+                Thread.sleep(this.delayInMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            return super.getPerson(uid);
+        }
+    }
+}
@@ -1,41 +1,123 @@
 package org.apereo.cas.ticket.registry;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * <p>
+ * Since ticket ids begin with the prefix of their type, ticket keys are naturally grouped by type
+ * (i.e. {@code CAS_TICKET:TGT-*}). Alongside each ticket, its id is recorded in a sorted set per ticket type,
+ * scored by the time at which redis expires the ticket, so that tickets may be counted by type without
+ * examining the keyspace. Similarly, ticket-granting tickets are recorded in a sorted set per (encoded, lower-case) principal id,
+ * which expires along with the longest-living ticket of the principal, so that tickets may be looked up by principal.
+ * Tickets are also recorded in a sorted set scored by the time at which they are to be examined for expiration,
+ * so that tickets expired by their expiration policy before redis expires them can be located without a scan.
+ * A ticket and its index entries are written in a single pipeline, and entries of tickets that are already gone
+ * are trimmed as tickets are written and looked up. Tickets are otherwise iterated using {@code SCAN} and fetched in batches
+ * using {@code MGET}, and removed in batches using {@code UNLINK} where the server supports it.
  *
  * @author serv
  * @since 5.1.0
  */
 @Slf4j
-@AllArgsConstructor
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_TICKET_INDEX_PREFIX = "CAS_TICKET_INDEX:";
+
+    private static final String CAS_PRINCIPAL_INDEX_PREFIX = "CAS_PRINCIPAL_INDEX:";
+
+    private static final String CAS_TICKET_EXPIRATION_INDEX = "CAS_TICKET_EXPIRATION_INDEX";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    /**
+     * Adds a ticket to the index of its principal, trims entries of tickets that are gone,
+     * and extends the expiration of the index if the ticket outlives it.
+     */
+    private static final byte[] INDEX_PRINCIPAL_TICKET_SCRIPT = ("redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+        + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3]) "
+        + "if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[4]) then redis.call('PEXPIRE', KEYS[1], ARGV[4]) end "
+        + "return 1").getBytes(StandardCharsets.UTF_8);
+
     private final RedisTemplate<String, Ticket> client;
 
+    private final StringRedisTemplate indexClient;
+
+    private final RedisSerializer<String> keySerializer = new StringRedisSerializer();
+
+    private volatile boolean unlinkSupported = true;
+
+    public RedisTicketRegistry(final RedisTemplate<String, Ticket> client) {
+        this.client = client;
+        this.indexClient = new StringRedisTemplate(client.getRequiredConnectionFactory());
+    }
+
     @Override
     public long deleteAll() {
-        final var redisKeys = this.client.keys(getPatternTicketRedisKey());
-        final var size = redisKeys.size();
-        this.client.delete(redisKeys);
-        return size;
+        final long count;
+        try (var keys = getKeysStream(getPatternTicketRedisKey())) {
+            count = batches(keys.iterator())
+                .mapToLong(this::deleteKeys)
+                .sum();
+        }
+        try (var indexes = getKeysStream(getPatternTicketIndexRedisKey())) {
+            batches(indexes.iterator()).forEach(this::deleteKeys);
+        }
+        try (var indexes = getKeysStream(getPatternPrincipalIndexRedisKey())) {
+            batches(indexes.iterator()).forEach(this::deleteKeys);
+        }
+        this.indexClient.delete(CAS_TICKET_EXPIRATION_INDEX);
+        return count;
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
-            final var redisKey = getTicketRedisKey(ticketId);
-            this.client.delete(redisKey);
+            final var redisKey = keySerializer.serialize(getTicketRedisKey(ticketId));
+            final var indexKey = keySerializer.serialize(getTicketIndexRedisKey(getTicketPrefix(ticketId)));
+            final var member = keySerializer.serialize(ticketId);
+            this.client.executePipelined((RedisCallback<Object>) connection -> {
+                connection.del(redisKey);
+                connection.zRem(indexKey, member);
+                connection.zRem(keySerializer.serialize(CAS_TICKET_EXPIRATION_INDEX), member);
+                return null;
+            });
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -47,11 +129,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            final var redisKey = getTicketRedisKey(ticket.getId());
-            // Encode first, then add
-            final var encodeTicket = this.encodeTicket(ticket);
-            this.client.boundValueOps(redisKey)
-                .set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            storeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
@@ -79,34 +157,300 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<Ticket> getTickets() {
-        return this.client.keys(getPatternTicketRedisKey()).stream()
-            .map(redisKey -> {
-                final var ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
+        try (var tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are streamed from the keyspace in batches as the stream is consumed.
+     * Callers that do not consume the stream entirely should close it to release the underlying connection.
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        final var keys = getKeysStream(getPatternTicketRedisKey());
+        return batches(keys.iterator())
+            .flatMap(batch -> {
+                final var tickets = this.client.opsForValue().multiGet(batch);
+                return tickets == null ? Stream.empty() : tickets.stream();
             })
             .filter(Objects::nonNull)
             .map(this::decodeTicket)
-            .collect(Collectors.toSet());
+            .filter(Objects::nonNull)
+            .onClose(keys::close);
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
-            final var encodeTicket = this.encodeTicket(ticket);
-            final var redisKey = getTicketRedisKey(ticket.getId());
-            this.client.boundValueOps(redisKey).set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
-            return encodeTicket;
+            return storeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
         }
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Proxy-granting tickets are ticket-granting tickets, and are counted as such.
+     */
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.PREFIX) + countTickets(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Proxy tickets are service tickets, and are counted as such.
+     */
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.PREFIX) + countTickets(ProxyTicket.PROXY_TICKET_PREFIX);
+    }
+
+    @Override
+    public Stream<TicketGrantingTicket> getTicketGrantingTicketsForPrincipal(final String principalId) {
+        final var indexKey = getPrincipalIndexRedisKey(encodePrincipalId(principalId));
+        final var ops = this.indexClient.opsForZSet();
+        final var now = System.currentTimeMillis();
+        ops.removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+        final var ids = ops.rangeByScore(indexKey, now, Double.POSITIVE_INFINITY);
+        if (ids == null || ids.isEmpty()) {
+            return Stream.empty();
+        }
+        final List<String> ticketIds = new ArrayList<>(ids);
+        final var tickets = this.client.opsForValue().multiGet(ticketIds.stream()
+            .map(RedisTicketRegistry::getTicketRedisKey)
+            .collect(Collectors.toList()));
+        if (tickets == null) {
+            return Stream.empty();
+        }
+        final var removed = IntStream.range(0, ticketIds.size())
+            .filter(i -> tickets.get(i) == null)
+            .mapToObj(ticketIds::get)
+            .toArray();
+        if (removed.length > 0) {
+            LOGGER.trace("Trimming [{}] removed ticket(s) from the index of principal [{}]", removed.length, principalId);
+            ops.remove(indexKey, removed);
+        }
+        return tickets.stream()
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only tickets whose time to be examined has passed are examined. Each examined ticket is given
+     * the time at which it is to be examined again, so that tickets that turn out to be still valid, or fail
+     * to be removed, are not returned again until then. Entries of tickets already expired by redis are trimmed.
+     */
+    @Override
+    public Collection<Ticket> getExpiredTickets(final int limit) {
+        final var now = System.currentTimeMillis();
+        final var ops = this.indexClient.opsForZSet();
+        final List<Ticket> expired = new ArrayList<>();
+        var ids = ops.rangeByScore(CAS_TICKET_EXPIRATION_INDEX, Double.NEGATIVE_INFINITY, now, 0, limit);
+        while (ids != null && !ids.isEmpty()) {
+            final List<String> ticketIds = new ArrayList<>(ids);
+            final var tickets = this.client.opsForValue().multiGet(ticketIds.stream()
+                .map(RedisTicketRegistry::getTicketRedisKey)
+                .collect(Collectors.toList()));
+            final Set<ZSetOperations.TypedTuple<String>> examined = new HashSet<>();
+            final List<String> removed = new ArrayList<>();
+            for (var i = 0; i < ticketIds.size(); i++) {
+                final var found = tickets == null ? null : tickets.get(i);
+                final var ticket = found == null ? null : decodeTicket(found);
+                if (ticket == null) {
+                    removed.add(ticketIds.get(i));
+                    continue;
+                }
+                if (ticket.isExpired()) {
+                    expired.add(ticket);
+                }
+                examined.add(new DefaultTypedTuple<>(ticketIds.get(i), (double) TicketExpirationIndex.getNextExaminationTime(ticket, now)));
+            }
+            if (!removed.isEmpty()) {
+                LOGGER.trace("Trimming [{}] removed ticket(s) from the expiration index", removed.size());
+                ops.remove(CAS_TICKET_EXPIRATION_INDEX, removed.toArray());
+            }
+            if (!examined.isEmpty()) {
+                ops.add(CAS_TICKET_EXPIRATION_INDEX, examined);
+            }
+            ids = expired.size() < limit
+                ? ops.rangeByScore(CAS_TICKET_EXPIRATION_INDEX, Double.NEGATIVE_INFINITY, now, 0, limit - expired.size())
+                : null;
+        }
+        LOGGER.debug("Located [{}] expired ticket(s)", expired.size());
+        return expired;
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTicketsStream(final int pageSize) {
+        return getExpiredTicketsInPages(pageSize);
+    }
+
+    /**
+     * Store the ticket along with its index entries. Commands are sent in a single pipeline;
+     * index entries of tickets that are already gone are trimmed along the way so that indexes
+     * do not grow between counts.
+     *
+     * @param ticket the ticket
+     * @return the encoded ticket
+     */
+    @SuppressWarnings("unchecked")
+    private Ticket storeTicket(final Ticket ticket) {
+        final var timeout = getTimeout(ticket);
+        // Encode first, then add
+        final var encodeTicket = this.encodeTicket(ticket);
+        final var now = System.currentTimeMillis();
+        final var expirationTime = now + TimeUnit.SECONDS.toMillis(timeout);
+
+        final var redisKey = keySerializer.serialize(getTicketRedisKey(ticket.getId()));
+        final var value = ((RedisSerializer<Ticket>) this.client.getValueSerializer()).serialize(encodeTicket);
+        final var indexKey = keySerializer.serialize(getTicketIndexRedisKey(ticket.getPrefix()));
+        final var member = keySerializer.serialize(ticket.getId());
+        final var principalIndexKey = getPrincipalIndexRedisKey(ticket);
+        final var examinationTime = ticket.isExpired() ? now : TicketExpirationIndex.getExpirationTime(ticket, now);
+
+        this.client.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setEx(redisKey, timeout, value);
+            connection.zAdd(indexKey, expirationTime, member);
+            connection.zRemRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+            connection.zAdd(keySerializer.serialize(CAS_TICKET_EXPIRATION_INDEX), examinationTime, member);
+            if (principalIndexKey != null) {
+                connection.eval(INDEX_PRINCIPAL_TICKET_SCRIPT, ReturnType.INTEGER, 1,
+                    keySerializer.serialize(principalIndexKey),
+                    keySerializer.serialize(String.valueOf(expirationTime)),
+                    member,
+                    keySerializer.serialize(String.valueOf(now)),
+                    keySerializer.serialize(String.valueOf(TimeUnit.SECONDS.toMillis(timeout))));
+            }
+            return null;
+        });
+        return encodeTicket;
+    }
+
+    private String getPrincipalIndexRedisKey(final Ticket ticket) {
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            return null;
+        }
+        final var authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+        if (authentication == null || authentication.getPrincipal() == null) {
+            return null;
+        }
+        return getPrincipalIndexRedisKey(encodePrincipalId(authentication.getPrincipal().getId()));
+    }
+
+    /**
+     * Count tickets of the given type that have not yet been expired by redis.
+     * Index entries of tickets that are already gone are trimmed along the way.
+     *
+     * @param prefix the ticket prefix
+     * @return the count
+     */
+    private long countTickets(final String prefix) {
+        final var indexKey = getTicketIndexRedisKey(prefix);
+        final var now = System.currentTimeMillis();
+        final var ops = this.indexClient.opsForZSet();
+        ops.removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+        final var count = ops.count(indexKey, now, Double.POSITIVE_INFINITY);
+        return count == null ? 0 : count;
+    }
+
+    private Stream<String> getKeysStream(final String pattern) {
+        final var options = ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build();
+        final var cursor = this.client.executeWithStickyConnection(
+            (RedisCallback<Cursor<byte[]>>) connection -> connection.scan(options));
+        final var keys = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                if (cursor.isClosed()) {
+                    return false;
+                }
+                if (cursor.hasNext()) {
+                    return true;
+                }
+                closeCursor(cursor);
+                return false;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return keySerializer.deserialize(cursor.next());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(keys, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> closeCursor(cursor));
+    }
+
+    private long deleteKeys(final List<String> keys) {
+        if (this.unlinkSupported) {
+            try {
+                final var rawKeys = keys.stream().map(keySerializer::serialize).toArray(byte[][]::new);
+                final var result = this.client.execute((RedisCallback<Object>) connection -> unlink(connection, rawKeys));
+                return result instanceof Number ? ((Number) result).longValue() : keys.size();
+            } catch (final Exception e) {
+                LOGGER.debug("Redis server does not support UNLINK; falling back to DEL: [{}]", e.getMessage());
+                this.unlinkSupported = false;
+            }
+        }
+        final var result = this.client.delete(keys);
+        return result == null ? 0 : result;
+    }
+
+    private static Object unlink(final RedisConnection connection, final byte[][] keys) {
+        return connection.execute("UNLINK", keys);
+    }
+
+    private static void closeCursor(final Cursor<byte[]> cursor) {
+        try {
+            if (!cursor.isClosed()) {
+                cursor.close();
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close redis cursor: [{}]", e.getMessage());
+        }
+    }
+
+    /**
+     * Group elements of the iterator into consecutive batches, lazily.
+     *
+     * @param iterator the iterator
+     * @return the batches
+     */
+    private static Stream<List<String>> batches(final Iterator<String> iterator) {
+        final var batches = new Iterator<List<String>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<String> next() {
+                final List<String> batch = new ArrayList<>(BATCH_SIZE);
+                while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+                    batch.add(iterator.next());
+                }
+                if (batch.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -130,4 +474,28 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + '*';
     }
+
+    // sorted set of ticket ids per ticket type, scored by expiration time
+    private static String getTicketIndexRedisKey(final String ticketPrefix) {
+        return CAS_TICKET_INDEX_PREFIX + ticketPrefix;
+    }
+
+    // pattern all ticket index redisKey
+    private static String getPatternTicketIndexRedisKey() {
+        return CAS_TICKET_INDEX_PREFIX + '*';
+    }
+
+    // sorted set of ticket-granting ticket ids per principal, scored by expiration time
+    private static String getPrincipalIndexRedisKey(final String principalId) {
+        return CAS_PRINCIPAL_INDEX_PREFIX + principalId;
+    }
+
+    // pattern all principal index redisKey
+    private static String getPatternPrincipalIndexRedisKey() {
+        return CAS_PRINCIPAL_INDEX_PREFIX + '*';
+    }
+
+    private static String getTicketPrefix(final String ticketId) {
+        return StringUtils.substringBefore(ticketId, "-");
+    }
 }
@@ -1,14 +1,20 @@
 package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.RedisCategory;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -25,6 +31,8 @@ import redis.embedded.RedisServer;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -78,4 +86,44 @@ public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTe
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketCountsByType() {
+        final var tgt = new TicketGrantingTicketImpl("TGT-1-redis", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        final var st = tgt.grantServiceTicket("ST-1-redis", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        this.ticketRegistry.addTicket(st);
+        this.ticketRegistry.updateTicket(tgt);
+        assertEquals(1, this.ticketRegistry.sessionCount());
+        assertEquals(1, this.ticketRegistry.serviceTicketCount());
+        assertEquals(2, this.ticketRegistry.getTicketsStream().count());
+
+        final var pgt = st.grantProxyGrantingTicket("PGT-1-redis", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(pgt);
+        assertEquals(2, this.ticketRegistry.sessionCount());
+
+        this.ticketRegistry.deleteSingleTicket(st.getId());
+        assertEquals(0, this.ticketRegistry.serviceTicketCount());
+        assertEquals(2, this.ticketRegistry.deleteAll());
+        assertEquals(0, this.ticketRegistry.sessionCount());
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreLocated() {
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-2-redis", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy()));
+        final var expired = new TicketGrantingTicketImpl("TGT-3-redis", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        expired.markTicketExpired();
+        this.ticketRegistry.addTicket(expired);
+
+        final var tickets = this.ticketRegistry.getExpiredTickets(10);
+        assertEquals(1, tickets.size());
+        assertEquals(expired.getId(), tickets.iterator().next().getId());
+        assertTrue(this.ticketRegistry.getExpiredTickets(10).isEmpty());
+        assertEquals(2, this.ticketRegistry.deleteAll());
+    }
 }
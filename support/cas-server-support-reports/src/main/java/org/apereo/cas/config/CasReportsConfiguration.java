@@ -10,6 +10,7 @@ import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.report.AuditLogEndpoint;
 import org.apereo.cas.web.report.AuthenticationAuditLogEndpoint;
 import org.apereo.cas.web.report.CasInfoEndpointContributor;
@@ -74,6 +75,10 @@ public class CasReportsConfiguration {
     @Qualifier("centralAuthenticationService")
     private CentralAuthenticationService centralAuthenticationService;
 
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
@@ -137,13 +142,13 @@ public class CasReportsConfiguration {
     @Bean
     @ConditionalOnEnabledEndpoint
     public SingleSignOnSessionsEndpoint singleSignOnSessionsEndpoint() {
-        return new SingleSignOnSessionsEndpoint(centralAuthenticationService, casProperties);
+        return new SingleSignOnSessionsEndpoint(centralAuthenticationService, ticketRegistry, casProperties);
     }
 
     @Bean
     @ConditionalOnEnabledEndpoint
     public StatisticsEndpoint statisticsReportEndpoint() {
-        return new StatisticsEndpoint(centralAuthenticationService, casProperties);
+        return new StatisticsEndpoint(centralAuthenticationService, casProperties, servicesManager);
     }
 
     @Bean
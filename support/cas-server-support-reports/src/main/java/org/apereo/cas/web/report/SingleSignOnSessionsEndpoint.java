@@ -3,10 +3,12 @@ package org.apereo.cas.web.report;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
@@ -14,6 +16,7 @@ import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
 
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
@@ -22,6 +25,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * SSO Report web controller that produces JSON data for the view.
@@ -83,22 +87,27 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
 
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final TicketRegistry ticketRegistry;
+
     public SingleSignOnSessionsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+                                        final TicketRegistry ticketRegistry,
                                         final CasConfigurationProperties casProperties) {
         super(casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
     }
 
     /**
      * Gets sso sessions.
      *
-     * @param option the option
+     * @param option   the option
+     * @param username the username whose sessions should be reported, or blank for all sessions
      * @return the sso sessions
      */
-    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option) {
+    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option, final String username) {
         final Collection<Map<String, Object>> activeSessions = new ArrayList<>();
         final var dateFormat = new ISOStandardDateFormat();
-        getNonExpiredTicketGrantingTickets().stream().map(TicketGrantingTicket.class::cast)
+        getNonExpiredTicketGrantingTickets(username).stream().map(TicketGrantingTicket.class::cast)
             .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
             .forEach(tgt -> {
                 final var authentication = tgt.getAuthentication();
@@ -127,25 +136,32 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
     }
 
     /**
-     * Gets non expired ticket granting tickets.
+     * Gets non expired ticket granting tickets, looking up tickets by principal if a username is given.
      *
+     * @param username the username
      * @return the non expired ticket granting tickets
      */
-    private Collection<Ticket> getNonExpiredTicketGrantingTickets() {
+    private Collection<? extends Ticket> getNonExpiredTicketGrantingTickets(final String username) {
+        if (StringUtils.isNotBlank(username)) {
+            return this.ticketRegistry.getTicketGrantingTicketsForPrincipal(username)
+                .filter(ticket -> !ticket.isExpired())
+                .collect(Collectors.toList());
+        }
         return this.centralAuthenticationService.getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
     }
 
     /**
      * Endpoint for getting SSO Sessions in JSON format.
      *
-     * @param type the type
+     * @param type     the type
+     * @param username the username whose sessions should be reported, if any
      * @return the sso sessions
      */
     @ReadOperation
-    public Map<String, Object> getSsoSessions(final String type) {
+    public Map<String, Object> getSsoSessions(final String type, @Nullable final String username) {
         final Map<String, Object> sessionsMap = new HashMap<>(1);
         final var option = SsoSessionReportOptions.valueOf(type);
-        final var activeSsoSessions = getActiveSsoSessions(option);
+        final var activeSsoSessions = getActiveSsoSessions(option, username);
         sessionsMap.put("activeSsoSessions", activeSsoSessions);
         long totalTicketGrantingTickets = 0;
         long totalProxyGrantingTickets = 0;
@@ -202,16 +218,17 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
     /**
      * Destroy sso sessions map.
      *
-     * @param type the type
+     * @param type     the type
+     * @param username the username whose sessions should be destroyed, if any
      * @return the map
      */
     @WriteOperation
-    public Map<String, Object> destroySsoSessions(final String type) {
+    public Map<String, Object> destroySsoSessions(final String type, @Nullable final String username) {
 
         final Map<String, Object> sessionsMap = new HashMap<>();
         final Map<String, String> failedTickets = new HashMap<>();
         final var option = SsoSessionReportOptions.valueOf(type);
-        final var collection = getActiveSsoSessions(option);
+        final var collection = getActiveSsoSessions(option, username);
         collection
             .stream()
             .map(sso -> sso.get(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString()).toString())
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
@@ -26,10 +27,14 @@ public class StatisticsEndpoint extends BaseCasMvcEndpoint {
 
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final ServicesManager servicesManager;
+
     public StatisticsEndpoint(final CentralAuthenticationService centralAuthenticationService,
-                              final CasConfigurationProperties casProperties) {
+                              final CasConfigurationProperties casProperties,
+                              final ServicesManager servicesManager) {
         super(casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.servicesManager = servicesManager;
     }
 
     /**
@@ -78,6 +83,7 @@ public class StatisticsEndpoint extends BaseCasMvcEndpoint {
         model.put("unexpiredSts", unexpiredSts);
         model.put("expiredTgts", expiredTgts);
         model.put("expiredSts", expiredSts);
+        model.put("serviceLookups", this.servicesManager.getLookupStatistics());
 
         return model;
     }
@@ -1,34 +1,78 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Metadata is loaded once per cache key, and loading metadata for one service never blocks
+ * resolution for others. Once a cached resolver outlives its expiration duration it is considered stale:
+ * it continues to be served while a refreshed resolver is loaded in the background by a bounded pool,
+ * and is only evicted if it remains stale for another expiration duration. If the refresh fails,
+ * the stale resolver remains in use until the next attempt.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
+public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver, DisposableBean {
+
+    /**
+     * Default number of threads that refresh stale metadata in the background.
+     */
+    public static final int DEFAULT_REFRESH_THREADS = 4;
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final int MAX_REFRESH_QUEUE_SIZE = 1_000;
+
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
-    private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
+    private final SamlRegisteredServiceMetadataExpirationPolicy expirationPolicy;
+    private final Cache<SamlRegisteredServiceCacheKey, CachedMetadataResolver> cache;
+    private final Set<SamlRegisteredServiceCacheKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refreshExecutor;
 
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, loader, DEFAULT_REFRESH_THREADS);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader,
+                                                               final int refreshThreads) {
         this.chainingMetadataResolverCacheLoader = loader;
+        this.expirationPolicy = new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes);
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .expireAfter(new StaleWhileRevalidateExpiry())
+            .build();
+
+        final var threads = Math.max(1, refreshThreads);
+        final var count = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(MAX_REFRESH_QUEUE_SIZE), r -> {
+            final var thread = new Thread(r, "saml-metadata-refresh-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
@@ -38,7 +82,11 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
             LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
             final var k = new SamlRegisteredServiceCacheKey(service);
             LOGGER.debug("Locating cached metadata resolver using key [{}] for service [{}]", k.getId(), service.getName());
-            resolver = this.cache.get(k);
+            final var cached = this.cache.get(k, this::load);
+            if (cached.isStale(System.nanoTime())) {
+                refresh(k, cached);
+            }
+            resolver = cached.getResolver();
             return resolver;
         } finally {
             if (resolver != null) {
@@ -48,4 +96,101 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
             }
         }
     }
+
+    @Override
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    private CachedMetadataResolver load(final SamlRegisteredServiceCacheKey key) {
+        final var resolver = this.chainingMetadataResolverCacheLoader.load(key);
+        final var duration = this.expirationPolicy.expireAfterCreate(key, resolver, System.nanoTime());
+        return new CachedMetadataResolver(resolver, System.nanoTime(), Math.max(0, duration));
+    }
+
+    /**
+     * Refresh the stale resolver in the background. The refreshed resolver only replaces the stale one
+     * if it is still cached by then; if the entry was evicted or replaced in the meantime, the refreshed
+     * resolver is discarded rather than bringing back an entry that is no longer wanted.
+     */
+    private void refresh(final SamlRegisteredServiceCacheKey key, final CachedMetadataResolver stale) {
+        if (!this.refreshing.add(key)) {
+            return;
+        }
+        final var service = key.getRegisteredService();
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    LOGGER.debug("Refreshing stale metadata for [{}] from [{}]", service.getName(), service.getMetadataLocation());
+                    if (!this.cache.asMap().replace(key, stale, load(key))) {
+                        LOGGER.debug("Metadata for [{}] was evicted or replaced while being refreshed; refreshed metadata is discarded",
+                            service.getName());
+                    }
+                } catch (final Exception e) {
+                    LOGGER.warn("Unable to refresh metadata for [{}] from [{}]; stale metadata remains in use: [{}]",
+                        service.getName(), service.getMetadataLocation(), e.getMessage());
+                    LOGGER.debug(e.getMessage(), e);
+                } finally {
+                    this.refreshing.remove(key);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Refresh of metadata for [{}] is deferred since the refresh queue is full", service.getName());
+            this.refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Cached resolver along with the window during which it is considered fresh.
+     */
+    private static class CachedMetadataResolver {
+        private final MetadataResolver resolver;
+
+        private final long loadedAt;
+
+        private final long freshFor;
+
+        CachedMetadataResolver(final MetadataResolver resolver, final long loadedAt, final long freshFor) {
+            this.resolver = resolver;
+            this.loadedAt = loadedAt;
+            this.freshFor = freshFor;
+        }
+
+        MetadataResolver getResolver() {
+            return this.resolver;
+        }
+
+        boolean isStale(final long now) {
+            return now - this.loadedAt >= this.freshFor;
+        }
+
+        long getTimeToLive() {
+            return this.freshFor > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : this.freshFor * 2;
+        }
+    }
+
+    /**
+     * Keeps entries around for twice their expiration duration, so stale entries can be served while being refreshed.
+     */
+    private static class StaleWhileRevalidateExpiry implements Expiry<SamlRegisteredServiceCacheKey, CachedMetadataResolver> {
+        @Override
+        public long expireAfterCreate(@Nonnull final SamlRegisteredServiceCacheKey key,
+                                      @Nonnull final CachedMetadataResolver value, final long currentTime) {
+            return value.getTimeToLive();
+        }
+
+        @Override
+        public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey key,
+                                      @Nonnull final CachedMetadataResolver value,
+                                      final long currentTime, final long currentDuration) {
+            return value.getTimeToLive();
+        }
+
+        @Override
+        public long expireAfterRead(@Nonnull final SamlRegisteredServiceCacheKey key,
+                                    @Nonnull final CachedMetadataResolver value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -3,7 +3,6 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
-import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
@@ -21,6 +20,7 @@ import java.util.Objects;
  * to keep track of metadata resources and resolvers. The cache loader here supports loading
  * metadata resources from SAML services, supports dynamic metadata queries and is able
  * to run various validation filters on the metadata before finally caching the resolver.
+ * Loads are not serialized here; the cache is responsible for loading each key only once at a time.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -42,7 +42,6 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
 
     @Override
-    @Synchronized
     @SneakyThrows
     public ChainingMetadataResolver load(final SamlRegisteredServiceCacheKey cacheKey) {
 
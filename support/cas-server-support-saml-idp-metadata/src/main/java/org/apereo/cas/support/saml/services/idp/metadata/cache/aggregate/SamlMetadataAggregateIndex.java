@@ -0,0 +1,284 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.aggregate;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.RegexUtils;
+import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.saml.saml2.common.CacheableSAMLObject;
+import org.opensaml.saml.saml2.common.TimeBoundSAMLObject;
+import org.opensaml.saml.saml2.metadata.EntitiesDescriptor;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * This is {@link SamlMetadataAggregateIndex} that keeps the entity descriptors of a metadata aggregate
+ * indexed by entity id, each as a standalone serialized fragment.
+ * <p>
+ * The index is built by streaming over the aggregate, so the document as a whole is never held in memory
+ * as a DOM. Fragments carry all namespace declarations that are in scope for the entity descriptor,
+ * and are only parsed once a metadata document for a particular entity is requested.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class SamlMetadataAggregateIndex {
+
+    private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final Map<String, byte[]> entities;
+
+    private final String validUntil;
+
+    private final String cacheDuration;
+
+    private final long lastModified;
+
+    private final long length;
+
+    public SamlMetadataAggregateIndex(final Map<String, byte[]> entities, final String validUntil, final String cacheDuration,
+                                      final long lastModified, final long length) {
+        this.entities = entities;
+        this.validUntil = validUntil;
+        this.cacheDuration = cacheDuration;
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    /**
+     * Build an index from the given metadata aggregate.
+     *
+     * @param metadata       the metadata aggregate
+     * @param entityIdFilter decides which entity ids should be indexed
+     * @param lastModified   the last modified timestamp of the aggregate
+     * @param length         the length of the aggregate
+     * @return the index
+     * @throws XMLStreamException if the aggregate cannot be parsed
+     */
+    public static SamlMetadataAggregateIndex build(final InputStream metadata, final Predicate<String> entityIdFilter,
+                                                   final long lastModified, final long length) throws XMLStreamException {
+        final Map<String, byte[]> entities = new HashMap<>();
+        final Deque<Map<String, String>> namespaces = new ArrayDeque<>();
+        String validUntil = null;
+        String cacheDuration = null;
+
+        final var reader = INPUT_FACTORY.createXMLStreamReader(metadata);
+        try {
+            while (reader.hasNext()) {
+                final var event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    namespaces.pop();
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (isElement(reader, EntityDescriptor.DEFAULT_ELEMENT_LOCAL_NAME)) {
+                    final var entityId = reader.getAttributeValue(null, EntityDescriptor.ENTITY_ID_ATTRIB_NAME);
+                    final var fragment = copyElement(reader, namespaces);
+                    if (StringUtils.isNotBlank(entityId) && entityIdFilter.test(entityId)) {
+                        entities.put(entityId, fragment);
+                    } else {
+                        LOGGER.trace("Entity [{}] is excluded from the metadata index", entityId);
+                    }
+                    continue;
+                }
+                if (isElement(reader, EntitiesDescriptor.DEFAULT_ELEMENT_LOCAL_NAME)) {
+                    validUntil = StringUtils.defaultIfBlank(
+                        reader.getAttributeValue(null, TimeBoundSAMLObject.VALID_UNTIL_ATTRIB_NAME), validUntil);
+                    cacheDuration = StringUtils.defaultIfBlank(
+                        reader.getAttributeValue(null, CacheableSAMLObject.CACHE_DURATION_ATTRIB_NAME), cacheDuration);
+                }
+                namespaces.push(getDeclaredNamespaces(reader));
+            }
+        } finally {
+            reader.close();
+        }
+        LOGGER.debug("Indexed [{}] entities from metadata aggregate", entities.size());
+        return new SamlMetadataAggregateIndex(entities, validUntil, cacheDuration, lastModified, length);
+    }
+
+    /**
+     * Find the serialized entity descriptors that match the given entity id.
+     * If no entity has the exact entity id, the entity id is treated as a pattern.
+     *
+     * @param entityId the entity id or pattern
+     * @return the matching entity descriptors
+     */
+    public Collection<byte[]> find(final String entityId) {
+        final var entity = this.entities.get(entityId);
+        if (entity != null) {
+            return List.of(entity);
+        }
+        final var pattern = RegexUtils.createPattern(entityId);
+        final List<byte[]> results = new ArrayList<>();
+        this.entities.forEach((id, value) -> {
+            if (pattern.matcher(id).matches()) {
+                results.add(value);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Build a standalone metadata document for the entities that match the given entity id.
+     * Entities are wrapped in an entities descriptor that carries the validity and cache duration of the aggregate.
+     *
+     * @param entityId the entity id or pattern
+     * @return the metadata document, if any entity matches
+     * @throws XMLStreamException if the document cannot be written
+     */
+    public Optional<byte[]> buildMetadataDocument(final String entityId) throws XMLStreamException {
+        final var matches = find(entityId);
+        if (matches.isEmpty()) {
+            return Optional.empty();
+        }
+        final var output = new ByteArrayOutputStream(matches.stream().mapToInt(m -> m.length).sum() + 256);
+        final var writer = OUTPUT_FACTORY.createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+        try {
+            writer.writeStartElement(SAMLConstants.SAML20MD_PREFIX, EntitiesDescriptor.DEFAULT_ELEMENT_LOCAL_NAME, SAMLConstants.SAML20MD_NS);
+            writer.writeNamespace(SAMLConstants.SAML20MD_PREFIX, SAMLConstants.SAML20MD_NS);
+            if (StringUtils.isNotBlank(this.validUntil)) {
+                writer.writeAttribute(TimeBoundSAMLObject.VALID_UNTIL_ATTRIB_NAME, this.validUntil);
+            }
+            if (StringUtils.isNotBlank(this.cacheDuration)) {
+                writer.writeAttribute(CacheableSAMLObject.CACHE_DURATION_ATTRIB_NAME, this.cacheDuration);
+            }
+            writer.writeCharacters(StringUtils.EMPTY);
+            writer.flush();
+            matches.forEach(output::writeBytes);
+            writer.writeEndElement();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        return Optional.of(output.toByteArray());
+    }
+
+    /**
+     * Whether this index is built from an aggregate with the given fingerprint.
+     *
+     * @param lastModified the last modified timestamp of the aggregate
+     * @param length       the length of the aggregate
+     * @return true/false
+     */
+    public boolean isBuiltFrom(final long lastModified, final long length) {
+        return this.lastModified == lastModified && this.length == length;
+    }
+
+    /**
+     * Number of indexed entities.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.entities.size();
+    }
+
+    private static boolean isElement(final XMLStreamReader reader, final String localName) {
+        return SAMLConstants.SAML20MD_NS.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+    }
+
+    private static Map<String, String> getDeclaredNamespaces(final XMLStreamReader reader) {
+        if (reader.getNamespaceCount() == 0) {
+            return Map.of();
+        }
+        final Map<String, String> declared = new LinkedHashMap<>();
+        for (var i = 0; i < reader.getNamespaceCount(); i++) {
+            declared.put(StringUtils.defaultString(reader.getNamespacePrefix(i)), reader.getNamespaceURI(i));
+        }
+        return declared;
+    }
+
+    private static byte[] copyElement(final XMLStreamReader reader, final Deque<Map<String, String>> namespaces) throws XMLStreamException {
+        final var output = new ByteArrayOutputStream();
+        final var writer = OUTPUT_FACTORY.createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+        try {
+            final Map<String, String> inScope = new LinkedHashMap<>();
+            namespaces.descendingIterator().forEachRemaining(inScope::putAll);
+            inScope.putAll(getDeclaredNamespaces(reader));
+            writeStartElement(reader, writer, inScope);
+
+            var depth = 1;
+            while (depth > 0) {
+                final var event = reader.next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        writeStartElement(reader, writer, getDeclaredNamespaces(reader));
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        writer.writeEndElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        writer.writeCData(reader.getText());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        return output.toByteArray();
+    }
+
+    private static void writeStartElement(final XMLStreamReader reader, final XMLStreamWriter writer,
+                                          final Map<String, String> declaredNamespaces) throws XMLStreamException {
+        writer.writeStartElement(StringUtils.defaultString(reader.getPrefix()), reader.getLocalName(),
+            StringUtils.defaultString(reader.getNamespaceURI()));
+        for (final var ns : declaredNamespaces.entrySet()) {
+            if (StringUtils.isEmpty(ns.getKey())) {
+                writer.writeDefaultNamespace(ns.getValue());
+            } else {
+                writer.writeNamespace(ns.getKey(), ns.getValue());
+            }
+        }
+        for (var i = 0; i < reader.getAttributeCount(); i++) {
+            final var prefix = reader.getAttributePrefix(i);
+            if (StringUtils.isEmpty(prefix)) {
+                writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(prefix, reader.getAttributeNamespace(i), reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        final var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        return factory;
+    }
+}
@@ -0,0 +1,240 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.aggregate;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.SamlException;
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.ResourceUtils;
+import org.opensaml.core.xml.XMLObject;
+import org.opensaml.saml.saml2.metadata.EntitiesDescriptor;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * This is {@link SamlMetadataAggregateResolver} that shares metadata aggregates between all SAML services
+ * that reference the same metadata location.
+ * <p>
+ * Each aggregate is downloaded once into a file kept under the metadata directory, verified once if a metadata
+ * signature location is defined and indexed by entity id. Verification and indexing both read a private snapshot
+ * of the aggregate, so that an aggregate replaced in the meantime cannot be indexed without being verified. Services receive a small metadata document built from
+ * the entities that match their service id, rather than the aggregate as a whole. Aggregates are refreshed
+ * once the metadata cache expiration passes using conditional requests, while the previous index continues
+ * to serve requests; unchanged aggregates are neither verified nor indexed again.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class SamlMetadataAggregateResolver {
+
+    private static final int MAX_CACHE_SIZE = 1_000;
+
+    private final OpenSamlConfigBean configBean;
+
+    private final File aggregateDirectory;
+
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    private final LoadingCache<AggregateKey, SamlMetadataAggregateIndex> indexes;
+
+    public SamlMetadataAggregateResolver(final SamlIdPProperties samlIdPProperties, final OpenSamlConfigBean configBean) throws Exception {
+        this.configBean = configBean;
+        final var md = samlIdPProperties.getMetadata();
+        this.aggregateDirectory = new File(md.getLocation().getFile(), "metadata-aggregates");
+        FileUtils.forceMkdir(this.aggregateDirectory);
+
+        final var expiration = Duration.ofMinutes(Math.max(1, md.getCacheExpirationMinutes()));
+        this.indexes = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .refreshAfterWrite(expiration)
+            .expireAfterAccess(expiration.multipliedBy(2))
+            .build(new CacheLoader<>() {
+                @Override
+                public SamlMetadataAggregateIndex load(@Nonnull final AggregateKey key) throws Exception {
+                    return loadIndex(key, null);
+                }
+
+                @Override
+                public SamlMetadataAggregateIndex reload(@Nonnull final AggregateKey key,
+                                                         @Nonnull final SamlMetadataAggregateIndex oldValue) throws Exception {
+                    return loadIndex(key, oldValue);
+                }
+            });
+    }
+
+    /**
+     * Build a metadata document for the given service from the aggregate at the metadata location.
+     *
+     * @param service          the service
+     * @param metadataLocation the metadata location
+     * @return the metadata document, if the aggregate contains entities that match the service
+     * @throws Exception the exception
+     */
+    public Optional<byte[]> resolve(final SamlRegisteredService service, final String metadataLocation) throws Exception {
+        final var key = new AggregateKey(metadataLocation, StringUtils.defaultString(service.getMetadataSignatureLocation()));
+        final var index = this.indexes.get(key);
+        final var document = index.buildMetadataDocument(service.getServiceId());
+        if (document.isPresent()) {
+            LOGGER.debug("Located metadata for [{}] in metadata aggregate [{}]", service.getServiceId(), metadataLocation);
+        } else {
+            LOGGER.debug("Metadata aggregate [{}] has no entities that match [{}]", metadataLocation, service.getServiceId());
+        }
+        return document;
+    }
+
+    /**
+     * Invalidate all indexed aggregates.
+     */
+    public void invalidate() {
+        this.indexes.invalidateAll();
+    }
+
+    private SamlMetadataAggregateIndex loadIndex(final AggregateKey key, final SamlMetadataAggregateIndex previous) throws Exception {
+        final var file = fetch(key.getLocation());
+        final var lastModified = file.lastModified();
+        final var length = file.length();
+        if (previous != null && previous.isBuiltFrom(lastModified, length)) {
+            LOGGER.debug("Metadata aggregate [{}] is not modified", key.getLocation());
+            return previous;
+        }
+        final var snapshot = File.createTempFile("aggregate-", ".snapshot", this.aggregateDirectory);
+        try {
+            Files.copy(file.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            final var filter = verifySignature(snapshot, key);
+            try (var in = new BufferedInputStream(Files.newInputStream(snapshot.toPath()))) {
+                final var index = SamlMetadataAggregateIndex.build(in, filter, lastModified, length);
+                LOGGER.info("Indexed [{}] entities from metadata aggregate [{}]", index.size(), key.getLocation());
+                return index;
+            }
+        } finally {
+            FileUtils.deleteQuietly(snapshot);
+        }
+    }
+
+    private File fetch(final String location) throws Exception {
+        if (!StringUtils.startsWith(location, "http")) {
+            return ResourceUtils.getResourceFrom(location).getFile();
+        }
+        final var file = new File(this.aggregateDirectory, DigestUtils.sha256(location) + ".xml");
+        final var previous = file.isFile() ? this.validators.get(location) : null;
+        final Map<String, Object> headers = new LinkedHashMap<>();
+        if (previous != null) {
+            if (StringUtils.isNotBlank(previous.getEntityTag())) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, previous.getEntityTag());
+            }
+            if (StringUtils.isNotBlank(previous.getLastModified())) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+            }
+        }
+        LOGGER.debug("Fetching metadata aggregate from [{}]", location);
+        final var response = HttpUtils.executeGet(location, null, null, new LinkedHashMap<>(), headers);
+        final var status = response != null ? HttpStatus.valueOf(response.getStatusLine().getStatusCode()) : null;
+        if (status == HttpStatus.NOT_MODIFIED && previous != null) {
+            return file;
+        }
+        if (status != null && status.is2xxSuccessful()) {
+            final var download = File.createTempFile(file.getName(), ".tmp", this.aggregateDirectory);
+            try {
+                try (var in = response.getEntity().getContent()) {
+                    Files.copy(in, download.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.move(download.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                FileUtils.deleteQuietly(download);
+            }
+            this.validators.put(location, new Validators(getResponseHeader(response, HttpHeaders.ETAG),
+                getResponseHeader(response, HttpHeaders.LAST_MODIFIED)));
+            return file;
+        }
+        if (file.isFile()) {
+            LOGGER.warn("Unable to fetch metadata aggregate from [{}]; response status is [{}]. Using previously fetched aggregate [{}]",
+                location, status, file);
+            return file;
+        }
+        throw new SamlException("Unable to fetch metadata aggregate from " + location + "; response status is " + status);
+    }
+
+    private Predicate<String> verifySignature(final File file, final AggregateKey key) throws Exception {
+        final var signatureLocation = key.getSignatureLocation();
+        if (StringUtils.isBlank(signatureLocation)) {
+            return entityId -> true;
+        }
+        final var filter = SamlUtils.buildSignatureValidationFilter(signatureLocation);
+        if (filter == null) {
+            LOGGER.warn("Skipped signature validation of metadata aggregate since signature cannot be located at [{}]", signatureLocation);
+            return entityId -> true;
+        }
+        try (var in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            final var root = this.configBean.getParserPool().parse(in).getDocumentElement();
+            final var metadata = this.configBean.getUnmarshallerFactory().getUnmarshaller(root).unmarshall(root);
+            final var verified = filter.filter(metadata);
+            if (verified == null) {
+                throw new SamlException("Signature of metadata aggregate " + key.getLocation() + " cannot be verified");
+            }
+            final Set<String> entityIds = new HashSet<>();
+            collectEntityIds(verified, entityIds);
+            LOGGER.debug("Verified signature of metadata aggregate [{}] with [{}] entities", key.getLocation(), entityIds.size());
+            return entityIds::contains;
+        }
+    }
+
+    private static void collectEntityIds(final XMLObject metadata, final Set<String> entityIds) {
+        if (metadata instanceof EntityDescriptor) {
+            entityIds.add(((EntityDescriptor) metadata).getEntityID());
+        } else if (metadata instanceof EntitiesDescriptor) {
+            final var entities = (EntitiesDescriptor) metadata;
+            entities.getEntityDescriptors().forEach(e -> collectEntityIds(e, entityIds));
+            entities.getEntitiesDescriptors().forEach(e -> collectEntityIds(e, entityIds));
+        }
+    }
+
+    private static String getResponseHeader(final HttpResponse response, final String name) {
+        final var header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class AggregateKey {
+        private final String location;
+
+        private final String signatureLocation;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Validators {
+        private final String entityTag;
+
+        private final String lastModified;
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
@@ -9,6 +10,7 @@ import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlMetadataDocument;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.aggregate.SamlMetadataAggregateResolver;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
@@ -23,9 +25,11 @@ import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.springframework.core.io.Resource;
 
 import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +50,12 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
      */
     protected final OpenSamlConfigBean configBean;
 
+    /**
+     * Resolver of shared metadata aggregates, if aggregates should be indexed.
+     */
+    @Setter
+    protected SamlMetadataAggregateResolver metadataAggregateResolver;
+
     /**
      * Build metadata resolver from document.
      *
@@ -85,13 +95,29 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
     protected void configureAndInitializeSingleMetadataResolver(final AbstractMetadataResolver metadataProvider,
                                                                 final SamlRegisteredService service,
                                                                 final List<MetadataFilter> metadataFilterList) throws Exception {
+        configureAndInitializeSingleMetadataResolver(metadataProvider, service, metadataFilterList, true);
+    }
+
+    private void configureAndInitializeSingleMetadataResolver(final AbstractMetadataResolver metadataProvider,
+                                                              final SamlRegisteredService service,
+                                                              final List<MetadataFilter> metadataFilterList,
+                                                              final boolean validateSignature) throws Exception {
         final var md = samlIdPProperties.getMetadata();
         metadataProvider.setParserPool(this.configBean.getParserPool());
         metadataProvider.setFailFastInitialization(md.isFailFast());
         metadataProvider.setRequireValidMetadata(md.isRequireValidMetadata());
         metadataProvider.setId(metadataProvider.getClass().getCanonicalName());
 
-        buildMetadataFilters(service, metadataProvider, metadataFilterList);
+        if (validateSignature) {
+            buildMetadataFilters(service, metadataProvider, metadataFilterList);
+        } else {
+            buildRequiredValidUntilFilterIfNeeded(service, metadataFilterList);
+            buildEntityRoleFilterIfNeeded(service, metadataFilterList);
+            buildPredicateFilterIfNeeded(service, metadataFilterList);
+            if (!metadataFilterList.isEmpty()) {
+                addMetadataFiltersToMetadataResolver(metadataProvider, metadataFilterList);
+            }
+        }
 
         LOGGER.debug("Initializing metadata resolver from [{}]", service.getMetadataLocation());
         metadataProvider.initialize();
@@ -110,6 +136,35 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         configureAndInitializeSingleMetadataResolver(metadataProvider, service, new ArrayList<>());
     }
 
+    /**
+     * Resolve metadata for the service from the shared metadata aggregate at the given location.
+     * Aggregates are verified as they are indexed, so the metadata resolver is not given a signature validation filter.
+     *
+     * @param service          the service
+     * @param metadataLocation the metadata location
+     * @return the metadata resolver, if aggregates are indexed and the aggregate contains entities that match the service
+     */
+    protected Optional<AbstractMetadataResolver> resolveFromMetadataAggregate(final SamlRegisteredService service,
+                                                                            final String metadataLocation) {
+        if (this.metadataAggregateResolver == null) {
+            return Optional.empty();
+        }
+        try {
+            final var document = this.metadataAggregateResolver.resolve(service, metadataLocation);
+            if (document.isPresent()) {
+                final AbstractMetadataResolver metadataResolver =
+                    new InMemoryResourceMetadataResolver(new ByteArrayInputStream(document.get()), configBean);
+                configureAndInitializeSingleMetadataResolver(metadataResolver, service, new ArrayList<>(), false);
+                return Optional.of(metadataResolver);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to resolve metadata for [{}] from metadata aggregate [{}]: [{}]",
+                service.getName(), metadataLocation, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Build metadata filters.
      *
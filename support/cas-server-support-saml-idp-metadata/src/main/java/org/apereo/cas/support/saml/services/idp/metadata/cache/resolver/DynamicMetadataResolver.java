@@ -16,6 +16,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * This is {@link DynamicMetadataResolver}.
@@ -38,15 +39,21 @@ public class DynamicMetadataResolver extends UrlResourceMetadataResolver {
     }
 
     @Override
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> requestHeaders) {
         final var metadata = samlIdPProperties.getMetadata();
-        final Map headers = new LinkedHashMap();
+        final Map<String, Object> headers = new LinkedHashMap<>(requestHeaders);
         headers.put("Content-Type", metadata.getSupportedContentTypes());
         headers.put("Accept", "*/*");
         return HttpUtils.executeGet(metadataLocation, metadata.getBasicAuthnUsername(),
             samlIdPProperties.getMetadata().getBasicAuthnPassword(), new LinkedHashMap<>(), headers);
     }
 
+    @Override
+    protected Optional<AbstractMetadataResolver> resolveFromMetadataAggregate(final SamlRegisteredService service,
+                                                                            final String metadataLocation) {
+        return Optional.empty();
+    }
+
     /**
      * Is dynamic metadata query configured ?
      *
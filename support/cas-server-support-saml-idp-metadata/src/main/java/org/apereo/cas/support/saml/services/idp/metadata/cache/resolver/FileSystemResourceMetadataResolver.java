@@ -37,6 +37,12 @@ public class FileSystemResourceMetadataResolver extends BaseSamlRegisteredServic
             final var metadataResource = ResourceUtils.getResourceFrom(metadataLocation);
 
             final var metadataFile = metadataResource.getFile();
+            if (metadataFile.isFile()) {
+                final var aggregate = resolveFromMetadataAggregate(service, metadataLocation);
+                if (aggregate.isPresent()) {
+                    return CollectionUtils.wrap(aggregate.get());
+                }
+            }
             final AbstractMetadataResolver metadataResolver;
             if (metadataFile.isDirectory()) {
                 metadataResolver = new LocalDynamicMetadataResolver(new FilesystemLoadSaveManager<>(metadataFile, configBean.getParserPool()));
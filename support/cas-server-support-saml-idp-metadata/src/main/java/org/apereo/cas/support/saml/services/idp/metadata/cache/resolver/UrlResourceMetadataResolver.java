@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
@@ -24,6 +26,7 @@ import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import java.io.File;
@@ -32,11 +35,18 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
+ * <p>
+ * Downloaded metadata is kept in a backup file. Subsequent requests for the same metadata are conditional
+ * on the entity tag and last-modified date of the previous response, and metadata that is not modified is loaded
+ * from the backup file. If metadata cannot be fetched, the most recent backup file is used instead.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -45,6 +55,8 @@ import java.util.UUID;
 public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
     private final File metadataBackupDirectory;
 
+    private final Map<String, FetchedMetadata> fetchedMetadata = new ConcurrentHashMap<>();
+
     @SneakyThrows
     public UrlResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                        final OpenSamlConfigBean configBean) {
@@ -66,29 +78,109 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         try {
             final var metadataLocation = getMetadataLocationForService(service);
             LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
+            final var aggregate = resolveFromMetadataAggregate(service, metadataLocation);
+            if (aggregate.isPresent()) {
+                return CollectionUtils.wrap(aggregate.get());
+            }
             final var metadataResource = new UrlResource(metadataLocation);
-
-            final var backupFile = getMetadataBackupFile(metadataResource, service);
-            final var canonicalPath = backupFile.getCanonicalPath();
-            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
-            FileUtils.forceMkdirParent(backupFile);
-
-            final var response = fetchMetadata(metadataLocation);
-            cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
-            if (response != null) {
-                final var status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
-                if (shouldHttpResponseStatusBeProcessed(status)) {
-                    final var metadataProvider = getMetadataResolverFromResponse(response, backupFile);
-                    configureAndInitializeSingleMetadataResolver(metadataProvider, service);
-                    return CollectionUtils.wrap(metadataProvider);
+            try {
+                final var resolvers = fetchAndResolveMetadata(service, metadataLocation, metadataResource);
+                if (!resolvers.isEmpty()) {
+                    return resolvers;
                 }
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
             }
+            return resolveFromLatestBackupMetadataFile(metadataResource, service);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
         return new ArrayList<>(0);
     }
 
+    private Collection<MetadataResolver> fetchAndResolveMetadata(final SamlRegisteredService service,
+                                                                 final String metadataLocation,
+                                                                 final AbstractResource metadataResource) throws Exception {
+        final var backupFile = getMetadataBackupFile(metadataResource, service);
+        final var canonicalPath = backupFile.getCanonicalPath();
+        LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
+        FileUtils.forceMkdirParent(backupFile);
+
+        final var fetchKey = service.getId() + "@" + metadataLocation;
+        final var previous = getPreviouslyFetchedMetadata(fetchKey);
+        final Map<String, Object> headers = new LinkedHashMap<>();
+        if (previous != null) {
+            if (StringUtils.isNotBlank(previous.getEntityTag())) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, previous.getEntityTag());
+            }
+            if (StringUtils.isNotBlank(previous.getLastModified())) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+            }
+        }
+        final var response = fetchMetadata(metadataLocation, headers);
+        if (response == null) {
+            return new ArrayList<>(0);
+        }
+        final var status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+        if (status == HttpStatus.NOT_MODIFIED && previous != null) {
+            LOGGER.debug("Metadata at [{}] is not modified; loading metadata from backup file [{}]", metadataLocation, previous.getBackupFile());
+            final AbstractMetadataResolver metadataProvider = new InMemoryResourceMetadataResolver(previous.getBackupFile(), configBean);
+            configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+            return CollectionUtils.wrap(metadataProvider);
+        }
+        if (!shouldHttpResponseStatusBeProcessed(status)) {
+            LOGGER.warn("Unable to fetch metadata from [{}]; response status is [{}]", metadataLocation, status);
+            return new ArrayList<>(0);
+        }
+        try {
+            final var metadataProvider = getMetadataResolverFromResponse(response, backupFile);
+            configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+            cleanUpExpiredBackupMetadataFilesFor(metadataResource, service, backupFile);
+            if (backupFile.isFile()) {
+                this.fetchedMetadata.put(fetchKey, new FetchedMetadata(getResponseHeader(response, HttpHeaders.ETAG),
+                    getResponseHeader(response, HttpHeaders.LAST_MODIFIED), backupFile));
+            }
+            return CollectionUtils.wrap(metadataProvider);
+        } catch (final Exception e) {
+            FileUtils.deleteQuietly(backupFile);
+            throw e;
+        }
+    }
+
+    private FetchedMetadata getPreviouslyFetchedMetadata(final String fetchKey) {
+        final var previous = this.fetchedMetadata.get(fetchKey);
+        if (previous != null && !previous.getBackupFile().isFile()) {
+            this.fetchedMetadata.remove(fetchKey, previous);
+            return null;
+        }
+        return previous;
+    }
+
+    private Collection<MetadataResolver> resolveFromLatestBackupMetadataFile(final AbstractResource metadataResource,
+                                                                             final SamlRegisteredService service) {
+        final var latest = getBackupMetadataFilesFor(metadataResource, service)
+            .stream()
+            .max(Comparator.comparingLong(File::lastModified));
+        if (latest.isPresent()) {
+            final var backupFile = latest.get();
+            try {
+                LOGGER.warn("Loading metadata for [{}] from backup file [{}]", service.getName(), backupFile);
+                final AbstractMetadataResolver metadataProvider = new InMemoryResourceMetadataResolver(backupFile, configBean);
+                configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                return CollectionUtils.wrap(metadataProvider);
+            } catch (final Exception e) {
+                LOGGER.error("Unable to load metadata from backup file [{}]: [{}]", backupFile, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        return new ArrayList<>(0);
+    }
+
+    private static String getResponseHeader(final HttpResponse response, final String name) {
+        final var header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
     /**
      * Should http response status be processed?
      *
@@ -120,11 +212,12 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * Fetch metadata http response.
      *
      * @param metadataLocation the metadata location
+     * @param headers          the request headers, which carry validators of previously fetched metadata, if any
      * @return the http response
      */
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
         LOGGER.debug("Fetching metadata from [{}]", metadataLocation);
-        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>());
+        return HttpUtils.executeGet(metadataLocation, null, null, new LinkedHashMap<>(), headers);
     }
 
     /**
@@ -137,12 +230,18 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return service.getMetadataLocation();
     }
 
-    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service) {
+    private Collection<File> getBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service) {
         final var prefix = getBackupMetadataFilenamePrefix(metadataResource, service);
-        final var backups = FileUtils.listFiles(this.metadataBackupDirectory,
+        return FileUtils.listFiles(this.metadataBackupDirectory,
             new AndFileFilter(CollectionUtils.wrapList(new PrefixFileFilter(prefix, IOCase.INSENSITIVE),
                 new SuffixFileFilter(".xml", IOCase.INSENSITIVE),
                 CanWriteFileFilter.CAN_WRITE, CanReadFileFilter.CAN_READ)), TrueFileFilter.INSTANCE);
+    }
+
+    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service,
+                                                      final File currentBackupFile) {
+        final var backups = getBackupMetadataFilesFor(metadataResource, service);
+        backups.removeIf(file -> file.getAbsoluteFile().equals(currentBackupFile.getAbsoluteFile()));
         backups.forEach(file -> {
             try {
                 FileUtils.forceDelete(file);
@@ -201,4 +300,17 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         }
         return false;
     }
+
+    /**
+     * Validators of previously fetched metadata and the backup file it is kept in.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class FetchedMetadata {
+        private final String entityTag;
+
+        private final String lastModified;
+
+        private final File backupFile;
+    }
 }
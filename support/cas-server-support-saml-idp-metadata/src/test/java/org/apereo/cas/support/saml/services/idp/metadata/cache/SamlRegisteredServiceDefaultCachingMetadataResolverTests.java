@@ -0,0 +1,146 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.SamlRegisteredServiceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
+import org.apereo.cas.util.CollectionUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final AtomicBoolean available = new AtomicBoolean(true);
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private final AtomicBoolean gated = new AtomicBoolean();
+
+    private SamlRegisteredServiceDefaultCachingMetadataResolver resolver;
+
+    @Before
+    public void initialize() {
+        final var plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(new SamlRegisteredServiceMetadataResolver() {
+            @Override
+            public Collection<MetadataResolver> resolve(final SamlRegisteredService service) {
+                loads.incrementAndGet();
+                if (gated.get()) {
+                    try {
+                        gate.await(10, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return available.get() ? CollectionUtils.wrap(mock(MetadataResolver.class)) : new ArrayList<>(0);
+            }
+
+            @Override
+            public boolean supports(final SamlRegisteredService service) {
+                return true;
+            }
+        });
+        final var loader = new SamlRegisteredServiceMetadataResolverCacheLoader(null, null, plan);
+        this.resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(60, loader, 1);
+    }
+
+    @After
+    public void shutdown() {
+        this.gate.countDown();
+        this.resolver.destroy();
+    }
+
+    @Test
+    public void verifyMetadataIsLoadedOnce() {
+        final var service = newService("PT1H");
+        final var first = this.resolver.resolve(service);
+        assertTrue(first instanceof ChainingMetadataResolver);
+        assertSame(first, this.resolver.resolve(service));
+        assertEquals(1, this.loads.get());
+    }
+
+    @Test
+    public void verifyStaleMetadataIsServedWhileRefreshing() throws Exception {
+        final var service = newService("PT1S");
+        final var first = this.resolver.resolve(service);
+        this.gated.set(true);
+        Thread.sleep(1100);
+
+        assertSame(first, this.resolver.resolve(service));
+        waitFor(() -> this.loads.get() == 2);
+        assertSame(first, this.resolver.resolve(service));
+        assertEquals(2, this.loads.get());
+
+        this.gate.countDown();
+        waitFor(() -> this.resolver.resolve(service) != first);
+    }
+
+    @Test
+    public void verifyFailedRefreshKeepsStaleMetadata() throws Exception {
+        final var service = newService("PT1S");
+        final var first = this.resolver.resolve(service);
+        this.available.set(false);
+        Thread.sleep(1100);
+
+        assertSame(first, this.resolver.resolve(service));
+        waitFor(() -> this.loads.get() == 2);
+        Thread.sleep(50);
+        assertSame(first, this.resolver.resolve(service));
+    }
+
+    @Test
+    public void verifyRefreshDoesNotRestoreEvictedMetadata() throws Exception {
+        final var service = newService("PT1S");
+        this.resolver.resolve(service);
+        this.gated.set(true);
+        Thread.sleep(1100);
+
+        this.resolver.resolve(service);
+        waitFor(() -> this.loads.get() == 2);
+        Thread.sleep(1000);
+        this.gate.countDown();
+        Thread.sleep(200);
+
+        this.resolver.resolve(service);
+        assertEquals(3, this.loads.get());
+    }
+
+    private static SamlRegisteredService newService(final String expiration) {
+        final var service = new SamlRegisteredService();
+        service.setId(1000);
+        service.setName("Example");
+        service.setServiceId("https://sp.example.org");
+        service.setMetadataLocation("https://sp.example.org/metadata");
+        service.setMetadataExpirationDuration(expiration);
+        return service;
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws Exception {
+        final var deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition was not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.aggregate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlMetadataAggregateIndexTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class SamlMetadataAggregateIndexTests {
+
+    private static final String MD_NS = "urn:oasis:names:tc:SAML:2.0:metadata";
+
+    private static final String DS_NS = "http://www.w3.org/2000/09/xmldsig#";
+
+    private static final String AGGREGATE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<md:EntitiesDescriptor xmlns:md=\"" + MD_NS + "\" xmlns:ds=\"" + DS_NS + "\" "
+        + "validUntil=\"2030-01-01T00:00:00Z\" cacheDuration=\"PT6H\" Name=\"federation\">"
+        + "<md:EntityDescriptor entityID=\"https://sp1.example.org\">"
+        + "<md:SPSSODescriptor protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\">"
+        + "<md:KeyDescriptor><ds:KeyInfo><ds:KeyName>sp1 &amp; co</ds:KeyName></ds:KeyInfo></md:KeyDescriptor>"
+        + "</md:SPSSODescriptor></md:EntityDescriptor>"
+        + "<md:EntitiesDescriptor Name=\"nested\">"
+        + "<EntityDescriptor xmlns=\"" + MD_NS + "\" entityID=\"https://sp2.example.org\">"
+        + "<SPSSODescriptor protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\"/>"
+        + "</EntityDescriptor>"
+        + "</md:EntitiesDescriptor>"
+        + "<md:EntityDescriptor entityID=\"https://idp.example.net\"/>"
+        + "</md:EntitiesDescriptor>";
+
+    private SamlMetadataAggregateIndex index;
+
+    @Before
+    public void initialize() throws Exception {
+        this.index = SamlMetadataAggregateIndex.build(new ByteArrayInputStream(AGGREGATE.getBytes(StandardCharsets.UTF_8)),
+            entityId -> true, 1, AGGREGATE.length());
+    }
+
+    @Test
+    public void verifyEntitiesAreIndexed() {
+        assertEquals(3, this.index.size());
+        assertEquals("2030-01-01T00:00:00Z", this.index.getValidUntil());
+        assertEquals("PT6H", this.index.getCacheDuration());
+        assertTrue(this.index.isBuiltFrom(1, AGGREGATE.length()));
+        assertFalse(this.index.isBuiltFrom(2, AGGREGATE.length()));
+    }
+
+    @Test
+    public void verifyEntitiesAreFiltered() throws Exception {
+        final var filtered = SamlMetadataAggregateIndex.build(new ByteArrayInputStream(AGGREGATE.getBytes(StandardCharsets.UTF_8)),
+            entityId -> entityId.startsWith("https://sp"), 1, AGGREGATE.length());
+        assertEquals(2, filtered.size());
+        assertTrue(filtered.find("https://idp.example.net").isEmpty());
+    }
+
+    @Test
+    public void verifyEntitiesAreFoundByIdOrPattern() {
+        assertEquals(1, this.index.find("https://sp1.example.org").size());
+        assertEquals(2, this.index.find("https://sp\\d.example.org").size());
+        assertTrue(this.index.find("https://unknown.example.org").isEmpty());
+    }
+
+    @Test
+    public void verifyMetadataDocumentIsStandalone() throws Exception {
+        final var document = this.index.buildMetadataDocument("https://sp.+").orElseThrow();
+        final var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final var root = factory.newDocumentBuilder().parse(new ByteArrayInputStream(document)).getDocumentElement();
+
+        assertEquals(MD_NS, root.getNamespaceURI());
+        assertEquals("EntitiesDescriptor", root.getLocalName());
+        assertEquals("2030-01-01T00:00:00Z", root.getAttribute("validUntil"));
+        assertEquals("PT6H", root.getAttribute("cacheDuration"));
+
+        final var entities = root.getElementsByTagNameNS(MD_NS, "EntityDescriptor");
+        assertEquals(2, entities.getLength());
+        assertEquals(2, root.getElementsByTagNameNS(MD_NS, "SPSSODescriptor").getLength());
+
+        final var keyName = (Element) root.getElementsByTagNameNS(DS_NS, "KeyName").item(0);
+        assertEquals("sp1 & co", keyName.getTextContent());
+    }
+
+    @Test
+    public void verifyNoDocumentForUnknownEntity() throws Exception {
+        assertFalse(this.index.buildMetadataDocument("https://unknown.example.org").isPresent());
+    }
+}
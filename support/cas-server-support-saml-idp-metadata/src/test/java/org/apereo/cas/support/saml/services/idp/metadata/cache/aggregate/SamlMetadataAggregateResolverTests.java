@@ -0,0 +1,94 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.aggregate;
+
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CoreSamlConfiguration;
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.FileSystemResourceMetadataResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlMetadataAggregateResolverTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CoreSamlConfiguration.class
+})
+public class SamlMetadataAggregateResolverTests {
+
+    private static final String ENTITY_ID = "https://carmenwiki.osu.edu/shibboleth";
+
+    @Autowired
+    @Qualifier("shibboleth.OpenSAMLConfig")
+    private OpenSamlConfigBean openSamlConfigBean;
+
+    private FileSystemResourceMetadataResolver resolver;
+
+    private File metadataFile;
+
+    @Before
+    public void initialize() throws Exception {
+        final var props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        this.metadataFile = File.createTempFile("aggregate", ".xml");
+        this.metadataFile.deleteOnExit();
+        FileUtils.copyInputStreamToFile(new ClassPathResource("sample-sp.xml").getInputStream(), this.metadataFile);
+
+        this.resolver = new FileSystemResourceMetadataResolver(props, openSamlConfigBean);
+        this.resolver.setMetadataAggregateResolver(new SamlMetadataAggregateResolver(props, openSamlConfigBean));
+    }
+
+    @Test
+    public void verifyServicesShareAggregate() throws Exception {
+        final var first = this.resolver.resolve(newService(1, ENTITY_ID));
+        assertEquals(1, first.size());
+        assertNotNull(resolveEntity(first.iterator().next()));
+
+        final var second = this.resolver.resolve(newService(2, "https://carmenwiki.osu.edu/.+"));
+        assertEquals(1, second.size());
+        assertNotNull(resolveEntity(second.iterator().next()));
+    }
+
+    @Test
+    public void verifyUnknownEntityFallsBackToMetadataLocation() throws Exception {
+        final var results = this.resolver.resolve(newService(3, "https://unknown.example.org"));
+        assertEquals(1, results.size());
+        assertNotNull(resolveEntity(results.iterator().next()));
+    }
+
+    private SamlRegisteredService newService(final long id, final String serviceId) {
+        final var service = new SamlRegisteredService();
+        service.setId(id);
+        service.setName("Aggregate");
+        service.setServiceId(serviceId);
+        service.setMetadataLocation("file:" + this.metadataFile.getAbsolutePath());
+        return service;
+    }
+
+    private static Object resolveEntity(final MetadataResolver metadataResolver) throws Exception {
+        return metadataResolver.resolveSingle(new CriteriaSet(new EntityIdCriterion(ENTITY_ID)));
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ import org.opensaml.saml.common.binding.security.impl.SAMLOutboundProtocolMessag
 import org.opensaml.saml.criterion.EntityRoleCriterion;
 import org.opensaml.saml.criterion.RoleDescriptorCriterion;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.RefreshableMetadataResolver;
 import org.opensaml.saml.saml2.core.RequestAbstractType;
 import org.opensaml.saml.saml2.metadata.IDPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.RoleDescriptor;
@@ -44,16 +47,27 @@ import org.opensaml.xmlsec.config.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
+ * <p>
+ * Signature signing parameters are resolved once per service provider role descriptor and signing credential type,
+ * and cached until the IdP signing key, signing certificate or metadata change. Those are checked for changes
+ * at most every few seconds rather than for every signature, so a change may take that long to be noticed.
+ * Role descriptors are held weakly and compared by identity: refreshed service provider metadata produces new
+ * role descriptors, and so new cache entries, while the parameters of descriptors that are no longer
+ * referenced by any metadata are dropped along with them rather than pinning the old metadata in memory.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -61,6 +75,10 @@ import java.util.Set;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectSigner {
+    private static final int MAXIMUM_CACHED_SIGNING_PARAMETERS = 10_000;
+
+    private static final long IDP_METADATA_RECHECK_INTERVAL_NANOS = Duration.ofSeconds(10).toNanos();
+
     /**
      * The Override signature reference digest methods.
      */
@@ -87,6 +105,15 @@ public class SamlIdPObjectSigner {
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    private final Cache<RoleDescriptor, Map<String, SignatureSigningParameters>> signingParametersCache = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_SIGNING_PARAMETERS)
+        .weakKeys()
+        .build();
+
+    private volatile List<Long> idpMetadataVersion;
+
+    private volatile long idpMetadataVersionCheckedAt;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -204,15 +231,38 @@ public class SamlIdPObjectSigner {
     }
 
     /**
-     * Build signature signing parameters signature signing parameters.
+     * Build signature signing parameters signature signing parameters,
+     * reusing parameters previously resolved for the same role descriptor.
      *
      * @param descriptor the descriptor
      * @param service    the service
      * @return the signature signing parameters
      */
-    @SneakyThrows
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
                                                                          final SamlRegisteredService service) {
+        invalidateIfIdPMetadataHasChanged();
+        final var parameters = this.signingParametersCache.get(descriptor, d -> new ConcurrentHashMap<>());
+        return parameters.computeIfAbsent(StringUtils.defaultString(service.getSigningCredentialType()),
+            type -> resolveSignatureSigningParameters(descriptor, service));
+    }
+
+    /**
+     * Invalidate cached signature signing parameters.
+     */
+    public void invalidate() {
+        this.signingParametersCache.invalidateAll();
+    }
+
+    /**
+     * Resolve signature signing parameters.
+     *
+     * @param descriptor the descriptor
+     * @param service    the service
+     * @return the signature signing parameters
+     */
+    @SneakyThrows
+    protected SignatureSigningParameters resolveSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                           final SamlRegisteredService service) {
         final var criteria = new CriteriaSet();
         final var signatureSigningConfiguration = getSignatureSigningConfiguration(descriptor, service);
         criteria.add(new SignatureSigningConfigurationCriterion(signatureSigningConfiguration));
@@ -334,6 +384,41 @@ public class SamlIdPObjectSigner {
         return null;
     }
 
+    private void invalidateIfIdPMetadataHasChanged() {
+        final var now = System.nanoTime();
+        if (this.idpMetadataVersion != null && now - this.idpMetadataVersionCheckedAt < IDP_METADATA_RECHECK_INTERVAL_NANOS) {
+            return;
+        }
+        this.idpMetadataVersionCheckedAt = now;
+        final List<Long> version = new ArrayList<>(4);
+        version.add(getResourceVersion(samlIdPMetadataLocator.getSigningKey()));
+        version.add(getResourceVersion(samlIdPMetadataLocator.getSigningCertificate()));
+        version.add(getResourceVersion(samlIdPMetadataLocator.getMetadata()));
+        if (this.casSamlIdPMetadataResolver instanceof RefreshableMetadataResolver) {
+            final var lastUpdate = ((RefreshableMetadataResolver) this.casSamlIdPMetadataResolver).getLastUpdate();
+            version.add(lastUpdate != null ? lastUpdate.getMillis() : 0L);
+        }
+        if (!version.equals(this.idpMetadataVersion)) {
+            if (this.idpMetadataVersion != null) {
+                LOGGER.debug("IdP signing key, certificate or metadata have changed; invalidating cached signature signing parameters");
+            }
+            invalidate();
+            this.idpMetadataVersion = version;
+        }
+    }
+
+    private static long getResourceVersion(final Resource resource) {
+        if (resource == null) {
+            return 0L;
+        }
+        try {
+            return resource.lastModified();
+        } catch (final Exception e) {
+            LOGGER.trace("Unable to determine when [{}] was last modified: [{}]", resource, e.getMessage());
+            return resource.hashCode();
+        }
+    }
+
     /**
      * Gets signing private key.
      *
@@ -0,0 +1,135 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import net.shibboleth.utilities.java.support.xml.BasicParserPool;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.SamlIdPUtils;
+import org.apereo.cas.support.saml.idp.metadata.locator.DefaultSamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.joda.time.DateTime;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.criterion.EntityRoleCriterion;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.Issuer;
+import org.opensaml.saml.saml2.core.NameID;
+import org.opensaml.saml.saml2.core.Subject;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.opensaml.xmlsec.signature.support.SignatureSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link SamlIdPObjectSignerBenchmark} that measures the throughput of signing
+ * SAML2 assertions with parameters from {@link SamlIdPObjectSigner}, either cached or resolved for every assertion.
+ * Run via the {@code jmh} task of the module, or the {@link #main(String[])} method from the benchmark classpath, in the module directory.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SamlIdPObjectSignerBenchmark {
+
+    private static final int[] THREADS = {1, 8};
+
+    private static final String METADATA_DIRECTORY = "src/test/resources/metadata";
+
+    private static final String SERVICE_PROVIDER_ENTITY_ID = "https://sp.testshib.org/shibboleth-sp";
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private OpenSamlConfigBean configBean;
+
+    private SamlIdPObjectSigner signer;
+
+    private SamlRegisteredService service;
+
+    private RoleDescriptor descriptor;
+
+    public static void main(final String[] args) throws Exception {
+        for (final var threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(SamlIdPObjectSignerBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final var parserPool = new BasicParserPool();
+        parserPool.setNamespaceAware(true);
+        parserPool.initialize();
+        this.configBean = new OpenSamlConfigBean(parserPool);
+
+        final var idpMetadataResolver = new InMemoryResourceMetadataResolver(new File(METADATA_DIRECTORY, "idp-metadata.xml"), this.configBean);
+        idpMetadataResolver.setId("idp");
+        idpMetadataResolver.initialize();
+
+        final var spMetadataResolver = new InMemoryResourceMetadataResolver(new File(METADATA_DIRECTORY, "testshib-providers.xml"), this.configBean);
+        spMetadataResolver.setId("sp");
+        spMetadataResolver.initialize();
+        this.descriptor = SamlIdPUtils.getRoleDescriptorResolver(spMetadataResolver, false).resolveSingle(new CriteriaSet(
+            new EntityIdCriterion(SERVICE_PROVIDER_ENTITY_ID), new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME)));
+
+        this.service = new SamlRegisteredService();
+        this.service.setName("TestShib");
+        this.service.setServiceId(SERVICE_PROVIDER_ENTITY_ID);
+
+        final var locator = new DefaultSamlIdPMetadataLocator(new FileSystemResource(METADATA_DIRECTORY));
+        this.signer = new SamlIdPObjectSigner(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+            idpMetadataResolver, new CasConfigurationProperties(), locator);
+    }
+
+    @Benchmark
+    public Assertion signAssertion() throws Exception {
+        final var params = this.cached
+            ? this.signer.buildSignatureSigningParameters(this.descriptor, this.service)
+            : this.signer.resolveSignatureSigningParameters(this.descriptor, this.service);
+        final var assertion = newAssertion();
+        SignatureSupport.signObject(assertion, params);
+        return assertion;
+    }
+
+    private Assertion newAssertion() {
+        final var builders = this.configBean.getBuilderFactory();
+        final var issuer = (Issuer) builders.getBuilder(Issuer.DEFAULT_ELEMENT_NAME).buildObject(Issuer.DEFAULT_ELEMENT_NAME);
+        issuer.setValue("https://cas.example.org/idp");
+        final var nameId = (NameID) builders.getBuilder(NameID.DEFAULT_ELEMENT_NAME).buildObject(NameID.DEFAULT_ELEMENT_NAME);
+        nameId.setValue("casuser");
+        final var subject = (Subject) builders.getBuilder(Subject.DEFAULT_ELEMENT_NAME).buildObject(Subject.DEFAULT_ELEMENT_NAME);
+        subject.setNameID(nameId);
+        final var assertion = (Assertion) builders.getBuilder(Assertion.DEFAULT_ELEMENT_NAME).buildObject(Assertion.DEFAULT_ELEMENT_NAME);
+        assertion.setID('_' + UUID.randomUUID().toString());
+        assertion.setIssueInstant(DateTime.now());
+        assertion.setIssuer(issuer);
+        assertion.setSubject(subject);
+        return assertion;
+    }
+}
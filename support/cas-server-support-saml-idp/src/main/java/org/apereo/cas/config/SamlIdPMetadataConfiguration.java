@@ -15,6 +15,7 @@ import org.apereo.cas.support.saml.idp.metadata.writer.SamlIdPCertificateAndKeyW
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataResolverCacheLoader;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.aggregate.SamlMetadataAggregateResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.DynamicMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.FileSystemResourceMetadataResolver;
@@ -130,13 +131,22 @@ public class SamlIdPMetadataConfiguration {
 
     @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataResolvers")
     @Bean
+    @SneakyThrows
     public SamlRegisteredServiceMetadataResolutionPlan samlRegisteredServiceMetadataResolvers() {
         final var plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
 
         final var samlIdp = casProperties.getAuthn().getSamlIdp();
+        final var fileSystemResolver = new FileSystemResourceMetadataResolver(samlIdp, openSamlConfigBean);
+        final var urlResolver = new UrlResourceMetadataResolver(samlIdp, openSamlConfigBean);
+        if (samlIdp.getMetadata().isIndexAggregates()) {
+            LOGGER.debug("Metadata aggregates are shared between services and indexed by entity id");
+            final var aggregateResolver = new SamlMetadataAggregateResolver(samlIdp, openSamlConfigBean);
+            fileSystemResolver.setMetadataAggregateResolver(aggregateResolver);
+            urlResolver.setMetadataAggregateResolver(aggregateResolver);
+        }
         plan.registerMetadataResolver(new DynamicMetadataResolver(samlIdp, openSamlConfigBean));
-        plan.registerMetadataResolver(new FileSystemResourceMetadataResolver(samlIdp, openSamlConfigBean));
-        plan.registerMetadataResolver(new UrlResourceMetadataResolver(samlIdp, openSamlConfigBean));
+        plan.registerMetadataResolver(fileSystemResolver);
+        plan.registerMetadataResolver(urlResolver);
         plan.registerMetadataResolver(new ClasspathResourceMetadataResolver(samlIdp, openSamlConfigBean));
         plan.registerMetadataResolver(new GroovyResourceMetadataResolver(samlIdp, openSamlConfigBean));
 
@@ -155,9 +165,11 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        final var metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
-            chainingMetadataResolverCacheLoader()
+            metadata.getCacheExpirationMinutes(),
+            chainingMetadataResolverCacheLoader(),
+            metadata.getCacheRefreshThreads()
         );
     }
 
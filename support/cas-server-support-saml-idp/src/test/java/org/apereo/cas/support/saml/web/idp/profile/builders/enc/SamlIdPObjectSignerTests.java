@@ -0,0 +1,41 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPObjectSignerTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
+
+    @Test
+    public void verifySigningParametersAreCached() {
+        final var service = getSamlRegisteredServiceForTestShib(true, true);
+        final var adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        final var descriptor = adaptor.getSsoDescriptor();
+
+        final var params = samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service);
+        assertNotNull(params.getSigningCredential());
+        assertSame(params, samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service));
+
+        service.setSigningCredentialType("BASIC");
+        assertNotSame(params, samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service));
+
+        service.setSigningCredentialType(null);
+        assertSame(params, samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service));
+        samlIdPObjectSigner.invalidate();
+        final var resolved = samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service);
+        assertNotSame(params, resolved);
+        assertEquals(params.getSignatureAlgorithm(), resolved.getSignatureAlgorithm());
+    }
+}
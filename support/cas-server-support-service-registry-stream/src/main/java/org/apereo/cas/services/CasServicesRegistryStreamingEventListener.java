@@ -6,6 +6,7 @@ import org.apereo.cas.services.publisher.CasRegisteredServiceStreamPublisher;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
 import org.springframework.context.event.EventListener;
 
 /**
@@ -30,6 +31,23 @@ public class CasServicesRegistryStreamingEventListener {
         this.publisher.publish(event.getRegisteredService(), event);
     }
 
+    /**
+     * Handle cas registered services loaded event.
+     * Registries may report all loaded services in one event, which is
+     * published here one service at a time. Events signaled by the services manager
+     * are ignored since they merely summarize what the registries have reported.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        if (event.getSource() instanceof ServiceRegistry) {
+            LOGGER.debug("Received event [{}] for [{}] service(s)", event, event.getServices().size());
+            event.getServices().forEach(service ->
+                this.publisher.publish(service, new CasRegisteredServiceLoadedEvent(event.getSource(), service)));
+        }
+    }
+
     /**
      * Handle cas registered service saved event.
      *
@@ -1,28 +1,25 @@
 package org.apereo.cas.web.support;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
- * of IP Addresses to number of failures to authenticate.
+ * of IP Addresses to number of failures to authenticate. Failures are tracked
+ * by an {@link InMemoryThrottledSubmissionStore}, which by default remembers the last failure per key.
  *
  * @author Scott Battaglia
  * @since 3.0.0
  */
 @Slf4j
+@Getter
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
-
-    private final ConcurrentMap<String, ZonedDateTime> ipMap = new ConcurrentHashMap<>();
+    private final InMemoryThrottledSubmissionStore submissionStore;
 
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
@@ -30,19 +27,30 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
                                                                         final String authenticationFailureCode,
                                                                         final AuditTrailExecutionPlan auditTrailExecutionPlan,
                                                                         final String applicationCode) {
+        this(failureThreshold, failureRangeInSeconds, usernameParameter, authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
+            new LastFailureInMemoryThrottledSubmissionStore(failureThreshold, failureRangeInSeconds));
+    }
+
+    public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                                        final int failureRangeInSeconds,
+                                                                        final String usernameParameter,
+                                                                        final String authenticationFailureCode,
+                                                                        final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                        final String applicationCode,
+                                                                        final InMemoryThrottledSubmissionStore submissionStore) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
+        this.submissionStore = submissionStore;
     }
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        final var last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        return this.submissionStore.exceedsThreshold(constructKey(request));
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
-        this.ipMap.put(constructKey(request), ZonedDateTime.now(ZoneOffset.UTC));
+        this.submissionStore.recordSubmissionFailure(constructKey(request));
     }
 
     /**
@@ -52,29 +60,7 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     @Override
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
-
-        final var keys = this.ipMap.entrySet();
-        LOGGER.debug("Decrementing counts for throttler.  Starting key count: [{}]", keys.size());
-
-        final var now = ZonedDateTime.now(ZoneOffset.UTC);
-        for (final var iter = keys.iterator(); iter.hasNext();) {
-            final var entry = iter.next();
-            if (submissionRate(now, entry.getValue()) < getThresholdRate()) {
-                LOGGER.trace("Removing entry for key [{}]", entry.getKey());
-                iter.remove();
-            }
-        }
+        this.submissionStore.release();
         LOGGER.debug("Done decrementing count for throttler.");
     }
-
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
-    }
 }
@@ -28,6 +28,17 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final int failureThreshold,
+                                                                                      final int failureRangeInSeconds,
+                                                                                      final String usernameParameter,
+                                                                                      final String authenticationFailureCode,
+                                                                                      final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                                      final String applicationCode,
+                                                                                      final InMemoryThrottledSubmissionStore submissionStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, submissionStore);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         final var username = request.getParameter(getUsernameParameter());
@@ -26,6 +26,17 @@ public class InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter ext
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(final int failureThreshold,
+                                                                           final int failureRangeInSeconds,
+                                                                           final String usernameParameter,
+                                                                           final String authenticationFailureCode,
+                                                                           final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                           final String applicationCode,
+                                                                           final InMemoryThrottledSubmissionStore submissionStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, submissionStore);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         return ClientInfoHolder.getClientInfo().getClientIpAddress();
@@ -0,0 +1,32 @@
+package org.apereo.cas.web.support;
+
+/**
+ * This is {@link InMemoryThrottledSubmissionStore} that keeps track of failed submissions
+ * in memory on behalf of in-memory throttling interceptors, keyed by whatever
+ * the interceptor constructs from the request (i.e. IP address, or IP address and username).
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public interface InMemoryThrottledSubmissionStore {
+
+    /**
+     * Record submission failure for the key.
+     *
+     * @param key the key
+     */
+    void recordSubmissionFailure(String key);
+
+    /**
+     * Determine whether the threshold has been exceeded for the key.
+     *
+     * @param key the key
+     * @return true, if exceeded
+     */
+    boolean exceedsThreshold(String key);
+
+    /**
+     * Release records that no longer apply, so that throttled keys may resume.
+     */
+    void release();
+}
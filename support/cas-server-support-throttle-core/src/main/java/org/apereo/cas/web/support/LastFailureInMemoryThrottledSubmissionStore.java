@@ -0,0 +1,67 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is {@link LastFailureInMemoryThrottledSubmissionStore} that remembers the time of the last failure per key,
+ * and throttles submissions whose instantaneous rate, measured since the last failure, exceeds the threshold rate.
+ * Records are released by examining every key.
+ *
+ * @author Scott Battaglia
+ * @since 6.0.0
+ */
+@Slf4j
+public class LastFailureInMemoryThrottledSubmissionStore implements InMemoryThrottledSubmissionStore {
+
+    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+
+    private final ConcurrentMap<String, ZonedDateTime> ipMap = new ConcurrentHashMap<>();
+
+    private final double thresholdRate;
+
+    public LastFailureInMemoryThrottledSubmissionStore(final int failureThreshold, final int failureRangeInSeconds) {
+        this.thresholdRate = failureThreshold / failureRangeInSeconds;
+    }
+
+    @Override
+    public void recordSubmissionFailure(final String key) {
+        this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key) {
+        final var last = this.ipMap.get(key);
+        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > this.thresholdRate;
+    }
+
+    @Override
+    public void release() {
+        final var keys = this.ipMap.entrySet();
+        LOGGER.debug("Decrementing counts for throttler.  Starting key count: [{}]", keys.size());
+
+        final var now = ZonedDateTime.now(ZoneOffset.UTC);
+        for (final var iter = keys.iterator(); iter.hasNext();) {
+            final var entry = iter.next();
+            if (submissionRate(now, entry.getValue()) < this.thresholdRate) {
+                LOGGER.trace("Removing entry for key [{}]", entry.getKey());
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
+     *
+     * @param a First date.
+     * @param b Second date.
+     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
+     */
+    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
+        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+    }
+}
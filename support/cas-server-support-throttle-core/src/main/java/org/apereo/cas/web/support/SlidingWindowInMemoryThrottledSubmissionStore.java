@@ -0,0 +1,187 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is {@link SlidingWindowInMemoryThrottledSubmissionStore} that counts failures per key
+ * within a sliding window that spans the failure range, and throttles keys once the number of
+ * failures reaches the threshold.
+ * <p>
+ * Failures are counted in fixed windows; the count over the sliding window is approximated by the
+ * count of the current window, plus the count of the previous window weighted by how much of it still
+ * overlaps with the sliding window. Only the current and previous windows are kept, so that records
+ * expire by discarding an entire window at once rather than by examining keys.
+ * <p>
+ * Each window counts up to a maximum number of keys exactly. Failures for keys beyond that are counted
+ * in a count-min sketch of fixed size, whose estimates may exceed but never fall short of the actual counts,
+ * so that memory remains bounded regardless of the number of distinct keys.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class SlidingWindowInMemoryThrottledSubmissionStore implements InMemoryThrottledSubmissionStore {
+
+    private final int failureThreshold;
+
+    private final long windowInMillis;
+
+    private final int maximumKeys;
+
+    private final int sketchWidth;
+
+    private final int sketchDepth;
+
+    private final AtomicReference<Windows> windows;
+
+    public SlidingWindowInMemoryThrottledSubmissionStore(final int failureThreshold, final int failureRangeInSeconds,
+                                                         final int maximumKeys, final int sketchWidth, final int sketchDepth) {
+        this.failureThreshold = failureThreshold;
+        this.windowInMillis = Math.max(1, failureRangeInSeconds) * 1000L;
+        this.maximumKeys = maximumKeys;
+        this.sketchWidth = Math.max(1, sketchWidth);
+        this.sketchDepth = Math.max(1, sketchDepth);
+        this.windows = new AtomicReference<>(new Windows(null, new Window(System.currentTimeMillis())));
+    }
+
+    @Override
+    public void recordSubmissionFailure(final String key) {
+        getWindows(System.currentTimeMillis()).current.increment(key);
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key) {
+        return getFailureCount(key, System.currentTimeMillis()) >= this.failureThreshold;
+    }
+
+    @Override
+    public void release() {
+        final var current = getWindows(System.currentTimeMillis()).current;
+        LOGGER.debug("Current throttling window started at [{}] and tracks [{}] key(s)", current.start, current.counts.size());
+    }
+
+    /**
+     * Estimate the number of failures for the key within the sliding window that ends at the given time.
+     *
+     * @param key the key
+     * @param now the current time in milliseconds
+     * @return the failure count
+     */
+    protected double getFailureCount(final String key, final long now) {
+        final var w = getWindows(now);
+        final var count = w.current.count(key);
+        if (w.previous == null) {
+            return count;
+        }
+        final var elapsed = Math.min(Math.max(0, now - w.current.start), this.windowInMillis);
+        final var weight = 1.0 - (double) elapsed / this.windowInMillis;
+        return count + w.previous.count(key) * weight;
+    }
+
+    private Windows getWindows(final long now) {
+        while (true) {
+            final var w = this.windows.get();
+            if (now < w.current.start + this.windowInMillis) {
+                return w;
+            }
+            final var start = now - (now - w.current.start) % this.windowInMillis;
+            final var previous = start - this.windowInMillis == w.current.start ? w.current : null;
+            final var next = new Windows(previous, new Window(start));
+            if (this.windows.compareAndSet(w, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static int hash(final int h) {
+        var x = h;
+        x ^= x >>> 16;
+        x *= 0x85ebca6b;
+        x ^= x >>> 13;
+        x *= 0xc2b2ae35;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    private static final class Windows {
+        private final Window previous;
+
+        private final Window current;
+
+        Windows(final Window previous, final Window current) {
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+
+    private final class Window {
+        private final long start;
+
+        private final ConcurrentHashMap<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        private volatile AtomicIntegerArray sketch;
+
+        Window(final long start) {
+            this.start = start;
+        }
+
+        void increment(final String key) {
+            var counter = this.counts.get(key);
+            if (counter == null) {
+                if (this.counts.mappingCount() >= maximumKeys) {
+                    incrementSketch(key);
+                    return;
+                }
+                counter = this.counts.computeIfAbsent(key, k -> new AtomicInteger());
+            }
+            counter.incrementAndGet();
+        }
+
+        int count(final String key) {
+            final var counter = this.counts.get(key);
+            if (counter != null) {
+                return counter.get();
+            }
+            final var s = this.sketch;
+            if (s == null) {
+                return 0;
+            }
+            var min = Integer.MAX_VALUE;
+            final var h1 = key.hashCode();
+            final var h2 = hash(h1);
+            for (var i = 0; i < sketchDepth; i++) {
+                min = Math.min(min, s.get(index(h1, h2, i)));
+            }
+            return min;
+        }
+
+        private void incrementSketch(final String key) {
+            var s = this.sketch;
+            if (s == null) {
+                synchronized (this) {
+                    s = this.sketch;
+                    if (s == null) {
+                        LOGGER.debug("Number of keys tracked by the throttling window has reached [{}]; counting remaining keys approximately",
+                            maximumKeys);
+                        s = new AtomicIntegerArray(sketchWidth * sketchDepth);
+                        this.sketch = s;
+                    }
+                }
+            }
+            final var h1 = key.hashCode();
+            final var h2 = hash(h1);
+            for (var i = 0; i < sketchDepth; i++) {
+                s.incrementAndGet(index(h1, h2, i));
+            }
+        }
+
+        private int index(final int h1, final int h2, final int row) {
+            return row * sketchWidth + Math.floorMod(h1 + row * h2, sketchWidth);
+        }
+    }
+}
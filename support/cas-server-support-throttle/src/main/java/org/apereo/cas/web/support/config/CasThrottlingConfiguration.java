@@ -11,7 +11,10 @@ import org.apereo.cas.web.support.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
+import org.apereo.cas.web.support.InMemoryThrottledSubmissionStore;
+import org.apereo.cas.web.support.LastFailureInMemoryThrottledSubmissionStore;
 import org.apereo.cas.web.support.NoOpThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.SlidingWindowInMemoryThrottledSubmissionStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,6 +61,7 @@ public class CasThrottlingConfiguration {
             return new NoOpThrottledSubmissionHandlerInterceptor();
         }
 
+        final var store = inMemoryThrottledSubmissionStore();
         if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
             LOGGER.debug("Activating authentication throttling based on IP address and username...");
             return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
@@ -65,7 +69,8 @@ public class CasThrottlingConfiguration {
                 throttle.getUsernameParameter(),
                 throttle.getFailure().getCode(),
                 auditTrailExecutionPlan.getIfAvailable(),
-                throttle.getAppcode());
+                throttle.getAppcode(),
+                store);
         }
         LOGGER.debug("Activating authentication throttling based on IP address...");
         return new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
@@ -73,7 +78,24 @@ public class CasThrottlingConfiguration {
             throttle.getUsernameParameter(),
             throttle.getFailure().getCode(),
             auditTrailExecutionPlan.getIfAvailable(),
-            throttle.getAppcode());
+            throttle.getAppcode(),
+            store);
+    }
+
+    @RefreshScope
+    @ConditionalOnMissingBean(name = "inMemoryThrottledSubmissionStore")
+    @Bean
+    public InMemoryThrottledSubmissionStore inMemoryThrottledSubmissionStore() {
+        final var throttle = casProperties.getAuthn().getThrottle();
+        final var failure = throttle.getFailure();
+        final var inMemory = throttle.getInMemory();
+        if (inMemory.isSlidingWindow()) {
+            LOGGER.debug("Tracking failed attempts within a sliding window of [{}] second(s), counting up to [{}] key(s) exactly",
+                failure.getRangeSeconds(), inMemory.getMaximumKeys());
+            return new SlidingWindowInMemoryThrottledSubmissionStore(failure.getThreshold(), failure.getRangeSeconds(),
+                inMemory.getMaximumKeys(), inMemory.getSketchWidth(), inMemory.getSketchDepth());
+        }
+        return new LastFailureInMemoryThrottledSubmissionStore(failure.getThreshold(), failure.getRangeSeconds());
     }
 
     @Autowired
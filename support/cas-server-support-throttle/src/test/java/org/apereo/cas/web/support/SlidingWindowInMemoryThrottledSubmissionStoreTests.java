@@ -0,0 +1,50 @@
+package org.apereo.cas.web.support;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SlidingWindowInMemoryThrottledSubmissionStoreTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class SlidingWindowInMemoryThrottledSubmissionStoreTests {
+
+    @Test
+    public void verifyThresholdIsReached() {
+        final var store = new SlidingWindowInMemoryThrottledSubmissionStore(3, 60, 100, 1024, 4);
+        store.recordSubmissionFailure("1.2.3.4");
+        store.recordSubmissionFailure("1.2.3.4");
+        assertFalse(store.exceedsThreshold("1.2.3.4"));
+        store.recordSubmissionFailure("1.2.3.4");
+        assertTrue(store.exceedsThreshold("1.2.3.4"));
+        assertFalse(store.exceedsThreshold("5.6.7.8"));
+        store.release();
+        assertTrue(store.exceedsThreshold("1.2.3.4"));
+    }
+
+    @Test
+    public void verifyKeysBeyondMaximumAreNotUndercounted() {
+        final var store = new SlidingWindowInMemoryThrottledSubmissionStore(3, 60, 1, 64, 4);
+        store.recordSubmissionFailure("exact");
+        IntStream.range(0, 500).forEach(i -> store.recordSubmissionFailure("key-" + i));
+        IntStream.range(0, 3).forEach(i -> store.recordSubmissionFailure("throttled"));
+        assertTrue(store.exceedsThreshold("throttled"));
+        assertFalse(store.exceedsThreshold("exact"));
+    }
+
+    @Test
+    public void verifyPreviousWindowIsWeighted() {
+        final var store = new SlidingWindowInMemoryThrottledSubmissionStore(4, 1, 100, 1024, 4);
+        IntStream.range(0, 4).forEach(i -> store.recordSubmissionFailure("1.2.3.4"));
+        final var now = System.currentTimeMillis();
+        assertEquals(4, store.getFailureCount("1.2.3.4", now), 0);
+        final var later = store.getFailureCount("1.2.3.4", now + 1500);
+        assertTrue(later > 0 && later < 4);
+        assertEquals(0, store.getFailureCount("1.2.3.4", now + 5000), 0);
+    }
+}
@@ -20,6 +20,7 @@ import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
+import org.apereo.cas.services.ServiceResolutionContextThreadLocalBinder;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedProxyingException;
 import org.apereo.cas.services.UnauthorizedServiceException;
@@ -128,7 +129,7 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
      */
     protected Pair<Boolean, Optional<MultifactorAuthenticationProvider>> validateAuthenticationContext(final Assertion assertion, final HttpServletRequest request) {
         LOGGER.debug("Locating the primary authentication associated with this service request [{}]", assertion.getService());
-        final var service = this.servicesManager.findServiceBy(assertion.getService());
+        final var service = ServiceResolutionContextThreadLocalBinder.findRegisteredService(assertion.getService(), servicesManager::findServiceBy);
         RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(assertion.getService(), service);
         final var providers = this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
         final var authentication = assertion.getPrimaryAuthentication();
@@ -173,6 +174,7 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
 
     @Override
     public ModelAndView handleRequestInternal(final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        ServiceResolutionContextThreadLocalBinder.clear();
         final var service = this.argumentExtractor.extractService(request);
         final var serviceTicketId = service != null ? service.getArtifactId() : null;
         if (service == null || !StringUtils.hasText(serviceTicketId)) {
@@ -26,18 +26,22 @@ import org.apereo.cas.web.v3.V3ServiceValidateController;
 import org.apereo.cas.web.view.Cas10ResponseView;
 import org.apereo.cas.web.view.Cas20ResponseView;
 import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.StreamingCasProtocolXmlView;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
 import org.apereo.cas.web.view.attributes.InlinedCas30ProtocolAttributesRenderer;
 import org.apereo.cas.web.view.json.Cas30JsonResponseView;
+import org.apereo.cas.web.view.json.StreamingCasProtocolJsonView;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
 import org.springframework.web.servlet.View;
 
 /**
@@ -57,6 +61,9 @@ public class CasValidationConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    private ThymeleafProperties thymeleafProperties;
+
     @Autowired
     @Qualifier("casAttributeEncoder")
     private ObjectProvider<ProtocolAttributeEncoder> protocolAttributeEncoder;
@@ -168,11 +175,14 @@ public class CasValidationConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "cas2ServiceSuccessView")
     public View cas2ServiceSuccessView() {
+        final var view = casProperties.getView().getCas2().isStreaming()
+            ? new StreamingCasProtocolXmlView(MediaType.APPLICATION_XML_VALUE, thymeleafProperties.getEncoding(), false)
+            : cas2SuccessView;
         return new Cas20ResponseView(true,
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager,
             casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
-            cas2SuccessView,
+            view,
             authenticationAttributeReleasePolicy,
             authenticationServiceSelectionPlan.getIfAvailable());
     }
@@ -182,6 +192,17 @@ public class CasValidationConfiguration {
     public View cas3ServiceJsonView() {
         final var authenticationContextAttribute = casProperties.getAuthn().getMfa().getAuthenticationContextAttribute();
         final var isReleaseProtocolAttributes = casProperties.getAuthn().isReleaseProtocolAttributes();
+        if (casProperties.getView().getCas3().isStreaming()) {
+            return new Cas30JsonResponseView(true,
+                protocolAttributeEncoder.getIfAvailable(),
+                servicesManager,
+                authenticationContextAttribute,
+                new StreamingCasProtocolJsonView(),
+                isReleaseProtocolAttributes,
+                authenticationAttributeReleasePolicy,
+                authenticationServiceSelectionPlan.getIfAvailable(),
+                cas3ProtocolAttributesRenderer());
+        }
         return new Cas30JsonResponseView(true,
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager,
@@ -209,11 +230,14 @@ public class CasValidationConfiguration {
     public View cas3ServiceSuccessView() {
         final var authenticationContextAttribute = casProperties.getAuthn().getMfa().getAuthenticationContextAttribute();
         final var isReleaseProtocolAttributes = casProperties.getAuthn().isReleaseProtocolAttributes();
+        final var view = casProperties.getView().getCas3().isStreaming()
+            ? new StreamingCasProtocolXmlView(MediaType.TEXT_HTML_VALUE, thymeleafProperties.getEncoding(), true)
+            : cas3SuccessView;
         return new Cas30ResponseView(true,
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager,
             authenticationContextAttribute,
-            cas3SuccessView,
+            view,
             isReleaseProtocolAttributes,
             authenticationAttributeReleasePolicy,
             authenticationServiceSelectionPlan.getIfAvailable(),
@@ -7,6 +7,7 @@ import org.apereo.cas.authentication.AuthenticationAttributeReleasePolicy;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.ProtocolAttributeEncoder;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServiceResolutionContextThreadLocalBinder;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.validation.CasProtocolAttributesRenderer;
@@ -52,8 +53,9 @@ public class Cas30ResponseView extends Cas20ResponseView {
                                             final HttpServletResponse response) throws Exception {
         super.prepareMergedOutputModel(model, request, response);
 
-        final var service = authenticationRequestServiceSelectionStrategies.resolveService(getServiceFrom(model));
-        final var registeredService = this.servicesManager.findServiceBy(service);
+        final var service = ServiceResolutionContextThreadLocalBinder.resolveService(getServiceFrom(model),
+            authenticationRequestServiceSelectionStrategies::resolveService);
+        final var registeredService = ServiceResolutionContextThreadLocalBinder.findRegisteredService(service, servicesManager::findServiceBy);
 
         final var principalAttributes = getCasPrincipalAttributes(model, registeredService);
         final Map<String, Object> attributes = new HashMap<>(principalAttributes);
@@ -0,0 +1,158 @@
+package org.apereo.cas.web.view;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This is {@link StreamingCasProtocolXmlView} that writes the CAS protocol validation success response
+ * straight to the servlet output stream, instead of rendering it through a template.
+ * <p>
+ * The output is the same as that of the default {@code protocol/2.0/casServiceValidationSuccess}
+ * and {@code protocol/3.0/casServiceValidationSuccess} templates, including their whitespace and escaping:
+ * text values are escaped and formatted attributes are written as they are produced by the attributes renderer.
+ * Customized templates are not taken into account.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class StreamingCasProtocolXmlView implements View {
+
+    private static final String RESPONSE_START = "<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n"
+        + "    <cas:authenticationSuccess>\n        ";
+
+    private static final String RESPONSE_END = "\n    </cas:authenticationSuccess>\n</cas:serviceResponse>\n";
+
+    private static final String ELEMENT_SEPARATOR = "\n        ";
+
+    private static final String CHILD_ELEMENT_SEPARATOR = "\n            ";
+
+    private static final String ATTRIBUTE_SEPARATOR = "\n                ";
+
+    private final String contentType;
+
+    private final Charset characterEncoding;
+
+    private final boolean renderAttributes;
+
+    public StreamingCasProtocolXmlView(final String contentType, final Charset characterEncoding, final boolean renderAttributes) {
+        final var mediaType = MediaType.parseMediaType(contentType);
+        this.contentType = mediaType.getType() + '/' + mediaType.getSubtype() + ";charset=" + characterEncoding.name();
+        this.characterEncoding = characterEncoding;
+        this.renderAttributes = renderAttributes;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        response.setContentType(this.contentType);
+        response.setCharacterEncoding(this.characterEncoding.name());
+
+        final var writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), this.characterEncoding));
+        writer.write(RESPONSE_START);
+
+        final var principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writeElement(writer, "cas:user", principal.getId());
+        writer.write(ELEMENT_SEPARATOR);
+
+        final var proxyGrantingTicketIou = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        if (proxyGrantingTicketIou != null) {
+            writeElement(writer, "cas:proxyGrantingTicket", proxyGrantingTicketIou.toString());
+        }
+        writer.write(ELEMENT_SEPARATOR);
+
+        final var chainedAuthentications = (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (chainedAuthentications != null && !chainedAuthentications.isEmpty()) {
+            writer.write("<cas:proxies>");
+            for (final var authentication : chainedAuthentications) {
+                writer.write(CHILD_ELEMENT_SEPARATOR);
+                writeElement(writer, "cas:proxy", authentication.getPrincipal().getId());
+            }
+            writer.write(ELEMENT_SEPARATOR);
+            writer.write("</cas:proxies>");
+        }
+
+        if (this.renderAttributes) {
+            writer.write(ELEMENT_SEPARATOR);
+            final var formattedAttributes = (Collection<String>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES);
+            if (formattedAttributes != null && !formattedAttributes.isEmpty()) {
+                writer.write("<cas:attributes>");
+                for (final var attribute : formattedAttributes) {
+                    writer.write(CHILD_ELEMENT_SEPARATOR);
+                    writer.write(ATTRIBUTE_SEPARATOR);
+                    writer.write(attribute);
+                    writer.write(CHILD_ELEMENT_SEPARATOR);
+                }
+                writer.write(ELEMENT_SEPARATOR);
+                writer.write("</cas:attributes>");
+            }
+        }
+        writer.write(RESPONSE_END);
+        writer.flush();
+        LOGGER.trace("Wrote validation response for [{}] to the response output stream", principal.getId());
+    }
+
+    private static void writeElement(final Writer writer, final String name, final String value) throws IOException {
+        writer.write('<');
+        writer.write(name);
+        writer.write('>');
+        writeEscaped(writer, value);
+        writer.write("</");
+        writer.write(name);
+        writer.write('>');
+    }
+
+    /**
+     * Write text escaping markup-significant characters the same way templates do for text values.
+     *
+     * @param writer the writer
+     * @param value  the value
+     * @throws IOException the exception
+     */
+    protected static void writeEscaped(final Writer writer, final String value) throws IOException {
+        var start = 0;
+        final var length = value.length();
+        for (var i = 0; i < length; i++) {
+            final String replacement;
+            switch (value.charAt(i)) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\'':
+                    replacement = "&#39;";
+                    break;
+                default:
+                    continue;
+            }
+            writer.write(value, start, i - start);
+            writer.write(replacement);
+            start = i + 1;
+        }
+        writer.write(value, start, length - start);
+    }
+}
@@ -5,9 +5,11 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.CasProtocolConstants;
 import org.apereo.cas.authentication.AuthenticationAttributeReleasePolicy;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.ProtocolAttributeEncoder;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.validation.CasProtocolAttributesRenderer;
 import org.apereo.cas.web.view.Cas30ResponseView;
@@ -16,7 +18,6 @@ import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -69,7 +70,7 @@ public class Cas30JsonResponseView extends Cas30ResponseView {
             serviceSelectionStrategy, attributesRenderer);
     }
 
-    private static MappingJackson2JsonView createDelegatedView() {
+    static MappingJackson2JsonView createDelegatedView() {
         final var view = new MappingJackson2JsonView();
         view.setPrettyPrint(true);
         view.getObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL).findAndRegisterModules();
@@ -92,13 +93,29 @@ public class Cas30JsonResponseView extends Cas30ResponseView {
             final var failure = createAuthenticationFailure(model);
             casResponse.setAuthenticationFailure(failure);
         } finally {
-            final Map<String, Object> casModel = new HashMap<>();
-            casModel.put(ATTRIBUTE_NAME_MODEL_SERVICE_RESPONSE, casResponse);
             model.clear();
-            model.putAll(casModel);
+            model.put(ATTRIBUTE_NAME_MODEL_SERVICE_RESPONSE, casResponse);
         }
     }
 
+    /**
+     * Put cas response attributes into model.
+     * Attributes are only encoded and not formatted, given the json response
+     * does not make use of the formatted attributes.
+     *
+     * @param model             the model
+     * @param attributes        the attributes
+     * @param registeredService the registered service
+     */
+    @Override
+    protected void putCasResponseAttributesIntoModel(final Map<String, Object> model,
+                                                     final Map<String, Object> attributes,
+                                                     final RegisteredService registeredService) {
+        final var encodedAttributes = this.protocolAttributeEncoder.encodeAttributes(attributes, registeredService);
+        LOGGER.debug("Encoded attributes for the response are [{}]", encodedAttributes);
+        super.putIntoModel(model, CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_ATTRIBUTES, encodedAttributes);
+    }
+
     private CasJsonServiceResponseAuthenticationFailure createAuthenticationFailure(final Map<String, Object> model) {
         final var failure = new CasJsonServiceResponseAuthenticationFailure();
         failure.setCode(getErrorCodeFrom(model));
@@ -0,0 +1,58 @@
+package org.apereo.cas.web.view.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This is {@link StreamingCasProtocolJsonView} that serializes the {@link CasJsonServiceResponse}
+ * prepared by {@link Cas30JsonResponseView} straight to the servlet output stream.
+ * <p>
+ * The output is the same as that of the default delegated json view, with the same
+ * formatting and caching headers, while skipping the copies of the model the default view makes
+ * before serialization.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+@Slf4j
+public class StreamingCasProtocolJsonView implements View {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+        .configure(SerializationFeature.INDENT_OUTPUT, true)
+        .findAndRegisterModules();
+
+    private final ObjectWriter objectWriter = objectMapper.writer();
+
+    @Override
+    public String getContentType() {
+        return MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        response.setContentType(getContentType());
+        response.setCharacterEncoding(JsonEncoding.UTF8.getJavaName());
+        response.addHeader("Pragma", "no-cache");
+        response.addHeader("Cache-Control", "no-cache, no-store, max-age=0");
+        response.addDateHeader("Expires", 1L);
+
+        final var serviceResponse = model.get(Cas30JsonResponseView.ATTRIBUTE_NAME_MODEL_SERVICE_RESPONSE);
+        final var generator = this.objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        this.objectWriter.writeValue(generator,
+            Collections.singletonMap(Cas30JsonResponseView.ATTRIBUTE_NAME_MODEL_SERVICE_RESPONSE, serviceResponse));
+        generator.flush();
+        LOGGER.trace("Wrote validation response to the response output stream");
+    }
+}
@@ -14,6 +14,7 @@ import org.apereo.cas.authentication.DefaultMultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.ProtocolAttributeEncoder;
 import org.apereo.cas.authentication.support.DefaultCasProtocolAttributeEncoder;
 import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
+import org.apereo.cas.services.ServiceResolutionContextThreadLocalBinder;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.web.view.AbstractCasView;
 import org.apereo.cas.util.EncodingUtils;
@@ -164,6 +165,17 @@ public class Cas30ResponseViewTests extends AbstractServiceValidateControllerTes
         assertNotNull(pgt);
     }
 
+    @Test
+    public void verifyServiceResolutionContextBoundUponValidation() throws Exception {
+        renderView();
+        final var context = ServiceResolutionContextThreadLocalBinder.getCurrent();
+        assertNotNull(context);
+        assertTrue(context.isRegisteredServiceFor(context.getSelectedService()));
+        assertSame(context.getRegisteredService(),
+            ServiceResolutionContextThreadLocalBinder.findRegisteredService(context.getSelectedService(), s -> null));
+        assertEquals(context.getRegisteredService(), servicesManager.findServiceBy(context.getSelectedService()));
+    }
+
     @SneakyThrows
     private String decryptCredential(final String cred) {
         final var factory = new PrivateKeyFactoryBean();
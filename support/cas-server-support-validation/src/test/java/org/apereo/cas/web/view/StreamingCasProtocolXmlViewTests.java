@@ -0,0 +1,129 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link StreamingCasProtocolXmlViewTests}.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class StreamingCasProtocolXmlViewTests {
+
+    private static final String CAS2_TEMPLATE = "<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas' th:inline=\"text\">\n"
+        + "    <cas:authenticationSuccess>\n"
+        + "        <cas:user>[[${principal.id}]]</cas:user>\n"
+        + "        <cas:proxyGrantingTicket th:if=\"${pgtIou}\">[[${pgtIou}]]</cas:proxyGrantingTicket>\n"
+        + "        <cas:proxies th:if=\"${not #lists.isEmpty(chainedAuthentications)}\">\n"
+        + "            <cas:proxy th:each=\"proxy : ${chainedAuthentications}\">[[${proxy.principal.id}]]</cas:proxy>\n"
+        + "        </cas:proxies>\n"
+        + "    </cas:authenticationSuccess>\n"
+        + "</cas:serviceResponse>\n";
+
+    private static final String CAS3_TEMPLATE = "<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n"
+        + "    <cas:authenticationSuccess>\n"
+        + "        <cas:user th:text=\"${principal.id}\"/>\n"
+        + "        <cas:proxyGrantingTicket th:if=\"${pgtIou}\" th:text=\"${pgtIou}\"/>\n"
+        + "        <cas:proxies th:if=\"${not #lists.isEmpty(chainedAuthentications)}\">\n"
+        + "            <cas:proxy th:each=\"proxy : ${chainedAuthentications}\" th:text=\"${proxy.principal.id}\"/>\n"
+        + "        </cas:proxies>\n"
+        + "        <cas:attributes th:if=\"${not #lists.isEmpty(formattedAttributes)}\">\n"
+        + "            <div th:each=\"attr : ${formattedAttributes}\" th:remove=\"tag\">\n"
+        + "                <div th:utext=\"${attr}\" th:remove=\"tag\"/>\n"
+        + "            </div>\n"
+        + "        </cas:attributes>\n"
+        + "    </cas:authenticationSuccess>\n"
+        + "</cas:serviceResponse>\n";
+
+    @Test
+    public void verifyCas2ResponseMatchesTemplate() throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user>&'\""));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS, new ArrayList<>());
+
+        final var view = new StreamingCasProtocolXmlView(MediaType.APPLICATION_XML_VALUE, StandardCharsets.UTF_8, false);
+        final var response = render(view, model);
+        assertEquals("application/xml;charset=UTF-8", response.getContentType());
+        assertEquals(processTemplate(CAS2_TEMPLATE, model), response.getContentAsString());
+    }
+
+    @Test
+    public void verifyCas3ResponseMatchesTemplate() throws Exception {
+        final Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("mail", CollectionUtils.wrapList("casuser@example.org", "cas&user@example.org"));
+        attributes.put("name", CollectionUtils.wrapList("<CAS>"));
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1-example");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+            CollectionUtils.wrapList(CoreAuthenticationTestUtils.getAuthentication("proxy1"),
+                CoreAuthenticationTestUtils.getAuthentication("proxy2")));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES,
+            new DefaultCas30ProtocolAttributesRenderer().render(attributes));
+
+        final var view = new StreamingCasProtocolXmlView(MediaType.TEXT_HTML_VALUE, StandardCharsets.UTF_8, true);
+        final var response = render(view, model);
+        assertEquals("text/html;charset=UTF-8", response.getContentType());
+        assertEquals(processTemplate(CAS3_TEMPLATE, model), response.getContentAsString());
+    }
+
+    @Test
+    public void verifyCas2ProxyResponseMatchesTemplate() throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1-<example>");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+            CollectionUtils.wrapList(CoreAuthenticationTestUtils.getAuthentication("https://proxy1.example.org?a=1&b=2"),
+                CoreAuthenticationTestUtils.getAuthentication("proxy2")));
+
+        final var view = new StreamingCasProtocolXmlView(MediaType.APPLICATION_XML_VALUE, StandardCharsets.UTF_8, false);
+        assertEquals(processTemplate(CAS2_TEMPLATE, model), render(view, model).getContentAsString());
+    }
+
+    @Test
+    public void verifyCas3ResponseWithoutAttributesMatchesTemplate() throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user>&'\""));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS, new ArrayList<>());
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES, new ArrayList<>());
+
+        final var view = new StreamingCasProtocolXmlView(MediaType.TEXT_HTML_VALUE, StandardCharsets.UTF_8, true);
+        assertEquals(processTemplate(CAS3_TEMPLATE, model), render(view, model).getContentAsString());
+    }
+
+    private static MockHttpServletResponse render(final StreamingCasProtocolXmlView view, final Map<String, Object> model) throws Exception {
+        final var response = new MockHttpServletResponse();
+        view.render(model, new MockHttpServletRequest(), response);
+        return response;
+    }
+
+    private static String processTemplate(final String template, final Map<String, Object> model) {
+        final var resolver = new StringTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.HTML);
+        final var engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine.process(template, new Context(Locale.getDefault(), model));
+    }
+}
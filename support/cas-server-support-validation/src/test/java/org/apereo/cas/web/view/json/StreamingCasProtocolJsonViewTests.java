@@ -0,0 +1,66 @@
+package org.apereo.cas.web.view.json;
+
+import org.apereo.cas.util.CollectionUtils;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.View;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link StreamingCasProtocolJsonViewTests} that compares the streamed response
+ * with the response of the default json view.
+ *
+ * @author Jordan Ellis
+ * @since 6.0.0
+ */
+public class StreamingCasProtocolJsonViewTests {
+
+    @Test
+    public void verifySuccessResponseMatchesDefaultView() throws Exception {
+        final var success = new CasJsonServiceResponseAuthenticationSuccess();
+        success.setUser("cas<user>&'\"");
+        success.setProxyGrantingTicket("PGTIOU-1-example");
+        success.setProxies(CollectionUtils.wrapList("https://proxy1.example.org", "https://proxy2.example.org"));
+        final Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("mail", CollectionUtils.wrapList("casuser@example.org", "cas&user@example.org"));
+        attributes.put("name", CollectionUtils.wrapList("<CAS>"));
+        success.setAttributes(attributes);
+
+        final var serviceResponse = new CasJsonServiceResponse();
+        serviceResponse.setAuthenticationSuccess(success);
+        verifyResponseMatchesDefaultView(serviceResponse);
+    }
+
+    @Test
+    public void verifyFailureResponseMatchesDefaultView() throws Exception {
+        final var failure = new CasJsonServiceResponseAuthenticationFailure();
+        failure.setCode("INVALID_TICKET");
+        failure.setDescription("Ticket 'ST-1' not recognized");
+
+        final var serviceResponse = new CasJsonServiceResponse();
+        serviceResponse.setAuthenticationFailure(failure);
+        verifyResponseMatchesDefaultView(serviceResponse);
+    }
+
+    private static void verifyResponseMatchesDefaultView(final CasJsonServiceResponse serviceResponse) throws Exception {
+        final var streamed = render(new StreamingCasProtocolJsonView(), serviceResponse);
+        final var expected = render(Cas30JsonResponseView.createDelegatedView(), serviceResponse);
+        assertEquals(expected.getContentAsString(), streamed.getContentAsString());
+        assertTrue(streamed.getContentType().startsWith(expected.getContentType()));
+        assertEquals(expected.getHeader("Cache-Control"), streamed.getHeader("Cache-Control"));
+    }
+
+    private static MockHttpServletResponse render(final View view, final CasJsonServiceResponse serviceResponse) throws Exception {
+        final Map<String, Object> model = new HashMap<>();
+        model.put(Cas30JsonResponseView.ATTRIBUTE_NAME_MODEL_SERVICE_RESPONSE, serviceResponse);
+        final var response = new MockHttpServletResponse();
+        view.render(model, new MockHttpServletRequest(), response);
+        return response;
+    }
+}
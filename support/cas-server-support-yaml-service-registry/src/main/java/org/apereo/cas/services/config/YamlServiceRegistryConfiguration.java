@@ -48,9 +48,11 @@ public class YamlServiceRegistryConfiguration implements ServiceRegistryExecutio
     @SneakyThrows
     public ServiceRegistry yamlServiceRegistry() {
         final var registry = casProperties.getServiceRegistry();
-        return new YamlServiceRegistry(registry.getYaml().getLocation(),
+        final var yaml = new YamlServiceRegistry(registry.getYaml().getLocation(),
             registry.isWatcherEnabled(), eventPublisher,
             registeredServiceReplicationStrategy, resourceNamingStrategy);
+        yaml.setLoadParallelism(registry.getLoadParallelism());
+        return yaml;
     }
 
     @Override